@@ -6,8 +6,11 @@ import com.lynx.jsbridge.LynxModule;
 import com.lynx.react.bridge.Callback;
 import com.lynx.react.bridge.JavaOnlyArray;
 import com.lynx.react.bridge.JavaOnlyMap;
+import com.lynx.react.bridge.ReadableArray;
 import com.lynx.react.bridge.ReadableMap;
 import io.lynx.notifications.core.LynxNotificationsModule;
+import io.lynx.notifications.core.NativeResult;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +22,7 @@ import java.util.Map;
  */
 public class LynxNotificationsBridgeModule extends LynxModule {
   private final LynxNotificationsModule coreModule;
+  private LynxNotificationsModule.Subscription subscription;
 
   public LynxNotificationsBridgeModule(Context context, Object param) {
     super(context, param);
@@ -55,6 +59,26 @@ public class LynxNotificationsBridgeModule extends LynxModule {
     coreModule.cancelScheduledNotification(id, result -> callback.invoke(toBridgeValue(result)));
   }
 
+  @LynxMethod
+  public void scheduleNotificationBatch(ReadableArray requests, Callback callback) {
+    coreModule.scheduleNotificationBatch(toMapList(requests), result -> callback.invoke(toBridgeValue(result)));
+  }
+
+  @LynxMethod
+  public void cancelScheduledNotificationBatch(ReadableArray ids, Callback callback) {
+    coreModule.cancelScheduledNotificationBatch(toStringList(ids), result -> callback.invoke(toBridgeValue(result)));
+  }
+
+  @LynxMethod
+  public void cancelScheduledNotificationsByTag(String tag, Callback callback) {
+    coreModule.cancelScheduledNotificationsByTag(tag, result -> callback.invoke(toBridgeValue(result)));
+  }
+
+  @LynxMethod
+  public void getScheduledNotificationsByTag(String tag, Callback callback) {
+    coreModule.getScheduledNotificationsByTag(tag, result -> callback.invoke(toBridgeValue(result)));
+  }
+
   @LynxMethod
   public void cancelAllScheduledNotifications(Callback callback) {
     coreModule.cancelAllScheduledNotifications(result -> callback.invoke(toBridgeValue(result)));
@@ -65,14 +89,27 @@ public class LynxNotificationsBridgeModule extends LynxModule {
     coreModule.getLastNotificationResponse(result -> callback.invoke(toBridgeValue(result)));
   }
 
+  @LynxMethod
+  public void getDiagnostics(Callback callback) {
+    coreModule.getDiagnostics(result -> callback.invoke(toBridgeValue(result)));
+  }
+
   @LynxMethod
   public void startObservingEvents(Callback callback) {
-    coreModule.startObservingEvents(result -> callback.invoke(toBridgeValue(result)));
+    if (subscription != null) {
+      subscription.remove();
+    }
+    subscription = coreModule.startObservingEvents(result -> callback.invoke(toBridgeValue(result)));
   }
 
   @LynxMethod
   public void stopObservingEvents(Callback callback) {
-    coreModule.stopObservingEvents(result -> callback.invoke(toBridgeValue(result)));
+    // Remove only this LynxView's observer so other views and native listeners keep receiving events.
+    if (subscription != null) {
+      subscription.remove();
+      subscription = null;
+    }
+    callback.invoke(toBridgeValue(NativeResult.ok(null)));
   }
 
   private Map<String, Object> toMutableMap(ReadableMap source) {
@@ -82,6 +119,28 @@ public class LynxNotificationsBridgeModule extends LynxModule {
     return JavaOnlyMap.deepClone(source);
   }
 
+  private List<Map<String, Object>> toMapList(ReadableArray source) {
+    List<Map<String, Object>> result = new ArrayList<>();
+    if (source == null) {
+      return result;
+    }
+    for (int index = 0; index < source.size(); index++) {
+      result.add(toMutableMap(source.getMap(index)));
+    }
+    return result;
+  }
+
+  private List<String> toStringList(ReadableArray source) {
+    List<String> result = new ArrayList<>();
+    if (source == null) {
+      return result;
+    }
+    for (int index = 0; index < source.size(); index++) {
+      result.add(source.getString(index));
+    }
+    return result;
+  }
+
   @SuppressWarnings("unchecked")
   private Object toBridgeValue(Object value) {
     if (value == null) {
@@ -96,8 +155,8 @@ public class LynxNotificationsBridgeModule extends LynxModule {
       return JavaOnlyMap.deepClone((ReadableMap) value);
     }
 
-    if (value instanceof com.lynx.react.bridge.ReadableArray) {
-      return JavaOnlyArray.deepClone((com.lynx.react.bridge.ReadableArray) value);
+    if (value instanceof ReadableArray) {
+      return JavaOnlyArray.deepClone((ReadableArray) value);
     }
 
     if (value instanceof Map) {
@@ -0,0 +1,24 @@
+package io.lynx.notifications.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class BenchmarkRequests {
+  private BenchmarkRequests() {}
+
+  static Map<String, Object> timeIntervalRequest() {
+    Map<String, Object> content = new HashMap<>();
+    content.put("title", "Benchmark");
+    content.put("body", "Scheduled from JMH");
+
+    Map<String, Object> trigger = new HashMap<>();
+    trigger.put("type", "timeInterval");
+    trigger.put("seconds", 60);
+    trigger.put("repeats", false);
+
+    Map<String, Object> request = new HashMap<>();
+    request.put("content", content);
+    request.put("trigger", trigger);
+    return request;
+  }
+}
@@ -0,0 +1,43 @@
+package io.lynx.notifications.benchmarks;
+
+import io.lynx.notifications.core.NativeResult;
+import io.lynx.notifications.core.PushToken;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Throughput and allocation of result envelopes and token payload maps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnvelopeBenchmark {
+  private final PushToken token = new PushToken("fcm", "benchmark-token");
+  private final String data = "notification-benchmark";
+
+  @Benchmark
+  public Map<String, Object> nativeResultOkNull() {
+    return NativeResult.ok(null);
+  }
+
+  @Benchmark
+  public Map<String, Object> nativeResultOkData() {
+    return NativeResult.ok(data);
+  }
+
+  @Benchmark
+  public Map<String, Object> nativeResultError() {
+    return NativeResult.error("ERR_INVALID_ARGUMENT", "Benchmark error.");
+  }
+
+  @Benchmark
+  public Map<String, Object> pushTokenToMap() {
+    return token.toMap();
+  }
+}
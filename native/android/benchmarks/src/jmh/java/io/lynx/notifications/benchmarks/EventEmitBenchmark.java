@@ -0,0 +1,71 @@
+package io.lynx.notifications.benchmarks;
+
+import io.lynx.notifications.core.InMemoryLocalNotificationScheduler;
+import io.lynx.notifications.core.LynxNotificationsModule;
+import io.lynx.notifications.core.NoopPermissionProvider;
+import io.lynx.notifications.core.PushToken;
+import io.lynx.notifications.core.PushTokenProviderRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Throughput and allocation of module event emission with a registered observer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventEmitBenchmark {
+  private LynxNotificationsModule module;
+  private Map<String, Object> notification;
+  private Map<String, Object> response;
+  private PushToken token;
+  private Map<String, Object> lastEvent;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler()
+    );
+    module.startObservingEvents(payload -> lastEvent = payload);
+
+    notification = new HashMap<>();
+    notification.put("id", "notification-benchmark");
+    notification.put("title", "Benchmark");
+    notification.put("body", "Emitted from JMH");
+
+    response = new HashMap<>();
+    response.put("actionIdentifier", "default");
+    response.put("notification", notification);
+
+    token = new PushToken("fcm", "benchmark-token");
+  }
+
+  @Benchmark
+  public Map<String, Object> emitNotificationReceived() {
+    module.emitNotificationReceived(notification);
+    return lastEvent;
+  }
+
+  @Benchmark
+  public Map<String, Object> emitNotificationResponse() {
+    module.emitNotificationResponse(response);
+    return lastEvent;
+  }
+
+  @Benchmark
+  public Map<String, Object> emitTokenRefreshed() {
+    module.emitTokenRefreshed(token);
+    return lastEvent;
+  }
+}
@@ -0,0 +1,107 @@
+package io.lynx.notifications.benchmarks;
+
+import io.lynx.notifications.core.InMemoryLocalNotificationScheduler;
+import io.lynx.notifications.core.LynxNotificationsModule;
+import io.lynx.notifications.core.MonotonicNotificationIdAllocator;
+import io.lynx.notifications.core.NoopPermissionProvider;
+import io.lynx.notifications.core.NotificationDeduplicator;
+import io.lynx.notifications.core.PushTokenProviderRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Throughput and allocation of the schedule/cancel paths through LynxNotificationsModule.
+ *
+ * Run with the gc profiler to read gc.alloc.rate.norm (bytes per call). {@code latencyMetrics}
+ * compares the default module with one that times every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchedulerBenchmark {
+  private static final int BATCH_SIZE = 100;
+
+  @Param({"false", "true"})
+  public boolean latencyMetrics;
+
+  private LynxNotificationsModule module;
+  private Map<String, Object> request;
+  private Map<String, Object> lastPayload;
+  private LynxNotificationsModule.MethodCallback callback;
+  private List<Map<String, Object>> batch;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        // Every call schedules the same request, which the default content window would
+        // resolve to the first id.
+        new InMemoryLocalNotificationScheduler(
+            new MonotonicNotificationIdAllocator(),
+            NotificationDeduplicator.keysOnly()
+        )
+    );
+    module.getMetrics().setLatencyEnabled(latencyMetrics);
+    request = BenchmarkRequests.timeIntervalRequest();
+    callback = payload -> lastPayload = payload;
+    batch = new ArrayList<>(BATCH_SIZE);
+    for (int index = 0; index < BATCH_SIZE; index++) {
+      batch.add(request);
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void clearScheduled() {
+    module.cancelAllScheduledNotifications(callback);
+  }
+
+  @Benchmark
+  public Map<String, Object> scheduleNotification() {
+    module.scheduleNotification(request, callback);
+    return lastPayload;
+  }
+
+  @Benchmark
+  public Map<String, Object> cancelScheduledNotification() {
+    module.cancelScheduledNotification("notification-benchmark", callback);
+    return lastPayload;
+  }
+
+  @Benchmark
+  public Map<String, Object> scheduleThenCancel() {
+    module.scheduleNotification(request, callback);
+    String id = (String) lastPayload.get("data");
+    module.cancelScheduledNotification(id, callback);
+    return lastPayload;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public Map<String, Object> scheduleIndividually() {
+    for (Map<String, Object> item : batch) {
+      module.scheduleNotification(item, callback);
+    }
+    return lastPayload;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public Map<String, Object> scheduleBatch() {
+    module.scheduleNotificationBatch(batch, callback);
+    return lastPayload;
+  }
+}
@@ -0,0 +1,47 @@
+package io.lynx.notifications.core;
+
+import java.util.Map;
+
+/**
+ * Per-item outcome of a batch schedule or cancel call.
+ */
+public final class BatchItemResult {
+  private final String id;
+  private final NotificationError error;
+
+  private BatchItemResult(String id, NotificationError error) {
+    this.id = id;
+    this.error = error;
+  }
+
+  public static BatchItemResult success(String id) {
+    return new BatchItemResult(id, null);
+  }
+
+  public static BatchItemResult failure(String id, NotificationError error) {
+    return new BatchItemResult(id, error);
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public NotificationError getError() {
+    return error;
+  }
+
+  public Map<String, Object> toMap() {
+    if (error == null) {
+      return CompactMap.of("ok", Boolean.TRUE, "id", id);
+    }
+    return CompactMap.of(
+        "ok", Boolean.FALSE,
+        "id", id,
+        "error", CompactMap.of("code", error.getCode(), "message", error.getMessage())
+    );
+  }
+}
@@ -0,0 +1,232 @@
+package io.lynx.notifications.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * PushTokenProvider decorator that shares one in-flight fetch between concurrent callers and
+ * serves the last token for {@code ttlMillis}.
+ *
+ * Errors are not cached. {@link #onTokenRefreshed(PushToken)} replaces the cached token; with a
+ * TTL of 0 a refreshed token is still served until it is invalidated or refreshed again, since
+ * the push SDK reported it as current. A
+ * fetch that was in flight when the token was refreshed or invalidated is delivered to its
+ * callers but not cached. A fetch the delegate has not answered within the fetch timeout fails
+ * its callers with ERR_NATIVE_FAILURE and frees the slot, so the next call fetches again; a
+ * late answer is dropped.
+ */
+public final class CachingPushTokenProvider implements PushTokenProvider {
+  public static final long DEFAULT_FETCH_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private static volatile ScheduledThreadPoolExecutor timeouts;
+
+  private final PushTokenProvider delegate;
+  private final long ttlNanos;
+  private final long fetchTimeoutMillis;
+  private final LongSupplier nanoClock;
+
+  private PushToken cachedToken;
+  private boolean cachedFromRefresh;
+  private long cachedAtNanos;
+  private long generation;
+  private Fetch inFlight;
+
+  /**
+   * @param ttlMillis How long a fetched token is served from cache; 0 only coalesces
+   *     concurrent fetches.
+   */
+  public CachingPushTokenProvider(PushTokenProvider delegate, long ttlMillis) {
+    this(delegate, ttlMillis, DEFAULT_FETCH_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * @param fetchTimeoutMillis How long callers wait for the delegate before failing; 0 waits
+   *     forever.
+   */
+  public CachingPushTokenProvider(PushTokenProvider delegate, long ttlMillis, long fetchTimeoutMillis) {
+    this(delegate, ttlMillis, fetchTimeoutMillis, System::nanoTime);
+  }
+
+  CachingPushTokenProvider(PushTokenProvider delegate, long ttlMillis, LongSupplier nanoClock) {
+    this(delegate, ttlMillis, DEFAULT_FETCH_TIMEOUT_MILLIS, nanoClock);
+  }
+
+  private CachingPushTokenProvider(
+      PushTokenProvider delegate,
+      long ttlMillis,
+      long fetchTimeoutMillis,
+      LongSupplier nanoClock
+  ) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Push token provider must not be null.");
+    }
+    if (ttlMillis < 0) {
+      throw new IllegalArgumentException("Push token TTL must be >= 0.");
+    }
+    if (fetchTimeoutMillis < 0) {
+      throw new IllegalArgumentException("Push token fetch timeout must be >= 0.");
+    }
+
+    this.delegate = delegate;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.fetchTimeoutMillis = fetchTimeoutMillis;
+    this.nanoClock = nanoClock;
+  }
+
+  @Override
+  public void getToken(TokenCallback callback) {
+    PushToken token;
+    Fetch fetch = null;
+    synchronized (this) {
+      token = freshToken();
+      if (token == null) {
+        if (inFlight != null && inFlight.generation == generation) {
+          inFlight.callbacks.add(callback);
+          return;
+        }
+        fetch = new Fetch(generation);
+        fetch.callbacks.add(callback);
+        inFlight = fetch;
+      }
+    }
+
+    if (token != null) {
+      callback.onSuccess(token);
+      return;
+    }
+
+    Fetch started = fetch;
+    try {
+      delegate.getToken(new TokenCallback() {
+        @Override
+        public void onSuccess(PushToken token) {
+          complete(started, token, null);
+        }
+
+        @Override
+        public void onError(NotificationError error) {
+          complete(started, null, error);
+        }
+      });
+    } catch (Throwable throwable) {
+      complete(started, null, NotificationError.fromThrowable(throwable));
+    }
+
+    if (fetchTimeoutMillis > 0) {
+      synchronized (this) {
+        if (!started.completed) {
+          started.timeout = timeouts().schedule(
+              () -> complete(started, null, new NotificationError(
+                  "ERR_NATIVE_FAILURE",
+                  "Push token fetch timed out."
+              )),
+              fetchTimeoutMillis,
+              TimeUnit.MILLISECONDS
+          );
+        }
+      }
+    }
+  }
+
+  /**
+   * Drops the cached token; the next call fetches from the delegate.
+   */
+  public synchronized void invalidate() {
+    cachedToken = null;
+    cachedFromRefresh = false;
+    generation++;
+  }
+
+  /**
+   * Replaces the cached token with one reported by the push SDK.
+   */
+  public synchronized void onTokenRefreshed(PushToken token) {
+    generation++;
+    cachedToken = token;
+    cachedFromRefresh = true;
+    cachedAtNanos = nanoClock.getAsLong();
+  }
+
+  private PushToken freshToken() {
+    if (cachedToken == null) {
+      return null;
+    }
+    if (ttlNanos == 0) {
+      return cachedFromRefresh ? cachedToken : null;
+    }
+    if (nanoClock.getAsLong() - cachedAtNanos >= ttlNanos) {
+      cachedToken = null;
+      return null;
+    }
+    return cachedToken;
+  }
+
+  private void complete(Fetch fetch, PushToken token, NotificationError error) {
+    List<TokenCallback> callbacks;
+    synchronized (this) {
+      if (fetch.completed) {
+        return;
+      }
+      fetch.completed = true;
+      if (fetch.timeout != null) {
+        fetch.timeout.cancel(false);
+      }
+      if (inFlight == fetch) {
+        inFlight = null;
+      }
+      if (token != null && fetch.generation == generation) {
+        cachedToken = token;
+        cachedFromRefresh = false;
+        cachedAtNanos = nanoClock.getAsLong();
+      }
+      callbacks = fetch.callbacks;
+    }
+
+    for (TokenCallback callback : callbacks) {
+      try {
+        if (token != null) {
+          callback.onSuccess(token);
+        } else {
+          callback.onError(error);
+        }
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Push token callback threw.", throwable);
+      }
+    }
+  }
+
+  private static ScheduledThreadPoolExecutor timeouts() {
+    ScheduledThreadPoolExecutor executor = timeouts;
+    if (executor != null) {
+      return executor;
+    }
+
+    synchronized (CachingPushTokenProvider.class) {
+      if (timeouts == null) {
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+          Thread thread = new Thread(runnable, "lynx-notifications-token-timeout");
+          thread.setDaemon(true);
+          return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        timeouts = executor;
+      }
+      return timeouts;
+    }
+  }
+
+  private static final class Fetch {
+    private final long generation;
+    private final List<TokenCallback> callbacks = new ArrayList<>(2);
+    private boolean completed;
+    private ScheduledFuture<?> timeout;
+
+    private Fetch(long generation) {
+      this.generation = generation;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package io.lynx.notifications.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable map with up to three fixed keys, stored in fields.
+ *
+ * Used for result envelopes and event payloads: one small object per map instead of a
+ * HashMap with its table and nodes. Reads behave like a HashMap (null values are kept as
+ * present keys); mutation throws UnsupportedOperationException.
+ */
+public final class CompactMap extends AbstractMap<String, Object> {
+  private final int size;
+  private final String key0;
+  private final Object value0;
+  private final String key1;
+  private final Object value1;
+  private final String key2;
+  private final Object value2;
+
+  private CompactMap(
+      int size,
+      String key0,
+      Object value0,
+      String key1,
+      Object value1,
+      String key2,
+      Object value2
+  ) {
+    this.size = size;
+    this.key0 = key0;
+    this.value0 = value0;
+    this.key1 = key1;
+    this.value1 = value1;
+    this.key2 = key2;
+    this.value2 = value2;
+  }
+
+  public static Map<String, Object> of(String key0, Object value0, String key1, Object value1) {
+    return new CompactMap(2, key0, value0, key1, value1, null, null);
+  }
+
+  public static Map<String, Object> of(
+      String key0,
+      Object value0,
+      String key1,
+      Object value1,
+      String key2,
+      Object value2
+  ) {
+    return new CompactMap(3, key0, value0, key1, value1, key2, value2);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public Object get(Object key) {
+    return valueAt(indexOf(key));
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return new AbstractSet<Entry<String, Object>>() {
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new Iterator<Entry<String, Object>>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return index < size;
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            if (index >= size) {
+              throw new NoSuchElementException();
+            }
+            int current = index++;
+            return new SimpleImmutableEntry<>(keyAt(current), valueAt(current));
+          }
+        };
+      }
+    };
+  }
+
+  private int indexOf(Object key) {
+    if (key == null) {
+      return -1;
+    }
+    if (key == key0 || key.equals(key0)) {
+      return 0;
+    }
+    if (key == key1 || key.equals(key1)) {
+      return 1;
+    }
+    if (size > 2 && (key == key2 || key.equals(key2))) {
+      return 2;
+    }
+    return -1;
+  }
+
+  private String keyAt(int index) {
+    switch (index) {
+      case 0:
+        return key0;
+      case 1:
+        return key1;
+      default:
+        return key2;
+    }
+  }
+
+  private Object valueAt(int index) {
+    switch (index) {
+      case 0:
+        return value0;
+      case 1:
+        return value1;
+      case 2:
+        return value2;
+      default:
+        return null;
+    }
+  }
+}
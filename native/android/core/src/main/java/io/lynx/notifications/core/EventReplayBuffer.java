@@ -0,0 +1,115 @@
+package io.lynx.notifications.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded buffer for module events emitted while no observer is registered.
+ *
+ * Holds at most {@code capacity} events; when full the oldest is evicted, and events older
+ * than {@code maxAgeMillis} are discarded instead of replayed.
+ */
+public final class EventReplayBuffer {
+  public static final int DEFAULT_CAPACITY = 32;
+  public static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+  private final String[] types;
+  private final Object[] notificationIds;
+  private final Object[] events;
+  private final long[] bufferedAtNanos;
+  private final long maxAgeNanos;
+
+  private int head;
+  private int size;
+  private long evictedCount;
+
+  public EventReplayBuffer() {
+    this(DEFAULT_CAPACITY, DEFAULT_MAX_AGE_MILLIS);
+  }
+
+  public EventReplayBuffer(int capacity, long maxAgeMillis) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Replay buffer capacity must be > 0.");
+    }
+    if (maxAgeMillis <= 0) {
+      throw new IllegalArgumentException("Replay buffer max age must be > 0.");
+    }
+
+    this.types = new String[capacity];
+    this.notificationIds = new Object[capacity];
+    this.events = new Object[capacity];
+    this.bufferedAtNanos = new long[capacity];
+    this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+  }
+
+  synchronized void add(String type, Object notificationId, Map<String, Object> event) {
+    long now = System.nanoTime();
+    evictExpired(now);
+    if (size == types.length) {
+      removeHead();
+      evictedCount++;
+    }
+
+    int tail = (head + size) % types.length;
+    types[tail] = type;
+    notificationIds[tail] = notificationId;
+    events[tail] = event;
+    bufferedAtNanos[tail] = now;
+    size++;
+  }
+
+  /**
+   * Removes and returns every event that is still within the max age, oldest first.
+   */
+  synchronized List<Entry> drain() {
+    evictExpired(System.nanoTime());
+    List<Entry> entries = new ArrayList<>(size);
+    while (size > 0) {
+      @SuppressWarnings("unchecked")
+      Map<String, Object> event = (Map<String, Object>) events[head];
+      entries.add(new Entry(types[head], notificationIds[head], event));
+      removeHead();
+    }
+    return entries;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Number of events discarded because the buffer was full or they exceeded the max age.
+   */
+  public synchronized long getEvictedCount() {
+    return evictedCount;
+  }
+
+  private void evictExpired(long now) {
+    while (size > 0 && now - bufferedAtNanos[head] > maxAgeNanos) {
+      removeHead();
+      evictedCount++;
+    }
+  }
+
+  private void removeHead() {
+    types[head] = null;
+    notificationIds[head] = null;
+    events[head] = null;
+    head = (head + 1) % types.length;
+    size--;
+  }
+
+  static final class Entry {
+    final String type;
+    final Object notificationId;
+    final Map<String, Object> event;
+
+    private Entry(String type, Object notificationId, Map<String, Object> event) {
+      this.type = type;
+      this.notificationId = notificationId;
+      this.event = event;
+    }
+  }
+}
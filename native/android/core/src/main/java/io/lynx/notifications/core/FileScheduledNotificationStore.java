@@ -0,0 +1,383 @@
+package io.lynx.notifications.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File-backed {@link ScheduledNotificationStore} using an append-only log.
+ *
+ * Every mutation updates an in-memory index immediately and appends a length-prefixed record
+ * on a single background writer, which flushes and syncs once per burst of queued writes. The
+ * index update and the queued append happen under one lock, so racing mutations of the same id
+ * reach the log in the order they reached the index. When the log holds more than twice as many
+ * records as live entries it is rewritten as a snapshot. A torn record at the end of the log
+ * (crash mid-write) is truncated on load.
+ *
+ * The log is loaded on the writer thread as soon as the store is created; the first read or
+ * mutation waits for that load. A log that cannot be read (unknown format or a corrupt record)
+ * is moved aside to {@code <file>.corrupt} for inspection and the store keeps the entries read
+ * before the damage. Stored requests are immutable copies taken when {@link #put} is called.
+ */
+public final class FileScheduledNotificationStore implements ScheduledNotificationStore {
+  private static final int MAGIC = 0x4C4E5331;
+  private static final byte OP_PUT = 1;
+  private static final byte OP_REMOVE = 2;
+  private static final byte OP_CLEAR = 3;
+  private static final int COMPACT_MIN_RECORDS = 1024;
+
+  private final File file;
+  private final ThreadPoolExecutor writer;
+  private final Map<String, ScheduledNotification> entries = new ConcurrentHashMap<>();
+  private final Object mutationLock = new Object();
+  private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(256);
+  private final Future<?> loading;
+  private volatile boolean loaded;
+
+  private FileOutputStream fileOut;
+  private DataOutputStream out;
+  private int logRecords;
+
+  public FileScheduledNotificationStore(File file) {
+    this.file = file;
+    this.writer = new ThreadPoolExecutor(
+        1,
+        1,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "lynx-notifications-store");
+          thread.setDaemon(true);
+          return thread;
+        }
+    );
+    this.loading = writer.submit(this::load);
+  }
+
+  @Override
+  public void put(ScheduledNotification notification) {
+    ensureLoaded();
+    ScheduledNotification snapshot = new ScheduledNotification(
+        notification.getId(),
+        notification.getTriggerAtMillis(),
+        notification.getRepeatIntervalMillis(),
+        notification.getRequest() == null ? null : NotificationValueCodec.immutableCopyOf(notification.getRequest())
+    );
+    synchronized (mutationLock) {
+      entries.put(snapshot.getId(), snapshot);
+      writer.execute(() -> append(OP_PUT, snapshot.getId(), snapshot));
+    }
+  }
+
+  @Override
+  public void remove(String id) {
+    ensureLoaded();
+    synchronized (mutationLock) {
+      if (entries.remove(id) == null) {
+        return;
+      }
+      writer.execute(() -> append(OP_REMOVE, id, null));
+    }
+  }
+
+  @Override
+  public void clear() {
+    ensureLoaded();
+    synchronized (mutationLock) {
+      entries.clear();
+      writer.execute(() -> append(OP_CLEAR, null, null));
+    }
+  }
+
+  @Override
+  public ScheduledNotification get(String id) {
+    ensureLoaded();
+    return entries.get(id);
+  }
+
+  @Override
+  public List<ScheduledNotification> loadAll() {
+    ensureLoaded();
+    return new ArrayList<>(entries.values());
+  }
+
+  public int size() {
+    ensureLoaded();
+    return entries.size();
+  }
+
+  /**
+   * Blocks until every mutation issued so far has been written and synced.
+   */
+  public void flush() {
+    try {
+      writer.submit(this::commit).get();
+    } catch (InterruptedException interrupted) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException error) {
+      LynxNotificationsLogger.error("Scheduled notification store flush failed.", error.getCause());
+    }
+  }
+
+  public void close() {
+    flush();
+    writer.execute(this::closeOutput);
+    writer.shutdown();
+    try {
+      writer.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+
+    boolean interrupted = false;
+    while (true) {
+      try {
+        loading.get();
+        break;
+      } catch (InterruptedException interruption) {
+        interrupted = true;
+      } catch (ExecutionException error) {
+        LynxNotificationsLogger.error("Failed to load scheduled notification store.", error.getCause());
+        break;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    loaded = true;
+  }
+
+  /**
+   * Runs on the writer thread before any queued mutation.
+   */
+  private void load() {
+    if (!file.exists() || file.length() == 0) {
+      return;
+    }
+
+    long validLength = 0;
+    boolean corrupt = false;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Unrecognized scheduled notification store format.");
+      }
+      validLength = 4;
+
+      while (true) {
+        int length;
+        byte[] record;
+        try {
+          length = in.readInt();
+          if (length <= 0) {
+            break;
+          }
+          record = new byte[length];
+          in.readFully(record);
+        } catch (EOFException endOfLog) {
+          break;
+        }
+
+        try {
+          apply(record);
+        } catch (IOException | RuntimeException damaged) {
+          LynxNotificationsLogger.error("Scheduled notification store has a corrupt record.", damaged);
+          corrupt = true;
+          break;
+        }
+        logRecords++;
+        validLength += 4L + length;
+      }
+    } catch (IOException | RuntimeException error) {
+      LynxNotificationsLogger.error("Failed to read scheduled notification store.", error);
+      corrupt = true;
+    }
+
+    try {
+      if (corrupt) {
+        setAside();
+      } else if (validLength < file.length()) {
+        LynxNotificationsLogger.debug("Truncating torn scheduled notification store tail.");
+        try (RandomAccessFile randomAccess = new RandomAccessFile(file, "rw")) {
+          randomAccess.setLength(validLength);
+        }
+      }
+    } catch (IOException error) {
+      LynxNotificationsLogger.error("Failed to repair scheduled notification store.", error);
+    }
+  }
+
+  /**
+   * Moves an unreadable log to {@code <file>.corrupt} and rewrites the entries recovered from
+   * it, so later appends never land behind the damage.
+   */
+  private void setAside() throws IOException {
+    File corruptFile = new File(file.getPath() + ".corrupt");
+    corruptFile.delete();
+    if (!file.renameTo(corruptFile)) {
+      throw new IOException("Failed to move corrupt scheduled notification store aside.");
+    }
+    LynxNotificationsLogger.error(
+        "Moved corrupt scheduled notification store to {}; kept {} entries.",
+        corruptFile.getName(),
+        Integer.valueOf(entries.size())
+    );
+    logRecords = 0;
+    if (!entries.isEmpty()) {
+      compact();
+    }
+  }
+
+  private void apply(byte[] record) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+    byte op = in.readByte();
+    switch (op) {
+      case OP_PUT: {
+        String id = NotificationValueCodec.readString(in);
+        long triggerAtMillis = in.readLong();
+        long repeatIntervalMillis = in.readLong();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> request = (Map<String, Object>) NotificationValueCodec.readValue(in);
+        entries.put(id, new ScheduledNotification(id, triggerAtMillis, repeatIntervalMillis, request));
+        break;
+      }
+      case OP_REMOVE:
+        entries.remove(NotificationValueCodec.readString(in));
+        break;
+      case OP_CLEAR:
+        entries.clear();
+        break;
+      default:
+        throw new IOException("Unknown scheduled notification store record " + op + ".");
+    }
+  }
+
+  private void append(byte op, String id, ScheduledNotification notification) {
+    try {
+      writeRecord(output(), op, id, notification);
+      logRecords++;
+    } catch (IOException | RuntimeException error) {
+      LynxNotificationsLogger.error("Failed to write scheduled notification store record.", error);
+      closeOutput();
+      return;
+    }
+
+    if (writer.getQueue().isEmpty()) {
+      commit();
+    }
+  }
+
+  private void commit() {
+    if (out == null) {
+      return;
+    }
+    try {
+      out.flush();
+      fileOut.getFD().sync();
+      if (logRecords >= COMPACT_MIN_RECORDS && logRecords > 2 * entries.size()) {
+        compact();
+      }
+    } catch (IOException | RuntimeException error) {
+      LynxNotificationsLogger.error("Failed to sync scheduled notification store.", error);
+      closeOutput();
+    }
+  }
+
+  private void writeRecord(DataOutputStream output, byte op, String id, ScheduledNotification notification)
+      throws IOException {
+    recordBuffer.reset();
+    DataOutputStream record = new DataOutputStream(recordBuffer);
+    record.writeByte(op);
+    if (op == OP_PUT) {
+      NotificationValueCodec.writeString(record, id);
+      record.writeLong(notification.getTriggerAtMillis());
+      record.writeLong(notification.getRepeatIntervalMillis());
+      NotificationValueCodec.writeValue(record, notification.getRequest());
+    } else if (op == OP_REMOVE) {
+      NotificationValueCodec.writeString(record, id);
+    }
+    record.flush();
+
+    output.writeInt(recordBuffer.size());
+    recordBuffer.writeTo(output);
+  }
+
+  private void compact() throws IOException {
+    File snapshot = new File(file.getPath() + ".compact");
+    int written = 0;
+    try (FileOutputStream snapshotFile = new FileOutputStream(snapshot)) {
+      DataOutputStream snapshotOut = new DataOutputStream(new BufferedOutputStream(snapshotFile, 64 * 1024));
+      snapshotOut.writeInt(MAGIC);
+      for (ScheduledNotification notification : entries.values()) {
+        writeRecord(snapshotOut, OP_PUT, notification.getId(), notification);
+        written++;
+      }
+      snapshotOut.flush();
+      snapshotFile.getFD().sync();
+    }
+
+    closeOutput();
+    if (!snapshot.renameTo(file)) {
+      snapshot.delete();
+      throw new IOException("Failed to replace scheduled notification store with compacted log.");
+    }
+    logRecords = written;
+    LynxNotificationsLogger.debug("Compacted scheduled notification store to {} records.", written);
+  }
+
+  private DataOutputStream output() throws IOException {
+    if (out != null) {
+      return out;
+    }
+
+    File parent = file.getParentFile();
+    if (parent != null && !parent.exists() && !parent.mkdirs()) {
+      throw new IOException("Failed to create scheduled notification store directory.");
+    }
+
+    boolean fresh = !file.exists() || file.length() == 0;
+    fileOut = new FileOutputStream(file, true);
+    out = new DataOutputStream(new BufferedOutputStream(fileOut, 16 * 1024));
+    if (fresh) {
+      out.writeInt(MAGIC);
+    }
+    return out;
+  }
+
+  private void closeOutput() {
+    if (out == null) {
+      return;
+    }
+    try {
+      out.close();
+    } catch (IOException error) {
+      LynxNotificationsLogger.error("Failed to close scheduled notification store.", error);
+    }
+    out = null;
+    fileOut = null;
+  }
+}
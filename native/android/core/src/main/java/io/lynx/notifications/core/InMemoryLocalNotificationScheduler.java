@@ -1,17 +1,60 @@
 package io.lynx.notifications.core;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Thread-safe reference scheduler that keeps requests in memory.
+ *
+ * Entries are indexed by id and by trigger time, so due-time queries walk only the
+ * entries they return. A new entry is mapped by id first, then added to the time index and
+ * the tag index, so a cancel that finds its tag also finds the entry. If a concurrent
+ * {@link #cancelAll} unmapped it before its tags were indexed, the scheduler notices the entry
+ * is gone and drops its time and tag index entries again. Removal unmaps by id before the
+ * other indexes; queries skip entries that are not currently mapped by id.
+ *
+ * Repeated requests are matched by a {@link NotificationDeduplicator}
+ * ({@link NotificationDeduplicator#defaults()} unless one is passed) and return the id they were
+ * first scheduled as.
+ */
 public final class InMemoryLocalNotificationScheduler implements LocalNotificationScheduler {
-  private final Map<String, Map<String, Object>> scheduledRequests = new HashMap<>();
+  private static final Comparator<Entry> TRIGGER_ORDER = Comparator
+      .comparingLong((Entry entry) -> entry.triggerAtMillis)
+      .thenComparingLong(entry -> entry.sequence);
+
+  private final Map<String, Entry> entriesById = new ConcurrentHashMap<>();
+  private final NavigableSet<Entry> entriesByTrigger = new ConcurrentSkipListSet<>(TRIGGER_ORDER);
+  private final NotificationTagIndex tagIndex = new NotificationTagIndex();
+  private final AtomicLong sequence = new AtomicLong();
+  private final NotificationIdAllocator idAllocator;
+  private final NotificationDeduplicator deduplicator;
+
+  public InMemoryLocalNotificationScheduler() {
+    this(new MonotonicNotificationIdAllocator());
+  }
+
+  public InMemoryLocalNotificationScheduler(NotificationIdAllocator idAllocator) {
+    this(idAllocator, NotificationDeduplicator.defaults());
+  }
+
+  public InMemoryLocalNotificationScheduler(
+      NotificationIdAllocator idAllocator,
+      NotificationDeduplicator deduplicator
+  ) {
+    this.idAllocator = idAllocator;
+    this.deduplicator = deduplicator;
+  }
 
   @Override
   public void schedule(Map<String, Object> request, ScheduleCallback callback) {
     try {
-      String id = validateAndSchedule(request);
-      callback.onSuccess(id);
+      callback.onSuccess(store(request, System.currentTimeMillis()));
     } catch (NotificationError error) {
       callback.onError(error);
     }
@@ -20,11 +63,8 @@ public final class InMemoryLocalNotificationScheduler implements LocalNotificati
   @Override
   public void cancel(String id, VoidCallback callback) {
     try {
-      if (id == null || id.isEmpty()) {
-        throw new NotificationError("ERR_INVALID_ARGUMENT", "Scheduled notification id must not be empty.");
-      }
-
-      scheduledRequests.remove(id);
+      validateId(id);
+      remove(id);
       callback.onSuccess();
     } catch (NotificationError error) {
       callback.onError(error);
@@ -33,45 +73,179 @@ public final class InMemoryLocalNotificationScheduler implements LocalNotificati
 
   @Override
   public void cancelAll(VoidCallback callback) {
-    scheduledRequests.clear();
+    for (String id : entriesById.keySet()) {
+      remove(id);
+    }
     callback.onSuccess();
   }
 
-  private String validateAndSchedule(Map<String, Object> request) throws NotificationError {
-    Object triggerValue = request.get("trigger");
-    if (!(triggerValue == null || triggerValue instanceof Map)) {
-      throw new NotificationError(
-          "ERR_INVALID_ARGUMENT",
-          "Notification trigger must be null or object."
-      );
-    }
-
-    if (triggerValue instanceof Map) {
-      @SuppressWarnings("unchecked")
-      Map<String, Object> trigger = (Map<String, Object>) triggerValue;
-      Object type = trigger.get("type");
-      if ("date".equals(type)) {
-        Object dateValue = trigger.get("date");
-        if (!(dateValue instanceof Number)) {
-          throw new NotificationError("ERR_INVALID_ARGUMENT", "Date trigger requires numeric date.");
-        }
-
-        long millis = ((Number) dateValue).longValue();
-        if (millis <= System.currentTimeMillis()) {
-          throw new NotificationError("ERR_INVALID_ARGUMENT", "Date trigger must be in the future.");
-        }
+  @Override
+  public void cancelByTag(String tag, VoidCallback callback) {
+    try {
+      validateTag(tag);
+      for (String id : tagIndex.idsForTag(tag)) {
+        remove(id);
       }
+      callback.onSuccess();
+    } catch (NotificationError error) {
+      callback.onError(error);
+    }
+  }
 
-      if ("timeInterval".equals(type)) {
-        Object secondsValue = trigger.get("seconds");
-        if (!(secondsValue instanceof Number) || ((Number) secondsValue).doubleValue() <= 0) {
-          throw new NotificationError("ERR_INVALID_ARGUMENT", "Time interval trigger requires seconds > 0.");
-        }
+  @Override
+  public void getScheduledByTag(String tag, IdsCallback callback) {
+    try {
+      validateTag(tag);
+      callback.onSuccess(tagIndex.idsForTag(tag));
+    } catch (NotificationError error) {
+      callback.onError(error);
+    }
+  }
+
+  @Override
+  public void scheduleBatch(List<Map<String, Object>> requests, BatchCallback callback) {
+    if (requests == null) {
+      callback.onError(new NotificationError("ERR_INVALID_ARGUMENT", "Batch requests must not be null."));
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    List<BatchItemResult> results = new ArrayList<>(requests.size());
+    for (Map<String, Object> request : requests) {
+      try {
+        results.add(BatchItemResult.success(store(request, now)));
+      } catch (NotificationError error) {
+        results.add(BatchItemResult.failure(null, error));
       }
     }
+    callback.onComplete(results);
+  }
+
+  @Override
+  public void cancelBatch(List<String> ids, BatchCallback callback) {
+    if (ids == null) {
+      callback.onError(new NotificationError("ERR_INVALID_ARGUMENT", "Batch ids must not be null."));
+      return;
+    }
 
-    String id = "notification-" + UUID.randomUUID();
-    scheduledRequests.put(id, request);
-    return id;
+    List<BatchItemResult> results = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      try {
+        validateId(id);
+        remove(id);
+        results.add(BatchItemResult.success(id));
+      } catch (NotificationError error) {
+        results.add(BatchItemResult.failure(id, error));
+      }
+    }
+    callback.onComplete(results);
+  }
+
+  /**
+   * Returns every scheduled notification ordered by trigger time.
+   */
+  public List<ScheduledNotification> getAllScheduled() {
+    return collect(entriesByTrigger, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns up to {@code limit} notifications with the earliest trigger times.
+   */
+  public List<ScheduledNotification> getNextDue(int limit) {
+    if (limit <= 0) {
+      return new ArrayList<>();
+    }
+    return collect(entriesByTrigger, limit);
+  }
+
+  /**
+   * Returns notifications whose trigger time is at or before {@code millis}, earliest first.
+   */
+  public List<ScheduledNotification> getDueBefore(long millis) {
+    Entry bound = new Entry(null, null, millis, Long.MAX_VALUE);
+    return collect(entriesByTrigger.headSet(bound, true), Integer.MAX_VALUE);
+  }
+
+  public int size() {
+    return entriesById.size();
+  }
+
+  private List<ScheduledNotification> collect(NavigableSet<Entry> entries, int limit) {
+    List<ScheduledNotification> result = new ArrayList<>(Math.min(limit, 16));
+    for (Entry entry : entries) {
+      if (result.size() >= limit) {
+        break;
+      }
+      if (entriesById.get(entry.id) != entry) {
+        continue;
+      }
+      result.add(new ScheduledNotification(entry.id, entry.triggerAtMillis, entry.request));
+    }
+    return result;
+  }
+
+  private String store(Map<String, Object> request, long now) throws NotificationError {
+    NotificationRequest parsed = NotificationRequest.parse(request);
+    String existing = deduplicator.find(parsed, now);
+    if (existing != null) {
+      return existing;
+    }
+
+    long triggerAtMillis = parsed.getTrigger().firstTriggerAt(now);
+    List<String> tags = parsed.getTags();
+    String id = idAllocator.nextId();
+    Entry entry = new Entry(id, request, triggerAtMillis, sequence.incrementAndGet());
+    // Index by id first: a cancelByTag that sees the tag must find the entry to remove it.
+    entriesById.put(id, entry);
+    entriesByTrigger.add(entry);
+    tagIndex.add(id, tags);
+    if (entriesById.get(id) != entry) {
+      // A concurrent cancelAll removed the entry before its tags were indexed.
+      tagIndex.remove(id);
+      entriesByTrigger.remove(entry);
+    }
+
+    String recorded = deduplicator.record(parsed, id, now);
+    if (!recorded.equals(id)) {
+      // A concurrent retry of the same request won; keep its id.
+      remove(id);
+    }
+    return recorded;
+  }
+
+  private void remove(String id) {
+    Entry entry = entriesById.remove(id);
+    if (entry == null) {
+      return;
+    }
+    entriesByTrigger.remove(entry);
+    tagIndex.remove(id);
+    deduplicator.forget(id);
+  }
+
+  private static void validateId(String id) throws NotificationError {
+    if (id == null || id.isEmpty()) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Scheduled notification id must not be empty.");
+    }
+  }
+
+  private static void validateTag(String tag) throws NotificationError {
+    if (tag == null || tag.isEmpty()) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification tag must not be empty.");
+    }
+  }
+
+  private static final class Entry {
+    private final String id;
+    private final Map<String, Object> request;
+    private final long triggerAtMillis;
+    private final long sequence;
+
+    private Entry(String id, Map<String, Object> request, long triggerAtMillis, long sequence) {
+      this.id = id;
+      this.request = request;
+      this.triggerAtMillis = triggerAtMillis;
+      this.sequence = sequence;
+    }
   }
 }
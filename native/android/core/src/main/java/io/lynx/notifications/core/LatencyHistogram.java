@@ -0,0 +1,94 @@
+package io.lynx.notifications.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed, roughly logarithmic buckets.
+ *
+ * Recording is a bucket search plus two atomic updates and a max update; percentiles are estimated as the
+ * upper bound of the bucket that contains the requested rank.
+ */
+final class LatencyHistogram {
+  /** Inclusive upper bounds of every bucket but the last, which is unbounded. */
+  static final long[] BUCKET_BOUNDS_MICROS = {
+      50, 100, 250, 500,
+      1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+      1_000_000, 2_500_000, 5_000_000, 10_000_000
+  };
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length + 1);
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+
+    buckets.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(nanos)));
+    totalNanos.addAndGet(nanos);
+
+    long max = maxNanos.get();
+    while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+      max = maxNanos.get();
+    }
+  }
+
+  long[] bucketCounts() {
+    long[] counts = new long[buckets.length()];
+    for (int index = 0; index < counts.length; index++) {
+      counts[index] = buckets.get(index);
+    }
+    return counts;
+  }
+
+  long totalNanos() {
+    return totalNanos.get();
+  }
+
+  long maxNanos() {
+    return maxNanos.get();
+  }
+
+  /**
+   * Upper bucket bound, in microseconds, below which {@code percentile} of the recorded
+   * values fall; values in the unbounded bucket report the observed maximum.
+   */
+  static long percentileMicros(long[] bucketCounts, double percentile, long maxMicros) {
+    long total = 0;
+    for (long bucketCount : bucketCounts) {
+      total += bucketCount;
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(total * percentile);
+    long seen = 0;
+    for (int index = 0; index < bucketCounts.length; index++) {
+      seen += bucketCounts[index];
+      if (seen >= rank) {
+        return index < BUCKET_BOUNDS_MICROS.length
+            ? Math.min(BUCKET_BOUNDS_MICROS[index], Math.max(maxMicros, 1))
+            : maxMicros;
+      }
+    }
+    return maxMicros;
+  }
+
+  private static int bucketOf(long micros) {
+    int low = 0;
+    int high = BUCKET_BOUNDS_MICROS.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (micros <= BUCKET_BOUNDS_MICROS[middle]) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+}
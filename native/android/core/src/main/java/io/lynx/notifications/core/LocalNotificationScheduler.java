@@ -1,6 +1,10 @@
 package io.lynx.notifications.core;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public interface LocalNotificationScheduler {
   void schedule(Map<String, Object> request, ScheduleCallback callback);
@@ -9,6 +13,108 @@ public interface LocalNotificationScheduler {
 
   void cancelAll(VoidCallback callback);
 
+  /**
+   * Schedules every request and reports one result per request, in input order.
+   *
+   * The default delegates to {@link #schedule} and completes once every item has resolved;
+   * implementations override it to share validation and system service lookups across the batch.
+   */
+  default void scheduleBatch(List<Map<String, Object>> requests, BatchCallback callback) {
+    if (requests == null) {
+      callback.onError(new NotificationError("ERR_INVALID_ARGUMENT", "Batch requests must not be null."));
+      return;
+    }
+
+    BatchItemResult[] results = new BatchItemResult[requests.size()];
+    AtomicInteger remaining = new AtomicInteger(results.length);
+    if (results.length == 0) {
+      callback.onComplete(Collections.emptyList());
+      return;
+    }
+
+    for (int index = 0; index < results.length; index++) {
+      int position = index;
+      schedule(requests.get(index), new ScheduleCallback() {
+        @Override
+        public void onSuccess(String id) {
+          complete(BatchItemResult.success(id));
+        }
+
+        @Override
+        public void onError(NotificationError error) {
+          complete(BatchItemResult.failure(null, error));
+        }
+
+        private void complete(BatchItemResult result) {
+          results[position] = result;
+          if (remaining.decrementAndGet() == 0) {
+            callback.onComplete(Arrays.asList(results));
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Cancels every id and reports one result per id, in input order.
+   */
+  default void cancelBatch(List<String> ids, BatchCallback callback) {
+    if (ids == null) {
+      callback.onError(new NotificationError("ERR_INVALID_ARGUMENT", "Batch ids must not be null."));
+      return;
+    }
+
+    BatchItemResult[] results = new BatchItemResult[ids.size()];
+    AtomicInteger remaining = new AtomicInteger(results.length);
+    if (results.length == 0) {
+      callback.onComplete(Collections.emptyList());
+      return;
+    }
+
+    for (int index = 0; index < results.length; index++) {
+      int position = index;
+      String id = ids.get(index);
+      cancel(id, new VoidCallback() {
+        @Override
+        public void onSuccess() {
+          complete(BatchItemResult.success(id));
+        }
+
+        @Override
+        public void onError(NotificationError error) {
+          complete(BatchItemResult.failure(id, error));
+        }
+
+        private void complete(BatchItemResult result) {
+          results[position] = result;
+          if (remaining.decrementAndGet() == 0) {
+            callback.onComplete(Arrays.asList(results));
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Cancels every notification scheduled with the given tag.
+   */
+  default void cancelByTag(String tag, VoidCallback callback) {
+    callback.onError(new NotificationError(
+        "ERR_NOTIFICATIONS_UNAVAILABLE",
+        "This scheduler does not support tagged notifications."
+    ));
+  }
+
+  /**
+   * Resolves the ids of notifications scheduled with the given tag.
+   */
+  default void getScheduledByTag(String tag, IdsCallback callback) {
+    callback.onError(new NotificationError(
+        "ERR_NOTIFICATIONS_UNAVAILABLE",
+        "This scheduler does not support tagged notifications."
+    ));
+  }
+
   interface ScheduleCallback {
     void onSuccess(String id);
 
@@ -20,4 +126,16 @@ public interface LocalNotificationScheduler {
 
     void onError(NotificationError error);
   }
+
+  interface BatchCallback {
+    void onComplete(List<BatchItemResult> results);
+
+    void onError(NotificationError error);
+  }
+
+  interface IdsCallback {
+    void onSuccess(List<String> ids);
+
+    void onError(NotificationError error);
+  }
 }
@@ -0,0 +1,313 @@
+package io.lynx.notifications.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded asynchronous dispatcher for module events.
+ *
+ * Producers (push SDK callbacks, receivers) enqueue into a lock-free ring buffer and return
+ * immediately; a single consumer thread delivers events to the bridge in order. When the
+ * buffer is full the overflow policy decides which event is lost.
+ */
+public final class LynxNotificationsEventDispatcher {
+  public static final int DEFAULT_CAPACITY = 256;
+
+  private static final Object CONSUMED = new Object();
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final int mask;
+  private final AtomicReferenceArray<Envelope> slots;
+  private final AtomicLongArray sequences;
+  private final AtomicLong enqueuePosition = new AtomicLong();
+  private final AtomicLong dequeuePosition = new AtomicLong();
+  private final OverflowPolicy overflowPolicy;
+  private final Map<String, Envelope> pendingByKey;
+  private final ThreadFactory threadFactory;
+
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final AtomicLong coalescedCount = new AtomicLong();
+  private final AtomicLong deliveredCount = new AtomicLong();
+
+  private volatile Sink sink;
+  private volatile Thread consumer;
+  private volatile boolean consumerWaiting;
+  private volatile boolean running = true;
+
+  public LynxNotificationsEventDispatcher() {
+    this(DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST);
+  }
+
+  public LynxNotificationsEventDispatcher(int capacity, OverflowPolicy overflowPolicy) {
+    this(capacity, overflowPolicy, runnable -> {
+      Thread thread = new Thread(runnable, "lynx-notifications-events");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * @param capacity Maximum number of queued events; rounded up to a power of two.
+   * @param overflowPolicy What to do when the buffer is full.
+   * @param threadFactory Creates the single consumer thread.
+   */
+  public LynxNotificationsEventDispatcher(
+      int capacity,
+      OverflowPolicy overflowPolicy,
+      ThreadFactory threadFactory
+  ) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Event dispatcher capacity must be > 0.");
+    }
+
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    this.mask = size - 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int index = 0; index < size; index++) {
+      sequences.set(index, index);
+    }
+    this.overflowPolicy = overflowPolicy;
+    this.pendingByKey = overflowPolicy == OverflowPolicy.COALESCE_BY_ID ? new ConcurrentHashMap<>() : null;
+    this.threadFactory = threadFactory;
+  }
+
+  /**
+   * Queues an event for delivery.
+   *
+   * @param type Event type, used with {@code notificationId} as the coalescing key.
+   * @param notificationId Notification id the event refers to, or null. Events without an id
+   *     are never coalesced.
+   * @return false if the event itself was dropped.
+   */
+  public boolean dispatch(String type, Object notificationId, Map<String, Object> event) {
+    if (!running) {
+      droppedCount.incrementAndGet();
+      return false;
+    }
+
+    String key = null;
+    // Events without a notification id are distinct occurrences, never replacements.
+    if (pendingByKey != null && notificationId != null) {
+      key = type + ':' + notificationId;
+      Envelope pending = pendingByKey.get(key);
+      if (pending != null && pending.replace(event)) {
+        coalescedCount.incrementAndGet();
+        return true;
+      }
+    }
+
+    Envelope envelope = new Envelope(key, event);
+    if (key != null) {
+      pendingByKey.put(key, envelope);
+    }
+    while (!offer(envelope)) {
+      if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+        droppedCount.incrementAndGet();
+        return false;
+      }
+
+      Envelope oldest = poll();
+      if (oldest != null) {
+        oldest.take();
+        forget(oldest);
+        droppedCount.incrementAndGet();
+      }
+    }
+
+    signalConsumer();
+    return true;
+  }
+
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  public long getCoalescedCount() {
+    return coalescedCount.get();
+  }
+
+  public long getDeliveredCount() {
+    return deliveredCount.get();
+  }
+
+  public int getQueueDepth() {
+    long depth = enqueuePosition.get() - dequeuePosition.get();
+    if (depth < 0) {
+      return 0;
+    }
+    return (int) Math.min(depth, mask + 1L);
+  }
+
+  public int getCapacity() {
+    return mask + 1;
+  }
+
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Stops accepting events; queued events are still delivered before the consumer exits.
+   */
+  public void shutdown() {
+    running = false;
+    Thread thread = consumer;
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  synchronized void attach(Sink sink) {
+    if (this.sink != null) {
+      throw new IllegalStateException("Event dispatcher is already attached to a module.");
+    }
+    this.sink = sink;
+    Thread thread = threadFactory.newThread(this::runConsumer);
+    consumer = thread;
+    thread.start();
+  }
+
+  private void signalConsumer() {
+    if (consumerWaiting) {
+      Thread thread = consumer;
+      if (thread != null) {
+        LockSupport.unpark(thread);
+      }
+    }
+  }
+
+  private void runConsumer() {
+    while (true) {
+      Envelope envelope = poll();
+      if (envelope == null) {
+        if (!running) {
+          return;
+        }
+        consumerWaiting = true;
+        if (isEmpty() && running) {
+          LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        consumerWaiting = false;
+        continue;
+      }
+
+      Map<String, Object> event = envelope.take();
+      forget(envelope);
+      if (event == null) {
+        continue;
+      }
+
+      try {
+        sink.deliver(event);
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Event dispatcher failed to deliver event.", throwable);
+      }
+      deliveredCount.incrementAndGet();
+    }
+  }
+
+  private void forget(Envelope envelope) {
+    if (envelope.key != null) {
+      pendingByKey.remove(envelope.key, envelope);
+    }
+  }
+
+  private boolean isEmpty() {
+    return enqueuePosition.get() == dequeuePosition.get();
+  }
+
+  private boolean offer(Envelope envelope) {
+    while (true) {
+      long position = enqueuePosition.get();
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (enqueuePosition.compareAndSet(position, position + 1)) {
+          slots.set(index, envelope);
+          sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (difference < 0) {
+        return false;
+      }
+    }
+  }
+
+  private Envelope poll() {
+    while (true) {
+      long position = dequeuePosition.get();
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (dequeuePosition.compareAndSet(position, position + 1)) {
+          Envelope envelope = slots.get(index);
+          slots.set(index, null);
+          sequences.set(index, position + mask + 1);
+          return envelope;
+        }
+      } else if (difference < 0) {
+        return null;
+      }
+    }
+  }
+
+  public enum OverflowPolicy {
+    /** Evict the oldest queued event to make room for the new one. */
+    DROP_OLDEST,
+    /** Reject the new event and keep the queue as is. */
+    DROP_NEWEST,
+    /**
+     * Replace a still-queued event with the same type and notification id in place;
+     * otherwise evict the oldest queued event when full. Events without a notification id
+     * are queued individually.
+     */
+    COALESCE_BY_ID
+  }
+
+  interface Sink {
+    void deliver(Map<String, Object> event);
+  }
+
+  private static final class Envelope extends AtomicReference<Object> {
+    private static final long serialVersionUID = 1L;
+
+    private final String key;
+
+    private Envelope(String key, Map<String, Object> payload) {
+      super(payload);
+      this.key = key;
+    }
+
+    private boolean replace(Map<String, Object> event) {
+      while (true) {
+        Object current = get();
+        if (current == CONSUMED) {
+          return false;
+        }
+        if (compareAndSet(current, event)) {
+          return true;
+        }
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> take() {
+      Object current = getAndSet(CONSUMED);
+      if (current == CONSUMED) {
+        return null;
+      }
+      return (Map<String, Object>) current;
+    }
+  }
+}
@@ -1,13 +1,34 @@
 package io.lynx.notifications.core;
 
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
 /**
  * Lightweight logger for native notifications diagnostics.
  *
  * Logging is disabled by default and should be enabled only for debug/QA runs.
+ *
+ * Prefer the parameterized overloads ({@code "id={} count={}"}) on hot paths: when logging is
+ * disabled they return before any string is built. When enabled, records are formatted and
+ * written to System.out/System.err by a background thread; a trailing Throwable argument
+ * without a matching placeholder is printed as a stack trace.
  */
 public final class LynxNotificationsLogger {
+  private static final int QUEUE_CAPACITY = 1024;
+  private static final String DEBUG_PREFIX = "[LynxNotifications][DEBUG] ";
+  private static final String ERROR_PREFIX = "[LynxNotifications][ERROR] ";
+
   private static volatile boolean debugEnabled = false;
 
+  private static final BlockingQueue<Record> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+  private static final AtomicLong droppedCount = new AtomicLong();
+  private static volatile Thread writer;
+
   private LynxNotificationsLogger() {}
 
   public static void setDebugEnabled(boolean enabled) {
@@ -22,23 +43,268 @@ public final class LynxNotificationsLogger {
     if (!debugEnabled) {
       return;
     }
-    System.out.println("[LynxNotifications][DEBUG] " + message);
+    enqueue(false, message, null, null, null, 0, null);
+  }
+
+  public static void debug(String format, Object arg) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(false, format, arg, null, null, 1, null);
+  }
+
+  public static void debug(String format, Object arg0, Object arg1) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(false, format, arg0, arg1, null, 2, null);
+  }
+
+  public static void debug(String format, Object arg0, Object arg1, Object arg2) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(false, format, arg0, arg1, arg2, 3, null);
+  }
+
+  /**
+   * Primitive overload so counts and sizes are not boxed when logging is disabled.
+   */
+  public static void debug(String format, long arg) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(false, format, arg, null, null, 1, null);
+  }
+
+  public static void debug(String format, Object arg0, long arg1) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(false, format, arg0, arg1, null, 2, null);
+  }
+
+  /**
+   * Builds the message only when logging is enabled. Capturing lambdas still allocate at the
+   * call site, so use the parameterized overloads on hot paths.
+   */
+  public static void debug(Supplier<String> message) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(false, null, null, null, null, 0, message);
   }
 
   public static void error(String message) {
     if (!debugEnabled) {
       return;
     }
-    System.err.println("[LynxNotifications][ERROR] " + message);
+    enqueue(true, message, null, null, null, 0, null);
   }
 
   public static void error(String message, Throwable throwable) {
     if (!debugEnabled) {
       return;
     }
-    System.err.println("[LynxNotifications][ERROR] " + message);
-    if (throwable != null) {
-      throwable.printStackTrace(System.err);
+    enqueue(true, message, throwable, null, null, 1, null);
+  }
+
+  public static void error(String format, Object arg) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(true, format, arg, null, null, 1, null);
+  }
+
+  public static void error(String format, Object arg0, Object arg1) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(true, format, arg0, arg1, null, 2, null);
+  }
+
+  public static void error(String format, Object arg0, Object arg1, Object arg2) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(true, format, arg0, arg1, arg2, 3, null);
+  }
+
+  public static void error(Supplier<String> message) {
+    if (!debugEnabled) {
+      return;
+    }
+    enqueue(true, null, null, null, null, 0, message);
+  }
+
+  /**
+   * Number of log records discarded because the writer fell behind.
+   */
+  public static long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Blocks until records logged so far have been written, or the timeout elapses.
+   */
+  public static boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+    if (writer == null) {
+      return true;
+    }
+    CountDownLatch written = new CountDownLatch(1);
+    if (!queue.offer(new Record(written), timeout, unit)) {
+      return false;
+    }
+    return written.await(timeout, unit);
+  }
+
+  static String format(String format, Object arg0, Object arg1, Object arg2, int argCount) {
+    if (argCount == 0 || format == null) {
+      return format;
+    }
+
+    StringBuilder builder = new StringBuilder(format.length() + 32);
+    int argIndex = 0;
+    int start = 0;
+    while (true) {
+      int placeholder = format.indexOf("{}", start);
+      if (placeholder < 0 || argIndex >= argCount) {
+        break;
+      }
+      builder.append(format, start, placeholder);
+      builder.append(argIndex == 0 ? arg0 : argIndex == 1 ? arg1 : arg2);
+      argIndex++;
+      start = placeholder + 2;
+    }
+    builder.append(format, start, format.length());
+    return builder.toString();
+  }
+
+  private static void enqueue(
+      boolean error,
+      String format,
+      Object arg0,
+      Object arg1,
+      Object arg2,
+      int argCount,
+      Supplier<String> supplier
+  ) {
+    ensureWriter();
+    if (!queue.offer(new Record(error, format, arg0, arg1, arg2, argCount, supplier))) {
+      droppedCount.incrementAndGet();
+    }
+  }
+
+  private static void ensureWriter() {
+    if (writer != null) {
+      return;
+    }
+    synchronized (LynxNotificationsLogger.class) {
+      if (writer != null) {
+        return;
+      }
+      Thread thread = new Thread(LynxNotificationsLogger::drain, "lynx-notifications-log");
+      thread.setDaemon(true);
+      thread.start();
+      writer = thread;
+    }
+  }
+
+  private static void drain() {
+    while (true) {
+      Record record;
+      try {
+        record = queue.take();
+      } catch (InterruptedException interrupted) {
+        return;
+      }
+
+      try {
+        record.write();
+      } catch (Throwable throwable) {
+        System.err.println(ERROR_PREFIX + "Failed to write log record: " + throwable);
+      }
+    }
+  }
+
+  private static final class Record {
+    private final boolean error;
+    private final String format;
+    private final Object arg0;
+    private final Object arg1;
+    private final Object arg2;
+    private final int argCount;
+    private final Supplier<String> supplier;
+    private final CountDownLatch written;
+
+    private Record(
+        boolean error,
+        String format,
+        Object arg0,
+        Object arg1,
+        Object arg2,
+        int argCount,
+        Supplier<String> supplier
+    ) {
+      this(error, format, arg0, arg1, arg2, argCount, supplier, null);
+    }
+
+    private Record(CountDownLatch written) {
+      this(false, null, null, null, null, 0, null, written);
+    }
+
+    private Record(
+        boolean error,
+        String format,
+        Object arg0,
+        Object arg1,
+        Object arg2,
+        int argCount,
+        Supplier<String> supplier,
+        CountDownLatch written
+    ) {
+      this.error = error;
+      this.format = format;
+      this.arg0 = arg0;
+      this.arg1 = arg1;
+      this.arg2 = arg2;
+      this.argCount = argCount;
+      this.supplier = supplier;
+      this.written = written;
+    }
+
+    private void write() {
+      if (written != null) {
+        written.countDown();
+        return;
+      }
+
+      Throwable throwable = null;
+      int placeholders = argCount;
+      if (argCount > 0) {
+        Object last = argCount == 1 ? arg0 : argCount == 2 ? arg1 : arg2;
+        if (last instanceof Throwable && countPlaceholders(format) < argCount) {
+          throwable = (Throwable) last;
+          placeholders = argCount - 1;
+        }
+      }
+
+      String message = supplier != null ? supplier.get() : format(format, arg0, arg1, arg2, placeholders);
+      PrintStream stream = error ? System.err : System.out;
+      stream.println((error ? ERROR_PREFIX : DEBUG_PREFIX) + message);
+      if (throwable != null) {
+        throwable.printStackTrace(stream);
+      }
+    }
+
+    private static int countPlaceholders(String format) {
+      int count = 0;
+      int index = format == null ? -1 : format.indexOf("{}");
+      while (index >= 0) {
+        count++;
+        index = format.indexOf("{}", index + 2);
+      }
+      return count;
     }
   }
 }
@@ -0,0 +1,222 @@
+package io.lynx.notifications.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and per-method latency histograms for the notifications module.
+ *
+ * Recording is lock-free and allocation-free once a counter or method/outcome pair has been
+ * seen. {@link #snapshot()} returns an immutable copy suitable for shipping to telemetry.
+ *
+ * Counters are always kept. Per-method latencies are opt-in through
+ * {@link #setLatencyEnabled(boolean)}: timing a call costs two clock reads and a callback
+ * wrapper, which is noticeable on calls as cheap as a cancel.
+ */
+public final class LynxNotificationsMetrics {
+  public static final String OUTCOME_OK = "ok";
+
+  public static final String EVENTS_EMITTED = "events.emitted";
+  public static final String EVENTS_BUFFERED = "events.buffered";
+  public static final String EVENTS_DROPPED_NO_OBSERVER = "events.dropped.no_observer";
+  public static final String EVENTS_DROPPED_QUEUE_FULL = "events.dropped.queue_full";
+  public static final String EVENTS_OBSERVER_FAILURES = "events.observer_failures";
+
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, LatencyHistogram>> latencies = new ConcurrentHashMap<>();
+  private volatile boolean latencyEnabled;
+
+  /**
+   * Whether module method calls are timed; off by default. Calls already in flight when this
+   * changes are recorded according to the setting they started with.
+   */
+  public void setLatencyEnabled(boolean enabled) {
+    latencyEnabled = enabled;
+  }
+
+  public boolean isLatencyEnabled() {
+    return latencyEnabled;
+  }
+
+  public void increment(String counter) {
+    LongAdder adder = counters.get(counter);
+    if (adder == null) {
+      adder = counters.computeIfAbsent(counter, ignored -> new LongAdder());
+    }
+    adder.increment();
+  }
+
+  /**
+   * Records one call of {@code method} that finished with {@code outcome} (OUTCOME_OK or an
+   * error code) after {@code nanos}.
+   */
+  public void recordLatency(String method, String outcome, long nanos) {
+    Map<String, LatencyHistogram> byOutcome = latencies.get(method);
+    if (byOutcome == null) {
+      byOutcome = latencies.computeIfAbsent(method, ignored -> new ConcurrentHashMap<>());
+    }
+
+    String key = outcome == null ? "unknown" : outcome;
+    LatencyHistogram histogram = byOutcome.get(key);
+    if (histogram == null) {
+      histogram = byOutcome.computeIfAbsent(key, ignored -> new LatencyHistogram());
+    }
+    histogram.record(nanos);
+  }
+
+  public long getCounter(String counter) {
+    LongAdder adder = counters.get(counter);
+    return adder == null ? 0 : adder.sum();
+  }
+
+  public Snapshot snapshot() {
+    Map<String, Long> counterValues = new TreeMap<>();
+    for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+      counterValues.put(entry.getKey(), entry.getValue().sum());
+    }
+
+    List<LatencySnapshot> latencyValues = new ArrayList<>();
+    for (Map.Entry<String, Map<String, LatencyHistogram>> method : new TreeMap<>(latencies).entrySet()) {
+      for (Map.Entry<String, LatencyHistogram> outcome : new TreeMap<>(method.getValue()).entrySet()) {
+        LatencyHistogram histogram = outcome.getValue();
+        latencyValues.add(new LatencySnapshot(
+            method.getKey(),
+            outcome.getKey(),
+            histogram.bucketCounts(),
+            histogram.totalNanos(),
+            histogram.maxNanos()
+        ));
+      }
+    }
+
+    return new Snapshot(Collections.unmodifiableMap(counterValues), Collections.unmodifiableList(latencyValues));
+  }
+
+  public static final class Snapshot {
+    private final Map<String, Long> counters;
+    private final List<LatencySnapshot> latencies;
+
+    private Snapshot(Map<String, Long> counters, List<LatencySnapshot> latencies) {
+      this.counters = counters;
+      this.latencies = latencies;
+    }
+
+    public Map<String, Long> getCounters() {
+      return counters;
+    }
+
+    public List<LatencySnapshot> getLatencies() {
+      return latencies;
+    }
+
+    public LatencySnapshot getLatency(String method, String outcome) {
+      for (LatencySnapshot latency : latencies) {
+        if (latency.method.equals(method) && latency.outcome.equals(outcome)) {
+          return latency;
+        }
+      }
+      return null;
+    }
+
+    public Map<String, Object> toMap() {
+      List<Object> latencyMaps = new ArrayList<>(latencies.size());
+      for (LatencySnapshot latency : latencies) {
+        latencyMaps.add(latency.toMap());
+      }
+
+      List<Object> bounds = new ArrayList<>(LatencyHistogram.BUCKET_BOUNDS_MICROS.length);
+      for (long bound : LatencyHistogram.BUCKET_BOUNDS_MICROS) {
+        bounds.add(bound);
+      }
+
+      return CompactMap.of(
+          "counters", new LinkedHashMap<String, Object>(counters),
+          "latencies", latencyMaps,
+          "bucketBoundsMicros", bounds
+      );
+    }
+  }
+
+  public static final class LatencySnapshot {
+    private final String method;
+    private final String outcome;
+    private final long[] bucketCounts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    private LatencySnapshot(String method, String outcome, long[] bucketCounts, long totalNanos, long maxNanos) {
+      long total = 0;
+      for (long bucketCount : bucketCounts) {
+        total += bucketCount;
+      }
+      this.method = method;
+      this.outcome = outcome;
+      this.bucketCounts = bucketCounts;
+      this.count = total;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+    }
+
+    public String getMethod() {
+      return method;
+    }
+
+    public String getOutcome() {
+      return outcome;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getTotalMicros() {
+      return TimeUnit.NANOSECONDS.toMicros(totalNanos);
+    }
+
+    public long getMaxMicros() {
+      return TimeUnit.NANOSECONDS.toMicros(maxNanos);
+    }
+
+    /**
+     * Estimated latency, in microseconds, below which {@code percentile} (0..1) of calls fell.
+     */
+    public long getPercentileMicros(double percentile) {
+      return LatencyHistogram.percentileMicros(bucketCounts, percentile, getMaxMicros());
+    }
+
+    /**
+     * Counts per bucket; bucket i covers values up to the i-th bound in
+     * {@code bucketBoundsMicros}, and the last bucket is unbounded.
+     */
+    public long[] getBucketCounts() {
+      return bucketCounts.clone();
+    }
+
+    Map<String, Object> toMap() {
+      List<Object> buckets = new ArrayList<>(bucketCounts.length);
+      for (long bucketCount : bucketCounts) {
+        buckets.add(bucketCount);
+      }
+
+      Map<String, Object> map = new LinkedHashMap<>();
+      map.put("method", method);
+      map.put("outcome", outcome);
+      map.put("count", count);
+      map.put("totalMicros", getTotalMicros());
+      map.put("maxMicros", getMaxMicros());
+      map.put("p50Micros", getPercentileMicros(0.50));
+      map.put("p95Micros", getPercentileMicros(0.95));
+      map.put("p99Micros", getPercentileMicros(0.99));
+      map.put("buckets", buckets);
+      return map;
+    }
+  }
+}
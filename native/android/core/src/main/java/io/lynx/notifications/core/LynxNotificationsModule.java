@@ -1,7 +1,12 @@
 package io.lynx.notifications.core;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Bridge-ready implementation for LynxNotificationsModule.
@@ -9,62 +14,131 @@ import java.util.Map;
  * Hook MethodCallback and EventCallback into the Lynx bridge callback signatures in your host app.
  */
 public final class LynxNotificationsModule {
+  private static final Observer[] NO_OBSERVERS = new Observer[0];
+
   private final NotificationPermissionProvider permissionProvider;
   private final PushTokenProviderRegistry pushProviders;
   private final LocalNotificationScheduler scheduler;
+  private final LynxNotificationsEventDispatcher eventDispatcher;
+  private final EventReplayBuffer replayBuffer;
+  private final ProviderExecutor providerExecutor;
+  private final LynxNotificationsMetrics metrics = new LynxNotificationsMetrics();
+  private final Object observerLock = new Object();
+  /** Serializes observer registration, including replay; emitters never take it. */
+  private final Object registrationLock = new Object();
 
-  private EventCallback eventCallback;
-  private Map<String, Object> lastNotificationResponse;
+  private volatile Observer[] observers = NO_OBSERVERS;
+  private volatile Map<String, Object> lastNotificationResponse;
 
   public LynxNotificationsModule(
       NotificationPermissionProvider permissionProvider,
       PushTokenProviderRegistry pushProviders,
       LocalNotificationScheduler scheduler
+  ) {
+    this(permissionProvider, pushProviders, scheduler, null, new EventReplayBuffer());
+  }
+
+  /**
+   * @param eventDispatcher Delivers emitted events on its own thread so push SDK and receiver
+   *     threads never block on the bridge. Pass null to emit synchronously on the caller thread.
+   */
+  public LynxNotificationsModule(
+      NotificationPermissionProvider permissionProvider,
+      PushTokenProviderRegistry pushProviders,
+      LocalNotificationScheduler scheduler,
+      LynxNotificationsEventDispatcher eventDispatcher
+  ) {
+    this(permissionProvider, pushProviders, scheduler, eventDispatcher, new EventReplayBuffer());
+  }
+
+  /**
+   * @param eventDispatcher Delivers emitted events on its own thread, or null to emit synchronously.
+   * @param replayBuffer Holds events emitted before startObservingEvents (for example during cold
+   *     start) and replays them to the first observer. Pass null to drop them instead.
+   */
+  public LynxNotificationsModule(
+      NotificationPermissionProvider permissionProvider,
+      PushTokenProviderRegistry pushProviders,
+      LocalNotificationScheduler scheduler,
+      LynxNotificationsEventDispatcher eventDispatcher,
+      EventReplayBuffer replayBuffer
+  ) {
+    this(permissionProvider, pushProviders, scheduler, eventDispatcher, replayBuffer, ProviderExecutor.callerThread());
+  }
+
+  /**
+   * @param providerExecutor Where permission, push token and scheduler calls run; see
+   *     {@link ProviderExecutor#virtualThreads()} for JVM hosts on Java 21.
+   */
+  public LynxNotificationsModule(
+      NotificationPermissionProvider permissionProvider,
+      PushTokenProviderRegistry pushProviders,
+      LocalNotificationScheduler scheduler,
+      LynxNotificationsEventDispatcher eventDispatcher,
+      EventReplayBuffer replayBuffer,
+      ProviderExecutor providerExecutor
   ) {
     this.permissionProvider = permissionProvider;
     this.pushProviders = pushProviders;
     this.scheduler = scheduler;
+    this.eventDispatcher = eventDispatcher;
+    this.replayBuffer = replayBuffer;
+    this.providerExecutor = providerExecutor == null ? ProviderExecutor.callerThread() : providerExecutor;
+    if (eventDispatcher != null) {
+      eventDispatcher.attach(this::deliverEvent);
+    }
   }
 
-  public void getPermissions(MethodCallback callback) {
-    permissionProvider.getPermissions(new NotificationPermissionProvider.PermissionsCallback() {
-      @Override
-      public void onSuccess(NotificationPermissions permissions) {
-        callback.resolve(NativeResult.ok(permissions.toMap()));
-      }
+  public void getPermissions(MethodCallback resultCallback) {
+    MethodCallback callback = timed("getPermissions", resultCallback);
+    providerExecutor.execute(callback, call -> {
+      permissionProvider.getPermissions(new NotificationPermissionProvider.PermissionsCallback() {
+        @Override
+        public void onSuccess(NotificationPermissions permissions) {
+          call.resolve(NativeResult.ok(permissions.toMap()));
+        }
 
-      @Override
-      public void onError(NotificationError error) {
-        LynxNotificationsLogger.error(
-            "getPermissions failed with code=" + error.getCode() + " message=" + error.getMessage()
-        );
-        callback.resolve(NativeResult.error(error.getCode(), error.getMessage()));
-      }
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "getPermissions failed with code={} message={}",
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
     });
   }
 
-  public void requestPermissions(MethodCallback callback) {
-    permissionProvider.requestPermissions(new NotificationPermissionProvider.PermissionsCallback() {
-      @Override
-      public void onSuccess(NotificationPermissions permissions) {
-        LynxNotificationsLogger.debug("requestPermissions resolved.");
-        callback.resolve(NativeResult.ok(permissions.toMap()));
-      }
+  public void requestPermissions(MethodCallback resultCallback) {
+    MethodCallback callback = timed("requestPermissions", resultCallback);
+    providerExecutor.execute(callback, call -> {
+      permissionProvider.requestPermissions(new NotificationPermissionProvider.PermissionsCallback() {
+        @Override
+        public void onSuccess(NotificationPermissions permissions) {
+          LynxNotificationsLogger.debug("requestPermissions resolved.");
+          call.resolve(NativeResult.ok(permissions.toMap()));
+        }
 
-      @Override
-      public void onError(NotificationError error) {
-        LynxNotificationsLogger.error(
-            "requestPermissions failed with code=" + error.getCode() + " message=" + error.getMessage()
-        );
-        callback.resolve(NativeResult.error(error.getCode(), error.getMessage()));
-      }
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "requestPermissions failed with code={} message={}",
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
     });
   }
 
-  public void getPushToken(String provider, MethodCallback callback) {
+  public void getPushToken(String provider, MethodCallback resultCallback) {
+    MethodCallback callback = timed("getPushToken", resultCallback);
     PushTokenProvider tokenProvider = pushProviders.get(provider);
     if (tokenProvider == null) {
-      LynxNotificationsLogger.error("getPushToken failed: provider \"" + provider + "\" is not registered.");
+      LynxNotificationsLogger.error("getPushToken failed: provider \"{}\" is not registered.", provider);
       callback.resolve(NativeResult.error(
           "ERR_PROVIDER_UNCONFIGURED",
           "No push provider registered for " + provider + "."
@@ -72,73 +146,181 @@ public final class LynxNotificationsModule {
       return;
     }
 
-    tokenProvider.getToken(new PushTokenProvider.TokenCallback() {
-      @Override
-      public void onSuccess(PushToken token) {
-        LynxNotificationsLogger.debug("getPushToken succeeded for provider \"" + provider + "\".");
-        callback.resolve(NativeResult.ok(token.toMap()));
-      }
+    providerExecutor.execute(callback, call -> {
+      tokenProvider.getToken(new PushTokenProvider.TokenCallback() {
+        @Override
+        public void onSuccess(PushToken token) {
+          LynxNotificationsLogger.debug("getPushToken succeeded for provider \"{}\".", provider);
+          call.resolve(NativeResult.ok(token.toMap()));
+        }
 
-      @Override
-      public void onError(NotificationError error) {
-        LynxNotificationsLogger.error(
-            "getPushToken failed for provider \"" + provider + "\" with code="
-                + error.getCode() + " message=" + error.getMessage()
-        );
-        callback.resolve(NativeResult.error(error.getCode(), error.getMessage()));
-      }
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "getPushToken failed for provider \"{}\" with code={} message={}",
+              provider,
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
     });
   }
 
-  public void scheduleNotification(Map<String, Object> request, MethodCallback callback) {
-    scheduler.schedule(request, new LocalNotificationScheduler.ScheduleCallback() {
-      @Override
-      public void onSuccess(String id) {
-        LynxNotificationsLogger.debug("scheduleNotification succeeded with id=" + id);
-        callback.resolve(NativeResult.ok(id));
-      }
+  public void scheduleNotification(Map<String, Object> request, MethodCallback resultCallback) {
+    MethodCallback callback = timed("scheduleNotification", resultCallback);
+    providerExecutor.execute(callback, call -> {
+      scheduler.schedule(request, new LocalNotificationScheduler.ScheduleCallback() {
+        @Override
+        public void onSuccess(String id) {
+          LynxNotificationsLogger.debug("scheduleNotification succeeded with id={}", id);
+          call.resolve(NativeResult.ok(id));
+        }
 
-      @Override
-      public void onError(NotificationError error) {
-        LynxNotificationsLogger.error(
-            "scheduleNotification failed with code=" + error.getCode() + " message=" + error.getMessage()
-        );
-        callback.resolve(NativeResult.error(error.getCode(), error.getMessage()));
-      }
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "scheduleNotification failed with code={} message={}",
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
     });
   }
 
-  public void cancelScheduledNotification(String id, MethodCallback callback) {
-    scheduler.cancel(id, new LocalNotificationScheduler.VoidCallback() {
-      @Override
-      public void onSuccess() {
-        callback.resolve(NativeResult.ok(null));
-      }
+  public void cancelScheduledNotification(String id, MethodCallback resultCallback) {
+    MethodCallback callback = timed("cancelScheduledNotification", resultCallback);
+    providerExecutor.execute(callback, call -> {
+      scheduler.cancel(id, new LocalNotificationScheduler.VoidCallback() {
+        @Override
+        public void onSuccess() {
+          call.resolve(NativeResult.ok(null));
+        }
 
-      @Override
-      public void onError(NotificationError error) {
-        LynxNotificationsLogger.error(
-            "cancelScheduledNotification failed with code=" + error.getCode() + " message=" + error.getMessage()
-        );
-        callback.resolve(NativeResult.error(error.getCode(), error.getMessage()));
-      }
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "cancelScheduledNotification failed with code={} message={}",
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
     });
   }
 
-  public void cancelAllScheduledNotifications(MethodCallback callback) {
-    scheduler.cancelAll(new LocalNotificationScheduler.VoidCallback() {
-      @Override
-      public void onSuccess() {
-        callback.resolve(NativeResult.ok(null));
-      }
+  public void scheduleNotificationBatch(List<Map<String, Object>> requests, MethodCallback resultCallback) {
+    MethodCallback callback = timed("scheduleNotificationBatch", resultCallback);
+    providerExecutor.execute(callback, call -> {
+      scheduler.scheduleBatch(requests, new LocalNotificationScheduler.BatchCallback() {
+        @Override
+        public void onComplete(List<BatchItemResult> results) {
+          LynxNotificationsLogger.debug("scheduleNotificationBatch completed with {} items.", results.size());
+          call.resolve(NativeResult.ok(toBatchPayload(results)));
+        }
 
-      @Override
-      public void onError(NotificationError error) {
-        LynxNotificationsLogger.error(
-            "cancelAllScheduledNotifications failed with code=" + error.getCode() + " message=" + error.getMessage()
-        );
-        callback.resolve(NativeResult.error(error.getCode(), error.getMessage()));
-      }
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "scheduleNotificationBatch failed with code={} message={}",
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
+    });
+  }
+
+  public void cancelScheduledNotificationBatch(List<String> ids, MethodCallback resultCallback) {
+    MethodCallback callback = timed("cancelScheduledNotificationBatch", resultCallback);
+    providerExecutor.execute(callback, call -> {
+      scheduler.cancelBatch(ids, new LocalNotificationScheduler.BatchCallback() {
+        @Override
+        public void onComplete(List<BatchItemResult> results) {
+          call.resolve(NativeResult.ok(toBatchPayload(results)));
+        }
+
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "cancelScheduledNotificationBatch failed with code={} message={}",
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
+    });
+  }
+
+  public void cancelScheduledNotificationsByTag(String tag, MethodCallback resultCallback) {
+    MethodCallback callback = timed("cancelScheduledNotificationsByTag", resultCallback);
+    providerExecutor.execute(callback, call -> {
+      scheduler.cancelByTag(tag, new LocalNotificationScheduler.VoidCallback() {
+        @Override
+        public void onSuccess() {
+          call.resolve(NativeResult.ok(null));
+        }
+
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "cancelScheduledNotificationsByTag failed with code={} message={}",
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
+    });
+  }
+
+  public void getScheduledNotificationsByTag(String tag, MethodCallback resultCallback) {
+    MethodCallback callback = timed("getScheduledNotificationsByTag", resultCallback);
+    providerExecutor.execute(callback, call -> {
+      scheduler.getScheduledByTag(tag, new LocalNotificationScheduler.IdsCallback() {
+        @Override
+        public void onSuccess(List<String> ids) {
+          call.resolve(NativeResult.ok(ids));
+        }
+
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "getScheduledNotificationsByTag failed with code={} message={}",
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
+    });
+  }
+
+  public void cancelAllScheduledNotifications(MethodCallback resultCallback) {
+    MethodCallback callback = timed("cancelAllScheduledNotifications", resultCallback);
+    providerExecutor.execute(callback, call -> {
+      scheduler.cancelAll(new LocalNotificationScheduler.VoidCallback() {
+        @Override
+        public void onSuccess() {
+          call.resolve(NativeResult.ok(null));
+        }
+
+        @Override
+        public void onError(NotificationError error) {
+          LynxNotificationsLogger.error(
+              "cancelAllScheduledNotifications failed with code={} message={}",
+              error.getCode(),
+              error.getMessage()
+          );
+          call.resolve(NativeResult.error(error.getCode(), error.getMessage()));
+        }
+      });
     });
   }
 
@@ -146,66 +328,241 @@ public final class LynxNotificationsModule {
     callback.resolve(NativeResult.ok(lastNotificationResponse));
   }
 
-  public void startObservingEvents(EventCallback callback) {
-    eventCallback = callback;
-    LynxNotificationsLogger.debug("startObservingEvents registered.");
-    callback.emit(NativeResult.ok(null));
+  /**
+   * Resolves with method latency histograms, counters and event pipeline state.
+   */
+  public void getDiagnostics(MethodCallback callback) {
+    Map<String, Object> events = new LinkedHashMap<>();
+    events.put("observers", (long) observers.length);
+    if (eventDispatcher != null) {
+      events.put("queueDepth", (long) eventDispatcher.getQueueDepth());
+      events.put("queueCapacity", (long) eventDispatcher.getCapacity());
+      events.put("dispatcherDropped", eventDispatcher.getDroppedCount());
+      events.put("dispatcherCoalesced", eventDispatcher.getCoalescedCount());
+      events.put("dispatcherDelivered", eventDispatcher.getDeliveredCount());
+    }
+    if (replayBuffer != null) {
+      events.put("replayBuffered", (long) replayBuffer.size());
+      events.put("replayEvicted", replayBuffer.getEvictedCount());
+    }
+
+    callback.resolve(NativeResult.ok(CompactMap.of(
+        "metrics", metrics.snapshot().toMap(),
+        "events", events
+    )));
+  }
+
+  /**
+   * Cancels provider calls still in flight; they resolve with ERR_NOTIFICATIONS_UNAVAILABLE.
+   * The event dispatcher, if any, delivers what is queued and then stops its thread.
+   */
+  public void close() {
+    providerExecutor.close();
+    if (eventDispatcher != null) {
+      eventDispatcher.shutdown();
+    }
+  }
+
+  /**
+   * Live metrics registry; call {@code getMetrics().snapshot()} to export, and
+   * {@code getMetrics().setLatencyEnabled(true)} to time method calls.
+   */
+  public LynxNotificationsMetrics getMetrics() {
+    return metrics;
+  }
+
+  public Subscription startObservingEvents(EventCallback callback) {
+    return startObservingEvents(callback, null);
+  }
+
+  /**
+   * Registers an additional event observer.
+   *
+   * Observers are notified in registration order on the emitting (or dispatcher) thread. An
+   * observer that may block, such as an analytics uploader, should pass its own executor so it
+   * cannot delay the others; exceptions thrown by one observer never reach the rest.
+   *
+   * The first observer receives events buffered before it registered on the registering thread
+   * (or its executor), all of them before any live event: it only joins the live observer list
+   * once the buffer is empty. No callback runs while the observer list lock is held.
+   *
+   * @param executor Runs this observer's callbacks, or null to call it inline.
+   * @return Handle that unregisters only this observer.
+   */
+  public Subscription startObservingEvents(EventCallback callback, Executor executor) {
+    Observer observer = new Observer(callback, executor);
+    synchronized (registrationLock) {
+      List<EventReplayBuffer.Entry> replay = drainReplay();
+      LynxNotificationsLogger.debug("startObservingEvents registered.");
+      callback.emit(NativeResult.ok(null));
+
+      if (!replay.isEmpty()) {
+        LynxNotificationsLogger.debug("Replaying {} events buffered before observer registration.", replay.size());
+      }
+      while (true) {
+        for (EventReplayBuffer.Entry entry : replay) {
+          observer.deliver(entry.event);
+        }
+
+        // Events emitted while replaying were buffered too; publish only once none are left.
+        synchronized (observerLock) {
+          replay = drainReplay();
+          if (replay.isEmpty()) {
+            Observer[] current = observers;
+            Observer[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = observer;
+            observers = next;
+            break;
+          }
+        }
+      }
+    }
+    return observer;
+  }
+
+  private List<EventReplayBuffer.Entry> drainReplay() {
+    synchronized (observerLock) {
+      if (observers.length > 0 || replayBuffer == null) {
+        return Collections.emptyList();
+      }
+      return replayBuffer.drain();
+    }
   }
 
+  /**
+   * Unregisters every observer.
+   */
   public void stopObservingEvents(MethodCallback callback) {
-    eventCallback = null;
+    synchronized (observerLock) {
+      observers = NO_OBSERVERS;
+    }
     LynxNotificationsLogger.debug("stopObservingEvents completed.");
     callback.resolve(NativeResult.ok(null));
   }
 
-  public void emitNotificationReceived(Map<String, Object> notification) {
-    if (eventCallback == null) {
-      LynxNotificationsLogger.debug("notification_received dropped because observer is not registered.");
-      return;
-    }
+  public int getObserverCount() {
+    return observers.length;
+  }
+
+  private void removeObserver(Observer observer) {
+    synchronized (observerLock) {
+      Observer[] current = observers;
+      for (int index = 0; index < current.length; index++) {
+        if (current[index] != observer) {
+          continue;
+        }
 
-    Map<String, Object> event = new HashMap<>();
-    event.put("type", "notification_received");
-    event.put("notification", notification);
-    try {
-      eventCallback.emit(event);
-    } catch (Throwable throwable) {
-      LynxNotificationsLogger.error("Failed to emit notification_received event.", throwable);
+        if (current.length == 1) {
+          observers = NO_OBSERVERS;
+          return;
+        }
+
+        Observer[] next = new Observer[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+        observers = next;
+        return;
+      }
     }
   }
 
+  public void emitNotificationReceived(Map<String, Object> notification) {
+    Map<String, Object> event = CompactMap.of("type", "notification_received", "notification", notification);
+    emit("notification_received", notificationIdOf(notification), event);
+  }
+
   public void emitNotificationResponse(Map<String, Object> response) {
     lastNotificationResponse = response;
 
-    if (eventCallback == null) {
-      LynxNotificationsLogger.debug("notification_response dropped because observer is not registered.");
+    Map<String, Object> event = CompactMap.of("type", "notification_response", "response", response);
+    emit("notification_response", responseNotificationIdOf(response), event);
+  }
+
+  public void emitTokenRefreshed(PushToken token) {
+    pushProviders.onTokenRefreshed(token);
+    Map<String, Object> event = CompactMap.of("type", "token_refreshed", "token", token.toMap());
+    emit("token_refreshed", null, event);
+  }
+
+  private void emit(String type, Object notificationId, Map<String, Object> event) {
+    metrics.increment(LynxNotificationsMetrics.EVENTS_EMITTED);
+    if (observers.length == 0 && holdUntilObserved(type, notificationId, event)) {
       return;
     }
+    publish(type, notificationId, event);
+  }
+
+  /**
+   * Buffers the event if no observer is registered; returns false if one registered meanwhile.
+   */
+  private boolean holdUntilObserved(String type, Object notificationId, Map<String, Object> event) {
+    synchronized (observerLock) {
+      if (observers.length > 0) {
+        return false;
+      }
 
-    Map<String, Object> event = new HashMap<>();
-    event.put("type", "notification_response");
-    event.put("response", response);
-    try {
-      eventCallback.emit(event);
-    } catch (Throwable throwable) {
-      LynxNotificationsLogger.error("Failed to emit notification_response event.", throwable);
+      if (replayBuffer == null) {
+        metrics.increment(LynxNotificationsMetrics.EVENTS_DROPPED_NO_OBSERVER);
+        LynxNotificationsLogger.debug("{} dropped because observer is not registered.", type);
+      } else {
+        replayBuffer.add(type, notificationId, event);
+        metrics.increment(LynxNotificationsMetrics.EVENTS_BUFFERED);
+        LynxNotificationsLogger.debug("{} buffered until an observer is registered.", type);
+      }
+      return true;
     }
   }
 
-  public void emitTokenRefreshed(PushToken token) {
-    if (eventCallback == null) {
-      LynxNotificationsLogger.debug("token_refreshed dropped because observer is not registered.");
+  private void publish(String type, Object notificationId, Map<String, Object> event) {
+    if (eventDispatcher == null) {
+      deliverEvent(event);
       return;
     }
 
-    Map<String, Object> event = new HashMap<>();
-    event.put("type", "token_refreshed");
-    event.put("token", token.toMap());
-    try {
-      eventCallback.emit(event);
-    } catch (Throwable throwable) {
-      LynxNotificationsLogger.error("Failed to emit token_refreshed event.", throwable);
+    if (!eventDispatcher.dispatch(type, notificationId, event)) {
+      metrics.increment(LynxNotificationsMetrics.EVENTS_DROPPED_QUEUE_FULL);
+      LynxNotificationsLogger.debug("{} dropped because the event queue is full.", type);
+    }
+  }
+
+  private void deliverEvent(Map<String, Object> event) {
+    Observer[] snapshot = observers;
+    if (snapshot.length == 0) {
+      metrics.increment(LynxNotificationsMetrics.EVENTS_DROPPED_NO_OBSERVER);
+      LynxNotificationsLogger.debug("{} dropped because observer is not registered.", event.get("type"));
+      return;
+    }
+
+    for (Observer observer : snapshot) {
+      observer.deliver(event);
+    }
+  }
+
+  private MethodCallback timed(String method, MethodCallback callback) {
+    return metrics.isLatencyEnabled() ? new TimedCallback(metrics, method, callback) : callback;
+  }
+
+  private static Object notificationIdOf(Map<String, Object> notification) {
+    return notification == null ? null : notification.get("id");
+  }
+
+  private static Object responseNotificationIdOf(Map<String, Object> response) {
+    if (response == null) {
+      return null;
+    }
+    Object notification = response.get("notification");
+    if (!(notification instanceof Map)) {
+      return null;
+    }
+    return ((Map<?, ?>) notification).get("id");
+  }
+
+  private static List<Map<String, Object>> toBatchPayload(List<BatchItemResult> results) {
+    List<Map<String, Object>> items = new ArrayList<>(results.size());
+    for (BatchItemResult result : results) {
+      items.add(result.toMap());
     }
+    return items;
   }
 
   public interface MethodCallback {
@@ -216,8 +573,97 @@ public final class LynxNotificationsModule {
     void emit(Map<String, Object> payload);
   }
 
+  public interface Subscription {
+    void remove();
+  }
+
+  /**
+   * Records the latency and outcome code of one module method call when it resolves.
+   */
+  private static final class TimedCallback implements MethodCallback {
+    private final LynxNotificationsMetrics metrics;
+    private final String method;
+    private final MethodCallback delegate;
+    private final long startedAtNanos = System.nanoTime();
+
+    private TimedCallback(LynxNotificationsMetrics metrics, String method, MethodCallback delegate) {
+      this.metrics = metrics;
+      this.method = method;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void resolve(Map<String, Object> payload) {
+      metrics.recordLatency(method, outcomeOf(payload), System.nanoTime() - startedAtNanos);
+      delegate.resolve(payload);
+    }
+
+    private static String outcomeOf(Map<String, Object> payload) {
+      if (payload == null) {
+        return null;
+      }
+      if (Boolean.TRUE.equals(payload.get("ok"))) {
+        return LynxNotificationsMetrics.OUTCOME_OK;
+      }
+      Object error = payload.get("error");
+      if (error instanceof Map) {
+        Object code = ((Map<?, ?>) error).get("code");
+        if (code instanceof String) {
+          return (String) code;
+        }
+      }
+      return null;
+    }
+  }
+
+  private final class Observer implements Subscription {
+    private final EventCallback callback;
+    private final Executor executor;
+
+    private Observer(EventCallback callback, Executor executor) {
+      this.callback = callback;
+      this.executor = executor;
+    }
+
+    private void deliver(Map<String, Object> event) {
+      if (executor == null) {
+        emitSafely(event);
+        return;
+      }
+
+      try {
+        executor.execute(() -> emitSafely(event));
+      } catch (Throwable throwable) {
+        metrics.increment(LynxNotificationsMetrics.EVENTS_OBSERVER_FAILURES);
+        LynxNotificationsLogger.error("Observer executor rejected {} event.", event.get("type"), throwable);
+      }
+    }
+
+    private void emitSafely(Map<String, Object> event) {
+      try {
+        callback.emit(event);
+      } catch (Throwable throwable) {
+        metrics.increment(LynxNotificationsMetrics.EVENTS_OBSERVER_FAILURES);
+        LynxNotificationsLogger.error("Failed to emit {} event.", event.get("type"), throwable);
+      }
+    }
+
+    @Override
+    public void remove() {
+      removeObserver(this);
+    }
+  }
+
   public static LynxNotificationsModule createDefault(PushTokenProvider fcmProvider) {
-    PushTokenProviderRegistry providers = new PushTokenProviderRegistry();
+    return createDefault(fcmProvider, PushTokenProviderRegistry.DEFAULT_TOKEN_TTL_MILLIS);
+  }
+
+  /**
+   * @param tokenTtlMillis How long fetched push tokens are served from memory; see
+   *     {@link PushTokenProviderRegistry#PushTokenProviderRegistry(long)}.
+   */
+  public static LynxNotificationsModule createDefault(PushTokenProvider fcmProvider, long tokenTtlMillis) {
+    PushTokenProviderRegistry providers = new PushTokenProviderRegistry(tokenTtlMillis);
     providers.register("fcm", fcmProvider);
 
     return new LynxNotificationsModule(
@@ -0,0 +1,111 @@
+package io.lynx.notifications.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default {@link NotificationIdAllocator}: ids are {@code notification-<n>} for an increasing
+ * counter, and the request code is the low 32 bits of {@code n}.
+ *
+ * Codes therefore stay unique until four billion ids have been issued. With a state file the
+ * counter survives restarts: the allocator reserves blocks of {@value #BLOCK_SIZE} ids and
+ * writes only the end of the current block, so issuing an id is one atomic increment and a
+ * restart skips at most one unused block. Ids that do not follow the pattern, such as those
+ * issued by earlier releases, fall back to {@link String#hashCode()}.
+ */
+public final class MonotonicNotificationIdAllocator implements NotificationIdAllocator {
+  static final String PREFIX = "notification-";
+  static final int BLOCK_SIZE = 1024;
+
+  private final File stateFile;
+  private final AtomicLong counter;
+  private volatile long reservedUntil;
+
+  /**
+   * In-memory counter starting at 1, for schedulers that do not outlive the process.
+   */
+  public MonotonicNotificationIdAllocator() {
+    this.stateFile = null;
+    this.counter = new AtomicLong();
+    this.reservedUntil = Long.MAX_VALUE;
+  }
+
+  /**
+   * Counter persisted in {@code stateFile}, continuing after the last reserved block.
+   */
+  public MonotonicNotificationIdAllocator(File stateFile) {
+    this.stateFile = stateFile;
+    long start = readReservation(stateFile);
+    this.counter = new AtomicLong(start);
+    this.reservedUntil = start;
+  }
+
+  @Override
+  public String nextId() {
+    long value = counter.incrementAndGet();
+    if (value > reservedUntil) {
+      reserve(value);
+    }
+    return PREFIX + value;
+  }
+
+  @Override
+  public int requestCodeFor(String id) {
+    if (id.length() > PREFIX.length() && id.startsWith(PREFIX)) {
+      long value = 0;
+      for (int index = PREFIX.length(); index < id.length(); index++) {
+        char digit = id.charAt(index);
+        if (digit < '0' || digit > '9' || index - PREFIX.length() >= 19) {
+          return id.hashCode();
+        }
+        value = value * 10 + (digit - '0');
+      }
+      return (int) value;
+    }
+    return id.hashCode();
+  }
+
+  private synchronized void reserve(long value) {
+    if (value <= reservedUntil) {
+      return;
+    }
+
+    long next = value + BLOCK_SIZE - 1;
+    File parent = stateFile.getParentFile();
+    if (parent != null && !parent.isDirectory()) {
+      parent.mkdirs();
+    }
+    File temp = new File(stateFile.getPath() + ".tmp");
+    try (FileOutputStream fileOut = new FileOutputStream(temp);
+         DataOutputStream out = new DataOutputStream(fileOut)) {
+      out.writeLong(next);
+      out.flush();
+      fileOut.getFD().sync();
+    } catch (IOException exception) {
+      LynxNotificationsLogger.error("Failed to persist notification id reservation.", exception);
+    }
+    if (!temp.renameTo(stateFile)) {
+      LynxNotificationsLogger.error("Failed to replace notification id state file {}", stateFile);
+    }
+    reservedUntil = next;
+  }
+
+  private static long readReservation(File stateFile) {
+    if (!stateFile.isFile()) {
+      return 0;
+    }
+
+    try (DataInputStream in = new DataInputStream(new FileInputStream(stateFile))) {
+      return Math.max(0, in.readLong());
+    } catch (IOException exception) {
+      // Ids already issued are far below the wall clock, so resuming from it stays ahead of them.
+      LynxNotificationsLogger.error("Failed to read notification id state; resuming from the clock.", exception);
+      return System.currentTimeMillis();
+    }
+  }
+}
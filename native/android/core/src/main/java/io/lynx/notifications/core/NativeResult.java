@@ -1,26 +1,28 @@
 package io.lynx.notifications.core;
 
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Builds {ok,data} / {ok,error} result envelopes.
+ *
+ * Envelopes are immutable CompactMaps; ok(null) is a shared instance.
+ */
 public final class NativeResult {
+  private static final Map<String, Object> OK_EMPTY = CompactMap.of("ok", Boolean.TRUE, "data", null);
+
   private NativeResult() {}
 
   public static Map<String, Object> ok(Object data) {
-    Map<String, Object> envelope = new HashMap<>();
-    envelope.put("ok", true);
-    envelope.put("data", data);
-    return envelope;
+    if (data == null) {
+      return OK_EMPTY;
+    }
+    return CompactMap.of("ok", Boolean.TRUE, "data", data);
   }
 
   public static Map<String, Object> error(String code, String message) {
-    Map<String, Object> error = new HashMap<>();
-    error.put("code", code);
-    error.put("message", message);
-
-    Map<String, Object> envelope = new HashMap<>();
-    envelope.put("ok", false);
-    envelope.put("error", error);
-    return envelope;
+    return CompactMap.of(
+        "ok", Boolean.FALSE,
+        "error", CompactMap.of("code", code, "message", message)
+    );
   }
 }
@@ -1,14 +1,18 @@
 package io.lynx.notifications.core;
 
 public final class NoopPermissionProvider implements NotificationPermissionProvider {
+  private static final NotificationPermissions UNDETERMINED =
+      new NotificationPermissions("undetermined", false, true);
+  private static final NotificationPermissions GRANTED = new NotificationPermissions("granted", true, true);
+
   @Override
   public void getPermissions(PermissionsCallback callback) {
-    callback.onSuccess(new NotificationPermissions("undetermined", false, true));
+    callback.onSuccess(UNDETERMINED);
   }
 
   @Override
   public void requestPermissions(PermissionsCallback callback) {
     // Template default. Replace with Android runtime permission flow when integrating.
-    callback.onSuccess(new NotificationPermissions("granted", true, true));
+    callback.onSuccess(GRANTED);
   }
 }
@@ -0,0 +1,178 @@
+package io.lynx.notifications.core;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded index that maps repeated schedule requests to the id they were first scheduled as.
+ *
+ * A request with an "idempotencyKey" matches an earlier request with the same key for as long as
+ * that id is indexed: until it is cancelled or evicted, and only in this process. Schedulers
+ * re-index keys of notifications still in their store after a restart, not of delivered ones, so
+ * a retry after delivery is deduplicated only if it reaches the same process. Requests without a
+ * key fall back to matching an identical request map scheduled within the content window, which
+ * catches bridge retries that reuse the payload. Lookups and updates are O(1); once more than
+ * {@code capacity} keys are indexed the oldest is evicted.
+ *
+ * Every scheduler defaults to {@link #defaults()}: {@value #DEFAULT_CAPACITY} keys and a
+ * {@value #DEFAULT_CONTENT_WINDOW_MILLIS} ms content window. A request's content key is built
+ * once and kept on the parsed {@link NotificationRequest}, so {@link #find} and {@link #record}
+ * share it.
+ */
+public final class NotificationDeduplicator {
+  public static final int DEFAULT_CAPACITY = 1024;
+  public static final long DEFAULT_CONTENT_WINDOW_MILLIS = 30_000;
+
+  private final int capacity;
+  private final long contentWindowMillis;
+  private final LinkedHashMap<Object, Binding> bindings = new LinkedHashMap<>();
+  private final Map<String, Object> keyById = new HashMap<>();
+
+  /**
+   * @param capacity Maximum number of indexed keys.
+   * @param contentWindowMillis How long an identical request without a key is treated as a
+   *     retry, or 0 to deduplicate by idempotency key only.
+   */
+  public NotificationDeduplicator(int capacity, long contentWindowMillis) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Deduplication capacity must be > 0.");
+    }
+    if (contentWindowMillis < 0) {
+      throw new IllegalArgumentException("Content window must be >= 0.");
+    }
+
+    this.capacity = capacity;
+    this.contentWindowMillis = contentWindowMillis;
+  }
+
+  /**
+   * The default for every scheduler: idempotency keys, then identical requests within
+   * {@link #DEFAULT_CONTENT_WINDOW_MILLIS}.
+   */
+  public static NotificationDeduplicator defaults() {
+    return new NotificationDeduplicator(DEFAULT_CAPACITY, DEFAULT_CONTENT_WINDOW_MILLIS);
+  }
+
+  /**
+   * Deduplicates by idempotency key only.
+   */
+  public static NotificationDeduplicator keysOnly() {
+    return new NotificationDeduplicator(DEFAULT_CAPACITY, 0);
+  }
+
+  /**
+   * Returns the id an equivalent request was scheduled as, or null.
+   */
+  public synchronized String find(NotificationRequest request, long now) {
+    Object key = keyOf(request);
+    if (key == null) {
+      return null;
+    }
+
+    Binding binding = bindings.get(key);
+    if (binding == null) {
+      return null;
+    }
+    if (key instanceof ContentKey && now - binding.recordedAtMillis > contentWindowMillis) {
+      unbind(key, binding.id);
+      return null;
+    }
+    return binding.id;
+  }
+
+  /**
+   * Indexes {@code id} for the request. If a concurrent equivalent request was recorded first,
+   * returns its id instead and leaves the index unchanged; the caller should then drop
+   * {@code id}.
+   */
+  public synchronized String record(NotificationRequest request, String id, long now) {
+    Object key = keyOf(request);
+    if (key == null) {
+      return id;
+    }
+
+    Binding existing = bindings.get(key);
+    if (existing != null
+        && !(key instanceof ContentKey && now - existing.recordedAtMillis > contentWindowMillis)) {
+      return existing.id;
+    }
+    if (existing != null) {
+      unbind(key, existing.id);
+    }
+
+    bindings.put(key, new Binding(id, now));
+    keyById.put(id, key);
+    if (bindings.size() > capacity) {
+      Map.Entry<Object, Binding> eldest = bindings.entrySet().iterator().next();
+      unbind(eldest.getKey(), eldest.getValue().id);
+    }
+    return id;
+  }
+
+  public synchronized void forget(String id) {
+    Object key = keyById.remove(id);
+    if (key != null) {
+      bindings.remove(key);
+    }
+  }
+
+  public synchronized void clear() {
+    bindings.clear();
+    keyById.clear();
+  }
+
+  public synchronized int size() {
+    return bindings.size();
+  }
+
+  private Object keyOf(NotificationRequest request) {
+    String idempotencyKey = request.getIdempotencyKey();
+    if (idempotencyKey != null) {
+      return idempotencyKey;
+    }
+    return contentWindowMillis > 0 ? request.contentKey() : null;
+  }
+
+  private void unbind(Object key, String id) {
+    bindings.remove(key);
+    keyById.remove(id);
+  }
+
+  private static final class Binding {
+    private final String id;
+    private final long recordedAtMillis;
+
+    private Binding(String id, long recordedAtMillis) {
+      this.id = id;
+      this.recordedAtMillis = recordedAtMillis;
+    }
+  }
+
+  /**
+   * Whole request map as a key. The map is copied first, so a caller mutating its request later
+   * cannot change the key's hash while it is indexed. The hash is computed once; equal hashes are
+   * confirmed with {@link Map#equals(Object)}, so colliding requests are never merged.
+   */
+  static final class ContentKey {
+    private final Map<String, Object> request;
+    private final int hash;
+
+    ContentKey(Map<String, Object> request) {
+      this.request = NotificationValueCodec.immutableCopyOf(request);
+      this.hash = this.request.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof ContentKey
+          && ((ContentKey) other).hash == hash
+          && ((ContentKey) other).request.equals(request);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package io.lynx.notifications.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Decides which notifications of a burst are folded under a group summary.
+ *
+ * Notifications delivered together (a coalesced alarm slot, for example) are grouped by their
+ * request's "groupKey", or {@link #DEFAULT_GROUP_KEY} when they have none. A group with more
+ * than {@code threshold} members is summarized: the platform posts its members as children of
+ * one summary notification that alerts once. Smaller groups are posted as usual.
+ */
+public final class NotificationGroupingPolicy {
+  public static final int DEFAULT_THRESHOLD = 4;
+  public static final String DEFAULT_GROUP_KEY = "lynx_notifications";
+
+  private static final NotificationGroupingPolicy DISABLED = new NotificationGroupingPolicy(Integer.MAX_VALUE);
+
+  private final int threshold;
+
+  /**
+   * @param threshold Largest group posted without a summary.
+   */
+  public NotificationGroupingPolicy(int threshold) {
+    if (threshold < 1) {
+      throw new IllegalArgumentException("Grouping threshold must be >= 1.");
+    }
+    this.threshold = threshold;
+  }
+
+  /**
+   * Policy that never summarizes.
+   */
+  public static NotificationGroupingPolicy disabled() {
+    return DISABLED;
+  }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+  public String groupKeyOf(NotificationRequest request) {
+    String key = request.getGroupKey();
+    return key != null ? key : DEFAULT_GROUP_KEY;
+  }
+
+  /**
+   * Splits a burst into groups, in order of each group's first member. Members keep their
+   * burst order.
+   */
+  public <T> List<Group<T>> group(List<T> burst, Function<? super T, NotificationRequest> requestOf) {
+    Map<String, List<T>> membersByKey = new LinkedHashMap<>();
+    for (T item : burst) {
+      membersByKey.computeIfAbsent(groupKeyOf(requestOf.apply(item)), key -> new ArrayList<>()).add(item);
+    }
+
+    List<Group<T>> groups = new ArrayList<>(membersByKey.size());
+    for (Map.Entry<String, List<T>> entry : membersByKey.entrySet()) {
+      List<T> members = entry.getValue();
+      groups.add(new Group<>(entry.getKey(), Collections.unmodifiableList(members), members.size() > threshold));
+    }
+    return groups;
+  }
+
+  public static final class Group<T> {
+    private final String key;
+    private final List<T> members;
+    private final boolean summarized;
+
+    private Group(String key, List<T> members, boolean summarized) {
+      this.key = key;
+      this.members = members;
+      this.summarized = summarized;
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    public List<T> getMembers() {
+      return members;
+    }
+
+    /**
+     * Whether the group is larger than the threshold and should be posted under a summary.
+     */
+    public boolean isSummarized() {
+      return summarized;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package io.lynx.notifications.core;
+
+/**
+ * Hands out scheduled notification ids and the int codes platform APIs key them by.
+ *
+ * Request codes back PendingIntent request codes and notification ids on Android, so two ids
+ * that are scheduled at the same time must never map to the same code.
+ */
+public interface NotificationIdAllocator {
+  String nextId();
+
+  /**
+   * Stable int code for {@code id}, including ids this allocator did not issue.
+   */
+  int requestCodeFor(String id);
+}
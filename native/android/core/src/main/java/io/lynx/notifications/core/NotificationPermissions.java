@@ -1,12 +1,12 @@
 package io.lynx.notifications.core;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public final class NotificationPermissions {
   private final String status;
   private final boolean granted;
   private final boolean canAskAgain;
+  private Map<String, Object> map;
 
   public NotificationPermissions(String status, boolean granted, boolean canAskAgain) {
     this.status = status;
@@ -14,11 +14,15 @@ public final class NotificationPermissions {
     this.canAskAgain = canAskAgain;
   }
 
+  /**
+   * Returns an immutable {status,granted,canAskAgain} map, built once per snapshot.
+   */
   public Map<String, Object> toMap() {
-    Map<String, Object> map = new HashMap<>();
-    map.put("status", status);
-    map.put("granted", granted);
-    map.put("canAskAgain", canAskAgain);
-    return map;
+    Map<String, Object> result = map;
+    if (result == null) {
+      result = CompactMap.of("status", status, "granted", granted, "canAskAgain", canAskAgain);
+      map = result;
+    }
+    return result;
   }
 }
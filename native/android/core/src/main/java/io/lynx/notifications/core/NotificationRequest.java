@@ -0,0 +1,273 @@
+package io.lynx.notifications.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, validated view of a schedule request.
+ *
+ * Schedulers parse each bridge request once with {@link #parse(Map)} and read typed fields
+ * afterwards. The source map is kept as-is for persistence, so stored requests round-trip
+ * through the same parser.
+ */
+public final class NotificationRequest {
+  /**
+   * How closely delivery must follow the trigger time. Inexact requests let the platform batch
+   * them with other work inside a flex window.
+   */
+  public enum Precision {
+    EXACT,
+    INEXACT
+  }
+
+  private final Map<String, Object> source;
+  private final String title;
+  private final String subtitle;
+  private final String body;
+  private final int badge;
+  private final String sound;
+  private final Map<String, Object> data;
+  private final List<String> tags;
+  private final String idempotencyKey;
+  private final String groupKey;
+  private final Precision precision;
+  private final NotificationTrigger trigger;
+  private NotificationDeduplicator.ContentKey contentKey;
+
+  private NotificationRequest(
+      Map<String, Object> source,
+      String title,
+      String subtitle,
+      String body,
+      int badge,
+      String sound,
+      Map<String, Object> data,
+      List<String> tags,
+      String idempotencyKey,
+      String groupKey,
+      Precision precision,
+      NotificationTrigger trigger
+  ) {
+    this.source = source;
+    this.title = title;
+    this.subtitle = subtitle;
+    this.body = body;
+    this.badge = badge;
+    this.sound = sound;
+    this.data = data;
+    this.tags = tags;
+    this.idempotencyKey = idempotencyKey;
+    this.groupKey = groupKey;
+    this.precision = precision;
+    this.trigger = trigger;
+  }
+
+  /**
+   * Validates the request shape (trigger and tags) and extracts the content fields. Time-based
+   * checks, such as a date trigger being in the future, happen in
+   * {@link NotificationTrigger#firstTriggerAt(long)}.
+   */
+  public static NotificationRequest parse(Map<String, Object> request) throws NotificationError {
+    if (request == null) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification request must be an object.");
+    }
+
+    NotificationTrigger trigger = NotificationTrigger.parse(request.get("trigger"));
+    List<String> tags = NotificationTagIndex.tagsOf(request);
+    if (!tags.isEmpty()) {
+      tags = Collections.unmodifiableList(tags);
+    }
+
+    Object idempotencyKey = request.get("idempotencyKey");
+    if (idempotencyKey != null && (!(idempotencyKey instanceof String) || ((String) idempotencyKey).isEmpty())) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification idempotencyKey must be a non-empty string.");
+    }
+
+    Object groupKey = request.get("groupKey");
+    if (groupKey != null && (!(groupKey instanceof String) || ((String) groupKey).isEmpty())) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification groupKey must be a non-empty string.");
+    }
+
+    Object precisionValue = request.get("precision");
+    Precision precision;
+    if (precisionValue == null || "exact".equals(precisionValue)) {
+      precision = Precision.EXACT;
+    } else if ("inexact".equals(precisionValue)) {
+      precision = Precision.INEXACT;
+    } else {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification precision must be \"exact\" or \"inexact\".");
+    }
+
+    String title = null;
+    String subtitle = null;
+    String body = null;
+    int badge = -1;
+    String sound = null;
+    Map<String, Object> data = null;
+    Object contentValue = request.get("content");
+    if (contentValue instanceof Map) {
+      Map<?, ?> content = (Map<?, ?>) contentValue;
+      title = stringOrNull(content.get("title"));
+      subtitle = stringOrNull(content.get("subtitle"));
+      body = stringOrNull(content.get("body"));
+      sound = stringOrNull(content.get("sound"));
+
+      Object badgeValue = content.get("badge");
+      if (badgeValue instanceof Number) {
+        badge = ((Number) badgeValue).intValue();
+      }
+
+      Object dataValue = content.get("data");
+      if (dataValue instanceof Map) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> dataMap = (Map<String, Object>) dataValue;
+        if (!isJsonValue(dataMap)) {
+          throw new NotificationError(
+              "ERR_INVALID_ARGUMENT",
+              "Notification content.data must be JSON-serializable."
+          );
+        }
+        data = Collections.unmodifiableMap(dataMap);
+      }
+    }
+
+    return new NotificationRequest(
+        request,
+        title,
+        subtitle,
+        body,
+        badge,
+        sound,
+        data,
+        tags,
+        (String) idempotencyKey,
+        (String) groupKey,
+        precision,
+        trigger
+    );
+  }
+
+  /**
+   * The map this request was parsed from, as passed over the bridge.
+   */
+  public Map<String, Object> getSource() {
+    return source;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getSubtitle() {
+    return subtitle;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  /**
+   * Badge count, or -1 when the request does not set one.
+   */
+  public int getBadge() {
+    return badge;
+  }
+
+  public String getSound() {
+    return sound;
+  }
+
+  public boolean usesDefaultSound() {
+    return "default".equals(sound);
+  }
+
+  /**
+   * Custom payload from content.data, or null.
+   */
+  public Map<String, Object> getData() {
+    return data;
+  }
+
+  public List<String> getTags() {
+    return tags;
+  }
+
+  /**
+   * Caller-chosen key that identifies retries of the same request (see
+   * {@link NotificationDeduplicator}), or null.
+   */
+  public String getIdempotencyKey() {
+    return idempotencyKey;
+  }
+
+  /**
+   * Content key of this request for {@link NotificationDeduplicator}, copied and hashed on first
+   * use. Racing first uses may each build one; the keys are equal.
+   */
+  NotificationDeduplicator.ContentKey contentKey() {
+    NotificationDeduplicator.ContentKey key = contentKey;
+    if (key == null) {
+      key = new NotificationDeduplicator.ContentKey(source);
+      contentKey = key;
+    }
+    return key;
+  }
+
+  /**
+   * Key of the group the notification is posted under when it arrives in a burst (see
+   * {@link NotificationGroupingPolicy}), or null for the default group.
+   */
+  public String getGroupKey() {
+    return groupKey;
+  }
+
+  /**
+   * Requested delivery precision; {@link Precision#EXACT} when the request does not set one.
+   */
+  public Precision getPrecision() {
+    return precision;
+  }
+
+  public NotificationTrigger getTrigger() {
+    return trigger;
+  }
+
+  /**
+   * Whether {@code value} is made only of values the bridge and the stores can encode: null,
+   * booleans, finite numbers, strings, lists and string-keyed maps.
+   */
+  private static boolean isJsonValue(Object value) {
+    if (value == null || value instanceof Boolean || value instanceof String) {
+      return true;
+    }
+    if (value instanceof Double || value instanceof Float) {
+      double number = ((Number) value).doubleValue();
+      return !Double.isNaN(number) && !Double.isInfinite(number);
+    }
+    if (value instanceof Number) {
+      return true;
+    }
+    if (value instanceof List) {
+      for (Object item : (List<?>) value) {
+        if (!isJsonValue(item)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (value instanceof Map) {
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        if (!(entry.getKey() instanceof String) || !isJsonValue(entry.getValue())) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private static String stringOrNull(Object value) {
+    return value instanceof String ? (String) value : null;
+  }
+}
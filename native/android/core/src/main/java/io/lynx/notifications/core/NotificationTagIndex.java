@@ -0,0 +1,89 @@
+package io.lynx.notifications.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Secondary index from request tags to scheduled notification ids.
+ *
+ * Lookups and removals touch only the ids of one tag, so group operations do not scan
+ * the full schedule.
+ */
+public final class NotificationTagIndex {
+  private final Map<String, Set<String>> idsByTag = new HashMap<>();
+  private final Map<String, List<String>> tagsById = new HashMap<>();
+
+  /**
+   * Reads the optional "tags" array from a schedule request.
+   */
+  public static List<String> tagsOf(Map<String, Object> request) throws NotificationError {
+    Object tagsValue = request.get("tags");
+    if (tagsValue == null) {
+      return Collections.emptyList();
+    }
+
+    if (!(tagsValue instanceof List)) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification tags must be an array of strings.");
+    }
+
+    List<?> values = (List<?>) tagsValue;
+    List<String> tags = new ArrayList<>(values.size());
+    for (Object value : values) {
+      if (!(value instanceof String) || ((String) value).isEmpty()) {
+        throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification tags must be non-empty strings.");
+      }
+      if (!tags.contains(value)) {
+        tags.add((String) value);
+      }
+    }
+    return tags;
+  }
+
+  public synchronized void add(String id, Collection<String> tags) {
+    if (tags.isEmpty()) {
+      return;
+    }
+
+    tagsById.put(id, new ArrayList<>(tags));
+    for (String tag : tags) {
+      idsByTag.computeIfAbsent(tag, key -> new LinkedHashSet<>()).add(id);
+    }
+  }
+
+  public synchronized void remove(String id) {
+    List<String> tags = tagsById.remove(id);
+    if (tags == null) {
+      return;
+    }
+
+    for (String tag : tags) {
+      Set<String> ids = idsByTag.get(tag);
+      if (ids == null) {
+        continue;
+      }
+      ids.remove(id);
+      if (ids.isEmpty()) {
+        idsByTag.remove(tag);
+      }
+    }
+  }
+
+  public synchronized List<String> idsForTag(String tag) {
+    Set<String> ids = idsByTag.get(tag);
+    if (ids == null) {
+      return Collections.emptyList();
+    }
+    return new ArrayList<>(ids);
+  }
+
+  public synchronized void clear() {
+    idsByTag.clear();
+    tagsById.clear();
+  }
+}
@@ -0,0 +1,443 @@
+package io.lynx.notifications.core;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Validated schedule trigger of a {@link NotificationRequest}.
+ *
+ * Calendar triggers ("calendar", "daily", "weekly") match wall-clock components in a time
+ * zone, or in the device's current zone when none is given. Their next fire time is computed
+ * natively with a lenient {@link java.util.Calendar}, so it follows DST: a time inside a
+ * spring-forward gap is shifted forward by the length of the gap (02:30 fires at 03:30 when
+ * clocks skip from 02:00 to 03:00), and a time repeated by a fall-back fires once, at its
+ * second, standard-time occurrence.
+ */
+public final class NotificationTrigger {
+  public enum Type {
+    /** No trigger: deliver as soon as possible. */
+    IMMEDIATE,
+    DATE,
+    TIME_INTERVAL,
+    /** Wall-clock match; "daily" and "weekly" requests parse to repeating calendar triggers. */
+    CALENDAR
+  }
+
+  /** Value of an unset calendar component. */
+  public static final int ANY = -1;
+
+  /**
+   * Days searched from the start of the walk (today, or January 1 of a later fixed year). Leap
+   * days that must also fall on a given weekday recur every 28 years.
+   */
+  private static final int MAX_SEARCH_DAYS = 28 * 366 + 7;
+
+  private static final NotificationTrigger IMMEDIATE = new NotificationTrigger(Type.IMMEDIATE, 0, 0, false);
+
+  private final Type type;
+  private final long dateMillis;
+  private final long intervalMillis;
+  private final boolean repeats;
+  private final int year;
+  private final int month;
+  private final int day;
+  private final int weekdayMask;
+  private final int hour;
+  private final int minute;
+  private final int second;
+  private final String timeZoneId;
+
+  private NotificationTrigger(Type type, long dateMillis, long intervalMillis, boolean repeats) {
+    this(type, dateMillis, intervalMillis, repeats, ANY, ANY, ANY, 0, ANY, ANY, ANY, null);
+  }
+
+  private NotificationTrigger(
+      Type type,
+      long dateMillis,
+      long intervalMillis,
+      boolean repeats,
+      int year,
+      int month,
+      int day,
+      int weekdayMask,
+      int hour,
+      int minute,
+      int second,
+      String timeZoneId
+  ) {
+    this.type = type;
+    this.dateMillis = dateMillis;
+    this.intervalMillis = intervalMillis;
+    this.repeats = repeats;
+    this.year = year;
+    this.month = month;
+    this.day = day;
+    this.weekdayMask = weekdayMask;
+    this.hour = hour;
+    this.minute = minute;
+    this.second = second;
+    this.timeZoneId = timeZoneId;
+  }
+
+  public static NotificationTrigger immediate() {
+    return IMMEDIATE;
+  }
+
+  public static NotificationTrigger date(long dateMillis) {
+    return new NotificationTrigger(Type.DATE, dateMillis, 0, false);
+  }
+
+  public static NotificationTrigger timeInterval(long intervalMillis, boolean repeats) {
+    if (intervalMillis <= 0) {
+      throw new IllegalArgumentException("Interval must be > 0.");
+    }
+    return new NotificationTrigger(Type.TIME_INTERVAL, 0, intervalMillis, repeats);
+  }
+
+  /**
+   * Calendar trigger matching every set component; pass {@link #ANY} to leave one unset.
+   *
+   * @param weekdayMask Bit {@code 1 << weekday} per allowed weekday (1 = Sunday ... 7 =
+   *     Saturday, as in {@link Calendar#DAY_OF_WEEK}), or 0 for any weekday.
+   * @param timeZoneId Time zone id, or null to follow the device's current zone.
+   */
+  public static NotificationTrigger calendar(
+      int year,
+      int month,
+      int day,
+      int weekdayMask,
+      int hour,
+      int minute,
+      int second,
+      String timeZoneId,
+      boolean repeats
+  ) {
+    return new NotificationTrigger(
+        Type.CALENDAR,
+        0,
+        0,
+        repeats,
+        year,
+        month,
+        day,
+        weekdayMask,
+        hour,
+        minute,
+        second,
+        timeZoneId
+    );
+  }
+
+  /**
+   * Parses the "trigger" value of a schedule request; null means {@link Type#IMMEDIATE}.
+   */
+  static NotificationTrigger parse(Object triggerValue) throws NotificationError {
+    if (triggerValue == null) {
+      return IMMEDIATE;
+    }
+
+    if (!(triggerValue instanceof Map)) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification trigger must be null or object.");
+    }
+
+    Map<?, ?> trigger = (Map<?, ?>) triggerValue;
+    Object type = trigger.get("type");
+    if ("date".equals(type)) {
+      Object dateValue = trigger.get("date");
+      if (!(dateValue instanceof Number)) {
+        throw new NotificationError("ERR_INVALID_ARGUMENT", "Date trigger requires numeric date.");
+      }
+      if (Boolean.TRUE.equals(trigger.get("repeats"))) {
+        throw new NotificationError("ERR_INVALID_ARGUMENT", "Date trigger does not support repeats=true.");
+      }
+      return date(((Number) dateValue).longValue());
+    }
+
+    if ("timeInterval".equals(type)) {
+      Object secondsValue = trigger.get("seconds");
+      if (!(secondsValue instanceof Number) || ((Number) secondsValue).doubleValue() <= 0) {
+        throw new NotificationError("ERR_INVALID_ARGUMENT", "Time interval trigger requires seconds > 0.");
+      }
+      long intervalMillis = Math.max(1, Math.round(((Number) secondsValue).doubleValue() * 1000d));
+      return timeInterval(intervalMillis, Boolean.TRUE.equals(trigger.get("repeats")));
+    }
+
+    if ("daily".equals(type)) {
+      return calendar(
+          ANY,
+          ANY,
+          ANY,
+          0,
+          requiredComponent(trigger, "hour", 0, 23, "Daily"),
+          requiredComponent(trigger, "minute", 0, 59, "Daily"),
+          0,
+          timeZoneOf(trigger),
+          true
+      );
+    }
+
+    if ("weekly".equals(type)) {
+      int weekdayMask = weekdaysOf(trigger.get("weekday"));
+      if (weekdayMask == 0) {
+        throw new NotificationError("ERR_INVALID_ARGUMENT", "Weekly trigger requires weekday (1-7, Sunday = 1).");
+      }
+      return calendar(
+          ANY,
+          ANY,
+          ANY,
+          weekdayMask,
+          requiredComponent(trigger, "hour", 0, 23, "Weekly"),
+          requiredComponent(trigger, "minute", 0, 59, "Weekly"),
+          0,
+          timeZoneOf(trigger),
+          true
+      );
+    }
+
+    if ("calendar".equals(type)) {
+      int year = optionalComponent(trigger, "year", 1970, 9999);
+      int month = optionalComponent(trigger, "month", 1, 12);
+      int day = optionalComponent(trigger, "day", 1, 31);
+      int weekdayMask = weekdaysOf(trigger.get("weekday"));
+      int hour = optionalComponent(trigger, "hour", 0, 23);
+      int minute = optionalComponent(trigger, "minute", 0, 59);
+      int second = optionalComponent(trigger, "second", 0, 59);
+      if (year == ANY && month == ANY && day == ANY && weekdayMask == 0 && hour == ANY && minute == ANY) {
+        throw new NotificationError("ERR_INVALID_ARGUMENT", "Calendar trigger requires at least one date component.");
+      }
+      return calendar(
+          year,
+          month,
+          day,
+          weekdayMask,
+          hour,
+          minute,
+          second,
+          timeZoneOf(trigger),
+          Boolean.TRUE.equals(trigger.get("repeats"))
+      );
+    }
+
+    throw new NotificationError("ERR_INVALID_ARGUMENT", "Unknown notification trigger type.");
+  }
+
+  private static int requiredComponent(Map<?, ?> trigger, String key, int min, int max, String kind)
+      throws NotificationError {
+    int value = optionalComponent(trigger, key, min, max);
+    if (value == ANY) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", kind + " trigger requires " + key + ".");
+    }
+    return value;
+  }
+
+  private static int optionalComponent(Map<?, ?> trigger, String key, int min, int max)
+      throws NotificationError {
+    Object value = trigger.get(key);
+    if (value == null) {
+      return ANY;
+    }
+    if (!(value instanceof Number)
+        || ((Number) value).doubleValue() != ((Number) value).intValue()
+        || ((Number) value).intValue() < min
+        || ((Number) value).intValue() > max) {
+      throw new NotificationError(
+          "ERR_INVALID_ARGUMENT",
+          "Calendar trigger " + key + " must be an integer between " + min + " and " + max + "."
+      );
+    }
+    return ((Number) value).intValue();
+  }
+
+  private static int weekdaysOf(Object value) throws NotificationError {
+    if (value == null) {
+      return 0;
+    }
+
+    int mask = 0;
+    if (value instanceof List) {
+      for (Object weekday : (List<?>) value) {
+        mask |= 1 << weekday(weekday);
+      }
+      return mask;
+    }
+    return 1 << weekday(value);
+  }
+
+  private static int weekday(Object value) throws NotificationError {
+    if (!(value instanceof Number)
+        || ((Number) value).doubleValue() != ((Number) value).intValue()
+        || ((Number) value).intValue() < 1
+        || ((Number) value).intValue() > 7) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Trigger weekday must be an integer between 1 (Sunday) and 7.");
+    }
+    return ((Number) value).intValue();
+  }
+
+  private static String timeZoneOf(Map<?, ?> trigger) throws NotificationError {
+    Object value = trigger.get("timeZone");
+    if (value == null) {
+      return null;
+    }
+    if (!(value instanceof String) || !((String) value).equals(TimeZone.getTimeZone((String) value).getID())) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Trigger timeZone must be a known time zone id.");
+    }
+    return (String) value;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public long getDateMillis() {
+    return dateMillis;
+  }
+
+  public long getIntervalMillis() {
+    return intervalMillis;
+  }
+
+  public boolean repeats() {
+    return repeats;
+  }
+
+  /**
+   * Year, month (1-12), day of month, hour, minute or second this calendar trigger matches,
+   * or {@link #ANY}.
+   */
+  public int getYear() {
+    return year;
+  }
+
+  public int getMonth() {
+    return month;
+  }
+
+  public int getDay() {
+    return day;
+  }
+
+  public int getHour() {
+    return hour;
+  }
+
+  public int getMinute() {
+    return minute;
+  }
+
+  public int getSecond() {
+    return second;
+  }
+
+  /**
+   * Allowed weekdays as {@code 1 << Calendar.DAY_OF_WEEK} bits, or 0 for any.
+   */
+  public int getWeekdayMask() {
+    return weekdayMask;
+  }
+
+  /**
+   * Time zone id of a calendar trigger, or null when it follows the device zone.
+   */
+  public String getTimeZoneId() {
+    return timeZoneId;
+  }
+
+  /**
+   * Fixed interval between repeats, or 0 for triggers that fire once or repeat on the
+   * calendar (see {@link #nextFireAfter(long)}).
+   */
+  public long getRepeatIntervalMillis() {
+    return repeats ? intervalMillis : 0;
+  }
+
+  /**
+   * First fire time for a request scheduled at {@code now}.
+   *
+   * @throws NotificationError ERR_INVALID_ARGUMENT if a date trigger is not in the future.
+   */
+  public long firstTriggerAt(long now) throws NotificationError {
+    switch (type) {
+      case DATE:
+        if (dateMillis <= now) {
+          throw new NotificationError("ERR_INVALID_ARGUMENT", "Date trigger must be in the future.");
+        }
+        return dateMillis;
+      case TIME_INTERVAL:
+        return now + intervalMillis;
+      case CALENDAR:
+        long next = nextFireAfter(now);
+        if (next < 0) {
+          throw new NotificationError("ERR_INVALID_ARGUMENT", "Calendar trigger never matches a future date.");
+        }
+        return next;
+      default:
+        return now;
+    }
+  }
+
+  /**
+   * Next time strictly after {@code afterMillis} that matches this calendar trigger, or -1 if
+   * none does (for example a year in the past or February 30).
+   *
+   * @throws IllegalStateException if this is not a calendar trigger.
+   */
+  public long nextFireAfter(long afterMillis) {
+    if (type != Type.CALENDAR) {
+      throw new IllegalStateException("Only calendar triggers have a computed next fire time.");
+    }
+
+    TimeZone zone = timeZoneId == null ? TimeZone.getDefault() : TimeZone.getTimeZone(timeZoneId);
+    Calendar date = Calendar.getInstance(zone);
+    date.setTimeInMillis(afterMillis);
+    int startYear = date.get(Calendar.YEAR);
+    int startMonth = date.get(Calendar.MONTH);
+    int startDay = date.get(Calendar.DAY_OF_MONTH);
+    if (year != ANY && year < startYear) {
+      return -1;
+    }
+    if (year != ANY && year > startYear) {
+      // Nothing before the fixed year can match; start the walk there.
+      startYear = year;
+      startMonth = Calendar.JANUARY;
+      startDay = 1;
+    }
+    date.clear();
+    // Walk days at noon so DST shifts never move the walk across a date boundary.
+    date.set(startYear, startMonth, startDay, 12, 0, 0);
+
+    Calendar candidate = Calendar.getInstance(zone);
+    int firstHour = hour == ANY ? 0 : hour;
+    int lastHour = hour == ANY ? 23 : hour;
+    int firstMinute = minute == ANY ? 0 : minute;
+    int lastMinute = minute == ANY ? 59 : minute;
+    int fireSecond = second == ANY ? 0 : second;
+    for (int offset = 0; offset <= MAX_SEARCH_DAYS; offset++, date.add(Calendar.DAY_OF_MONTH, 1)) {
+      int dateYear = date.get(Calendar.YEAR);
+      if (year != ANY && dateYear > year) {
+        return -1;
+      }
+      int dateMonth = date.get(Calendar.MONTH);
+      int dateDay = date.get(Calendar.DAY_OF_MONTH);
+      if ((year != ANY && dateYear != year)
+          || (month != ANY && dateMonth + 1 != month)
+          || (day != ANY && dateDay != day)
+          || (weekdayMask != 0 && (weekdayMask & (1 << date.get(Calendar.DAY_OF_WEEK))) == 0)) {
+        continue;
+      }
+
+      for (int fireHour = firstHour; fireHour <= lastHour; fireHour++) {
+        for (int fireMinute = firstMinute; fireMinute <= lastMinute; fireMinute++) {
+          candidate.clear();
+          candidate.set(dateYear, dateMonth, dateDay, fireHour, fireMinute, fireSecond);
+          long millis = candidate.getTimeInMillis();
+          if (millis > afterMillis) {
+            return millis;
+          }
+        }
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,150 @@
+package io.lynx.notifications.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding for JSON-like request values (maps, lists, strings, numbers, booleans, null).
+ *
+ * Integral numbers decode as Long and fractional numbers as Double.
+ */
+final class NotificationValueCodec {
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_FALSE = 1;
+  private static final byte TYPE_TRUE = 2;
+  private static final byte TYPE_LONG = 3;
+  private static final byte TYPE_DOUBLE = 4;
+  private static final byte TYPE_STRING = 5;
+  private static final byte TYPE_LIST = 6;
+  private static final byte TYPE_MAP = 7;
+
+  private NotificationValueCodec() {}
+
+  /**
+   * Deep copy of a request value whose maps and lists are unmodifiable, so a caller mutating
+   * its own map afterwards cannot change what is stored or written.
+   */
+  static Object immutableCopy(Object value) {
+    if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      List<Object> copy = new ArrayList<>(list.size());
+      for (Object item : list) {
+        copy.add(immutableCopy(item));
+      }
+      return Collections.unmodifiableList(copy);
+    }
+    if (value instanceof Map) {
+      return immutableCopyOf((Map<?, ?>) value);
+    }
+    return value;
+  }
+
+  static Map<String, Object> immutableCopyOf(Map<?, ?> map) {
+    Map<String, Object> copy = new LinkedHashMap<>(Math.max(4, map.size() * 2));
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      copy.put(String.valueOf(entry.getKey()), immutableCopy(entry.getValue()));
+    }
+    return Collections.unmodifiableMap(copy);
+  }
+
+  static void writeValue(DataOutput out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(TYPE_NULL);
+    } else if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+    } else if (value instanceof Long
+        || value instanceof Integer
+        || value instanceof Short
+        || value instanceof Byte) {
+      out.writeByte(TYPE_LONG);
+      out.writeLong(((Number) value).longValue());
+    } else if (value instanceof Number) {
+      out.writeByte(TYPE_DOUBLE);
+      out.writeDouble(((Number) value).doubleValue());
+    } else if (value instanceof String) {
+      out.writeByte(TYPE_STRING);
+      writeString(out, (String) value);
+    } else if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      out.writeByte(TYPE_LIST);
+      out.writeInt(list.size());
+      for (Object item : list) {
+        writeValue(out, item);
+      }
+    } else if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      out.writeByte(TYPE_MAP);
+      out.writeInt(map.size());
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        writeString(out, String.valueOf(entry.getKey()));
+        writeValue(out, entry.getValue());
+      }
+    } else {
+      out.writeByte(TYPE_STRING);
+      writeString(out, String.valueOf(value));
+    }
+  }
+
+  static Object readValue(DataInput in) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case TYPE_NULL:
+        return null;
+      case TYPE_FALSE:
+        return Boolean.FALSE;
+      case TYPE_TRUE:
+        return Boolean.TRUE;
+      case TYPE_LONG:
+        return in.readLong();
+      case TYPE_DOUBLE:
+        return in.readDouble();
+      case TYPE_STRING:
+        return readString(in);
+      case TYPE_LIST: {
+        int size = in.readInt();
+        List<Object> list = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+          list.add(readValue(in));
+        }
+        return list;
+      }
+      case TYPE_MAP:
+        return readMap(in);
+      default:
+        throw new IOException("Unknown value type " + type + ".");
+    }
+  }
+
+  static Map<String, Object> readMap(DataInput in) throws IOException {
+    int size = in.readInt();
+    Map<String, Object> map = new LinkedHashMap<>(Math.max(4, size * 2));
+    for (int index = 0; index < size; index++) {
+      String key = readString(in);
+      map.put(key, readValue(in));
+    }
+    return map;
+  }
+
+  static void writeString(DataOutput out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      throw new IOException("Negative string length.");
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
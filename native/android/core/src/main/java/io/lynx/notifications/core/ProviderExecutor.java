@@ -0,0 +1,159 @@
+package io.lynx.notifications.core;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decides where LynxNotificationsModule runs permission, push token and scheduler calls.
+ *
+ * {@link #callerThread()} (the default) calls providers inline on the bridge thread. The other
+ * modes run each call as its own task so blocking provider implementations do not hold the
+ * bridge thread. Calls are owned by the executor: {@link #close()} interrupts every call still in
+ * flight and resolves it with ERR_NOTIFICATIONS_UNAVAILABLE, and late provider results for a
+ * resolved call are ignored.
+ */
+public final class ProviderExecutor {
+  private static final ProviderExecutor CALLER_THREAD = new ProviderExecutor(null, false);
+
+  private final ExecutorService executor;
+  private final boolean ownsExecutor;
+  private final Set<Call> inFlight = ConcurrentHashMap.newKeySet();
+  private volatile boolean closed;
+
+  private ProviderExecutor(ExecutorService executor, boolean ownsExecutor) {
+    this.executor = executor;
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  public static ProviderExecutor callerThread() {
+    return CALLER_THREAD;
+  }
+
+  /**
+   * True when the running JVM loaded the Java 21 build of this library.
+   */
+  public static boolean isVirtualThreadsSupported() {
+    return VirtualThreads.isSupported();
+  }
+
+  /**
+   * Runs every provider call on its own virtual thread. Requires Java 21; not available on
+   * Android, where {@link #callerThread()} or {@link #using(ExecutorService)} apply.
+   *
+   * @throws UnsupportedOperationException on runtimes older than Java 21.
+   */
+  public static ProviderExecutor virtualThreads() {
+    ExecutorService executor = VirtualThreads.newPerTaskExecutor();
+    if (executor == null) {
+      throw new UnsupportedOperationException("Virtual-thread provider calls require Java 21.");
+    }
+    return new ProviderExecutor(executor, true);
+  }
+
+  /**
+   * Runs provider calls on a caller-owned executor, which {@link #close()} does not shut down.
+   */
+  public static ProviderExecutor using(ExecutorService executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Executor must not be null.");
+    }
+    return new ProviderExecutor(executor, false);
+  }
+
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * Cancels every in-flight call and rejects new ones. Caller-thread mode is unaffected.
+   */
+  public void close() {
+    if (executor == null) {
+      return;
+    }
+
+    closed = true;
+    for (Call call : inFlight) {
+      call.cancel();
+    }
+    if (ownsExecutor) {
+      executor.shutdownNow();
+    }
+  }
+
+  void execute(LynxNotificationsModule.MethodCallback callback, Task task) {
+    if (executor == null) {
+      task.run(callback);
+      return;
+    }
+
+    Call call = new Call(callback);
+    inFlight.add(call);
+    if (closed) {
+      call.cancel();
+      return;
+    }
+
+    try {
+      call.attach(executor.submit(() -> call.run(task)));
+    } catch (RejectedExecutionException exception) {
+      call.cancel();
+    }
+  }
+
+  interface Task {
+    void run(LynxNotificationsModule.MethodCallback call);
+  }
+
+  private final class Call implements LynxNotificationsModule.MethodCallback {
+    private final LynxNotificationsModule.MethodCallback delegate;
+    private final AtomicBoolean resolved = new AtomicBoolean();
+    private volatile Future<?> future;
+
+    private Call(LynxNotificationsModule.MethodCallback delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void resolve(Map<String, Object> payload) {
+      if (!resolved.compareAndSet(false, true)) {
+        return;
+      }
+      inFlight.remove(this);
+      delegate.resolve(payload);
+    }
+
+    private void run(Task task) {
+      try {
+        task.run(this);
+      } catch (Throwable throwable) {
+        NotificationError error = NotificationError.fromThrowable(throwable);
+        LynxNotificationsLogger.error("Provider call failed with code={}", error.getCode(), throwable);
+        resolve(NativeResult.error(error.getCode(), error.getMessage()));
+      }
+    }
+
+    private void attach(Future<?> future) {
+      this.future = future;
+      if (resolved.get() && closed) {
+        future.cancel(true);
+      }
+    }
+
+    private void cancel() {
+      Future<?> current = future;
+      if (current != null) {
+        current.cancel(true);
+      }
+      resolve(NativeResult.error(
+          "ERR_NOTIFICATIONS_UNAVAILABLE",
+          "Notification provider call was cancelled because the module was closed."
+      ));
+    }
+  }
+}
@@ -1,21 +1,34 @@
 package io.lynx.notifications.core;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public final class PushToken {
   private final String type;
   private final String data;
+  private Map<String, Object> map;
 
   public PushToken(String type, String data) {
     this.type = type;
     this.data = data;
   }
 
+  public String getType() {
+    return type;
+  }
+
+  public String getData() {
+    return data;
+  }
+
+  /**
+   * Returns an immutable {type,data} map, built once per token.
+   */
   public Map<String, Object> toMap() {
-    Map<String, Object> map = new HashMap<>();
-    map.put("type", type);
-    map.put("data", data);
-    return map;
+    Map<String, Object> result = map;
+    if (result == null) {
+      result = CompactMap.of("type", type, "data", data);
+      map = result;
+    }
+    return result;
   }
 }
@@ -3,14 +3,65 @@ package io.lynx.notifications.core;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Push token providers by name.
+ *
+ * Registered providers are wrapped in a CachingPushTokenProvider so concurrent getToken calls
+ * share one fetch, and a fetch the provider never answers times out. Fetched tokens are not
+ * cached by default, but a token reported through {@link #onTokenRefreshed(PushToken)} is served
+ * until the next refresh or {@link #invalidate(String)}. Pass a TTL to also serve fetched tokens
+ * from memory until it expires.
+ */
 public final class PushTokenProviderRegistry {
-  private final Map<String, PushTokenProvider> providers = new HashMap<>();
+  /** Fetched tokens are not cached; calls that do not join a fetch in flight fetch again. */
+  public static final long DEFAULT_TOKEN_TTL_MILLIS = 0;
 
-  public void register(String providerName, PushTokenProvider provider) {
-    providers.put(providerName, provider);
+  private final Map<String, CachingPushTokenProvider> providers = new HashMap<>();
+  private final long tokenTtlMillis;
+
+  public PushTokenProviderRegistry() {
+    this(DEFAULT_TOKEN_TTL_MILLIS);
+  }
+
+  /**
+   * @param tokenTtlMillis How long fetched tokens are cached, e.g. {@code TimeUnit.HOURS.toMillis(1)};
+   *     0 disables caching but still coalesces concurrent fetches.
+   */
+  public PushTokenProviderRegistry(long tokenTtlMillis) {
+    if (tokenTtlMillis < 0) {
+      throw new IllegalArgumentException("Push token TTL must be >= 0.");
+    }
+    this.tokenTtlMillis = tokenTtlMillis;
+  }
+
+  public synchronized void register(String providerName, PushTokenProvider provider) {
+    CachingPushTokenProvider caching = provider instanceof CachingPushTokenProvider
+        ? (CachingPushTokenProvider) provider
+        : new CachingPushTokenProvider(provider, tokenTtlMillis);
+    providers.put(providerName, caching);
   }
 
-  public PushTokenProvider get(String providerName) {
+  public synchronized PushTokenProvider get(String providerName) {
     return providers.get(providerName);
   }
+
+  /**
+   * Drops the cached token for {@code providerName}, if any.
+   */
+  public synchronized void invalidate(String providerName) {
+    CachingPushTokenProvider provider = providers.get(providerName);
+    if (provider != null) {
+      provider.invalidate();
+    }
+  }
+
+  /**
+   * Replaces the cached token of the provider named by {@code token.getType()}.
+   */
+  public synchronized void onTokenRefreshed(PushToken token) {
+    CachingPushTokenProvider provider = providers.get(token.getType());
+    if (provider != null) {
+      provider.onTokenRefreshed(token);
+    }
+  }
 }
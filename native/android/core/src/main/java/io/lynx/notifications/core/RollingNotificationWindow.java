@@ -0,0 +1,145 @@
+package io.lynx.notifications.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Time-ordered index that keeps only the earliest {@code capacity} notifications armed.
+ *
+ * Platforms cap how many alarms an app may hold, so a scheduler with a large backlog registers
+ * only the head of the queue and promotes the next notification whenever an armed one fires or
+ * is cancelled. Every mutation is O(log n) and changes at most one armed and one disarmed id,
+ * which the scheduler applies to the platform. Because the armed set is always the head of the
+ * order, a fresh process can rebuild it from the persisted schedule without extra bookkeeping.
+ */
+public final class RollingNotificationWindow {
+  private final int capacity;
+  private final Map<String, Key> keysById = new HashMap<>();
+  private final TreeSet<Key> armed = new TreeSet<>();
+  private final TreeSet<Key> waiting = new TreeSet<>();
+
+  public RollingNotificationWindow(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Window capacity must be > 0.");
+    }
+    this.capacity = capacity;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Adds a notification, or moves it to a new trigger time.
+   */
+  public synchronized Change put(String id, long triggerAtMillis) {
+    Key key = new Key(id, triggerAtMillis);
+    Key previous = keysById.put(id, key);
+    if (previous != null && armed.remove(previous)) {
+      if (!waiting.isEmpty() && key.compareTo(waiting.first()) > 0) {
+        Key promoted = waiting.pollFirst();
+        armed.add(promoted);
+        waiting.add(key);
+        return new Change(promoted.id, id);
+      }
+      armed.add(key);
+      return new Change(id, null);
+    }
+    if (previous != null) {
+      waiting.remove(previous);
+    }
+
+    if (armed.size() < capacity) {
+      armed.add(key);
+      return new Change(id, null);
+    }
+    if (key.compareTo(armed.last()) < 0) {
+      Key demoted = armed.pollLast();
+      waiting.add(demoted);
+      armed.add(key);
+      return new Change(id, demoted.id);
+    }
+    waiting.add(key);
+    return Change.NONE;
+  }
+
+  /**
+   * Removes a notification, promoting the earliest waiting one if a slot frees up.
+   */
+  public synchronized Change remove(String id) {
+    Key key = keysById.remove(id);
+    if (key == null) {
+      return Change.NONE;
+    }
+    if (!armed.remove(key)) {
+      waiting.remove(key);
+      return Change.NONE;
+    }
+
+    Key promoted = waiting.pollFirst();
+    if (promoted == null) {
+      return new Change(null, id);
+    }
+    armed.add(promoted);
+    return new Change(promoted.id, id);
+  }
+
+  public synchronized boolean isArmed(String id) {
+    Key key = keysById.get(id);
+    return key != null && armed.contains(key);
+  }
+
+  public synchronized void clear() {
+    keysById.clear();
+    armed.clear();
+    waiting.clear();
+  }
+
+  public synchronized int size() {
+    return keysById.size();
+  }
+
+  public synchronized int armedCount() {
+    return armed.size();
+  }
+
+  /**
+   * Ids to arm and disarm after a mutation; either may be null.
+   */
+  public static final class Change {
+    static final Change NONE = new Change(null, null);
+
+    private final String armedId;
+    private final String disarmedId;
+
+    private Change(String armedId, String disarmedId) {
+      this.armedId = armedId;
+      this.disarmedId = disarmedId;
+    }
+
+    public String getArmedId() {
+      return armedId;
+    }
+
+    public String getDisarmedId() {
+      return disarmedId;
+    }
+  }
+
+  private static final class Key implements Comparable<Key> {
+    private final String id;
+    private final long triggerAtMillis;
+
+    private Key(String id, long triggerAtMillis) {
+      this.id = id;
+      this.triggerAtMillis = triggerAtMillis;
+    }
+
+    @Override
+    public int compareTo(Key other) {
+      int order = Long.compare(triggerAtMillis, other.triggerAtMillis);
+      return order != 0 ? order : id.compareTo(other.id);
+    }
+  }
+}
@@ -5,11 +5,25 @@ package io.lynx.notifications.core;
  *
  * Integrate your Activity Result APIs through PermissionRequestLauncher and
  * current permission state checks through PermissionStateReader.
+ *
+ * The last permission state is cached so repeated getPermissions calls do not hit the
+ * state reader. Request results update the cache; call {@link #invalidate()} whenever the
+ * state may have changed outside the app (e.g. on Activity resume).
  */
 public final class RuntimeNotificationPermissionProvider implements NotificationPermissionProvider {
+  private static final NotificationPermissions GRANTED = new NotificationPermissions("granted", true, true);
+  private static final NotificationPermissions GRANTED_CANNOT_ASK =
+      new NotificationPermissions("granted", true, false);
+  private static final NotificationPermissions UNDETERMINED =
+      new NotificationPermissions("undetermined", false, true);
+  private static final NotificationPermissions DENIED = new NotificationPermissions("denied", false, false);
+
   private final PermissionStateReader stateReader;
   private final PermissionRequestLauncher requestLauncher;
 
+  private volatile NotificationPermissions cached;
+  private long generation;
+
   public RuntimeNotificationPermissionProvider(
       PermissionStateReader stateReader,
       PermissionRequestLauncher requestLauncher
@@ -20,39 +34,73 @@ public final class RuntimeNotificationPermissionProvider implements Notification
 
   @Override
   public void getPermissions(PermissionsCallback callback) {
-    callback.onSuccess(snapshot(stateReader.isGranted(), stateReader.canAskAgain()));
+    NotificationPermissions permissions = cached;
+    if (permissions == null) {
+      permissions = readState();
+    }
+    callback.onSuccess(permissions);
   }
 
   @Override
   public void requestPermissions(PermissionsCallback callback) {
     if (requestLauncher == null) {
-      callback.onSuccess(snapshot(stateReader.isGranted(), stateReader.canAskAgain()));
+      invalidate();
+      callback.onSuccess(readState());
       return;
     }
 
     requestLauncher.request(new PermissionRequestLauncher.RequestCallback() {
       @Override
       public void onResult(boolean granted) {
-        callback.onSuccess(snapshot(granted, stateReader.canAskAgain()));
+        NotificationPermissions permissions = snapshot(granted, stateReader.canAskAgain());
+        synchronized (RuntimeNotificationPermissionProvider.this) {
+          generation++;
+          cached = permissions;
+        }
+        callback.onSuccess(permissions);
       }
 
       @Override
       public void onFailure(Throwable throwable) {
+        invalidate();
         callback.onError(NotificationError.fromThrowable(throwable));
       }
     });
   }
 
+  /**
+   * Drops the cached permission state; the next getPermissions call reads it again.
+   */
+  public synchronized void invalidate() {
+    generation++;
+    cached = null;
+  }
+
+  private NotificationPermissions readState() {
+    long readGeneration;
+    synchronized (this) {
+      readGeneration = generation;
+    }
+
+    NotificationPermissions permissions = snapshot(stateReader.isGranted(), stateReader.canAskAgain());
+    synchronized (this) {
+      if (readGeneration == generation) {
+        cached = permissions;
+      }
+    }
+    return permissions;
+  }
+
   private NotificationPermissions snapshot(boolean granted, boolean canAskAgain) {
     if (granted) {
-      return new NotificationPermissions("granted", true, canAskAgain);
+      return canAskAgain ? GRANTED : GRANTED_CANNOT_ASK;
     }
 
     if (canAskAgain) {
-      return new NotificationPermissions("undetermined", false, true);
+      return UNDETERMINED;
     }
 
-    return new NotificationPermissions("denied", false, false);
+    return DENIED;
   }
 
   public interface PermissionStateReader {
@@ -0,0 +1,64 @@
+package io.lynx.notifications.core;
+
+import java.util.Map;
+
+/**
+ * Read-only view of a notification held by a scheduler.
+ */
+public final class ScheduledNotification {
+  private final String id;
+  private final long triggerAtMillis;
+  private final long repeatIntervalMillis;
+  private final Map<String, Object> request;
+
+  public ScheduledNotification(String id, long triggerAtMillis, Map<String, Object> request) {
+    this(id, triggerAtMillis, 0, request);
+  }
+
+  /**
+   * @param repeatIntervalMillis Interval between repeats, or 0 for a one-shot notification.
+   */
+  public ScheduledNotification(
+      String id,
+      long triggerAtMillis,
+      long repeatIntervalMillis,
+      Map<String, Object> request
+  ) {
+    this.id = id;
+    this.triggerAtMillis = triggerAtMillis;
+    this.repeatIntervalMillis = repeatIntervalMillis;
+    this.request = request;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public long getTriggerAtMillis() {
+    return triggerAtMillis;
+  }
+
+  public long getRepeatIntervalMillis() {
+    return repeatIntervalMillis;
+  }
+
+  public boolean repeats() {
+    return repeatIntervalMillis > 0;
+  }
+
+  /**
+   * First trigger time strictly after {@code now}, skipping missed repeats; one-shot
+   * notifications return their original trigger time.
+   */
+  public long nextTriggerAfter(long now) {
+    if (repeatIntervalMillis <= 0 || triggerAtMillis > now) {
+      return triggerAtMillis;
+    }
+    long missed = (now - triggerAtMillis) / repeatIntervalMillis + 1;
+    return triggerAtMillis + missed * repeatIntervalMillis;
+  }
+
+  public Map<String, Object> getRequest() {
+    return request;
+  }
+}
@@ -0,0 +1,22 @@
+package io.lynx.notifications.core;
+
+import java.util.List;
+
+/**
+ * Durable record of scheduled notifications, so schedulers can cancel and restore them
+ * after process death or reboot.
+ *
+ * Implementations must be thread-safe. Mutations should return quickly and persist in the
+ * background; reads reflect every mutation that has returned.
+ */
+public interface ScheduledNotificationStore {
+  void put(ScheduledNotification notification);
+
+  void remove(String id);
+
+  void clear();
+
+  ScheduledNotification get(String id);
+
+  List<ScheduledNotification> loadAll();
+}
@@ -0,0 +1,543 @@
+package io.lynx.notifications.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Pure-Java scheduler that fires notifications from a hierarchical hashed timing wheel, for
+ * JVM hosts and soak tests.
+ *
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots. Level 0 slots are one tick
+ * wide and each higher level is {@value #SLOTS} times coarser; entries beyond the last level
+ * wait in an overflow list until the wheel wraps. Schedule and cancel unlink or link one
+ * entry in one slot, and each tick drains one level-0 slot plus, every {@value #SLOTS} ticks,
+ * cascades one slot of a higher level down. Due notifications are handed to the
+ * {@link DeliveryCallback} on the wheel thread; repeating {@code timeInterval} and calendar
+ * triggers are re-linked at their next fire time before delivery.
+ *
+ * Ticks follow a monotonic clock. A trigger's wall-clock time is converted to a tick when it is
+ * linked, so a later wall-clock change does not move pending notifications, as with elapsed-time
+ * alarms. When the wheel falls further behind than it holds entries (the host slept, for
+ * example), it re-buckets every entry once instead of walking each missed tick, so catching up
+ * costs O(entries) however long the gap.
+ *
+ * Locking: the wheel, the id map, the tag index and the deduplicator are guarded by the
+ * scheduler's monitor. Requests are parsed before it is taken, and delivery callbacks run after
+ * the tick releases it, so a callback may schedule or cancel. {@link #cancelAll} and
+ * {@link #cancelBatch} take the monitor once for the whole call; {@link #scheduleBatch} and
+ * {@link #cancelByTag} take it once per notification, so the wheel thread can tick in between.
+ */
+public final class TimingWheelLocalNotificationScheduler implements LocalNotificationScheduler {
+  public static final long DEFAULT_TICK_MILLIS = 10;
+
+  static final int LEVELS = 4;
+  static final int SLOTS = 256;
+  private static final int SLOT_BITS = 8;
+  private static final int SLOT_MASK = SLOTS - 1;
+
+  /**
+   * Receives notifications as they come due, on the wheel thread.
+   */
+  public interface DeliveryCallback {
+    void onDeliver(ScheduledNotification notification);
+  }
+
+  private final DeliveryCallback delivery;
+  private final long tickMillis;
+  private final LongSupplier clock;
+  private final LongSupplier ticker;
+  private final long tickerOriginMillis;
+  private final Bucket[][] wheel = new Bucket[LEVELS][SLOTS];
+  private final Bucket overflow = new Bucket();
+  private final Map<String, Entry> entriesById = new HashMap<>();
+  private final NotificationTagIndex tagIndex = new NotificationTagIndex();
+  private final NotificationIdAllocator idAllocator;
+  private final NotificationDeduplicator deduplicator;
+  private final ScheduledExecutorService executor;
+  private long currentTick;
+
+  public TimingWheelLocalNotificationScheduler(DeliveryCallback delivery) {
+    this(delivery, DEFAULT_TICK_MILLIS);
+  }
+
+  public TimingWheelLocalNotificationScheduler(DeliveryCallback delivery, long tickMillis) {
+    this(delivery, tickMillis, new MonotonicNotificationIdAllocator());
+  }
+
+  public TimingWheelLocalNotificationScheduler(
+      DeliveryCallback delivery,
+      long tickMillis,
+      NotificationIdAllocator idAllocator
+  ) {
+    this(delivery, tickMillis, idAllocator, NotificationDeduplicator.defaults());
+  }
+
+  public TimingWheelLocalNotificationScheduler(
+      DeliveryCallback delivery,
+      long tickMillis,
+      NotificationIdAllocator idAllocator,
+      NotificationDeduplicator deduplicator
+  ) {
+    this(
+        delivery,
+        tickMillis,
+        idAllocator,
+        deduplicator,
+        System::currentTimeMillis,
+        () -> System.nanoTime() / 1_000_000,
+        true
+    );
+  }
+
+  /**
+   * Test hook whose clock is also its ticker. Deduplicates by key only, so tests may schedule
+   * identical requests.
+   */
+  TimingWheelLocalNotificationScheduler(
+      DeliveryCallback delivery,
+      long tickMillis,
+      LongSupplier clock,
+      boolean startWorker
+  ) {
+    this(
+        delivery,
+        tickMillis,
+        new MonotonicNotificationIdAllocator(),
+        NotificationDeduplicator.keysOnly(),
+        clock,
+        clock,
+        startWorker
+    );
+  }
+
+  /**
+   * @param clock Wall clock, for trigger times.
+   * @param ticker Monotonic clock in milliseconds, for tick progress.
+   */
+  TimingWheelLocalNotificationScheduler(
+      DeliveryCallback delivery,
+      long tickMillis,
+      NotificationIdAllocator idAllocator,
+      NotificationDeduplicator deduplicator,
+      LongSupplier clock,
+      LongSupplier ticker,
+      boolean startWorker
+  ) {
+    if (delivery == null) {
+      throw new IllegalArgumentException("Delivery callback must not be null.");
+    }
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("Tick must be > 0.");
+    }
+
+    this.delivery = delivery;
+    this.tickMillis = tickMillis;
+    this.idAllocator = idAllocator;
+    this.deduplicator = deduplicator;
+    this.clock = clock;
+    this.ticker = ticker;
+    this.tickerOriginMillis = ticker.getAsLong();
+    for (Bucket[] level : wheel) {
+      for (int slot = 0; slot < SLOTS; slot++) {
+        level[slot] = new Bucket();
+      }
+    }
+
+    if (startWorker) {
+      ScheduledThreadPoolExecutor worker = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "lynx-notifications-wheel");
+        thread.setDaemon(true);
+        return thread;
+      });
+      worker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+      executor = worker;
+    } else {
+      executor = null;
+    }
+  }
+
+  @Override
+  public void schedule(Map<String, Object> request, ScheduleCallback callback) {
+    try {
+      callback.onSuccess(store(request, clock.getAsLong()));
+    } catch (NotificationError error) {
+      callback.onError(error);
+    }
+  }
+
+  @Override
+  public void cancel(String id, VoidCallback callback) {
+    try {
+      validateId(id);
+      remove(id);
+      callback.onSuccess();
+    } catch (NotificationError error) {
+      callback.onError(error);
+    }
+  }
+
+  @Override
+  public void cancelAll(VoidCallback callback) {
+    synchronized (this) {
+      for (Entry entry : entriesById.values()) {
+        entry.unlink();
+        tagIndex.remove(entry.id);
+      }
+      entriesById.clear();
+      deduplicator.clear();
+    }
+    callback.onSuccess();
+  }
+
+  @Override
+  public void cancelByTag(String tag, VoidCallback callback) {
+    try {
+      validateTag(tag);
+      for (String id : tagIndex.idsForTag(tag)) {
+        remove(id);
+      }
+      callback.onSuccess();
+    } catch (NotificationError error) {
+      callback.onError(error);
+    }
+  }
+
+  @Override
+  public void getScheduledByTag(String tag, IdsCallback callback) {
+    try {
+      validateTag(tag);
+      callback.onSuccess(tagIndex.idsForTag(tag));
+    } catch (NotificationError error) {
+      callback.onError(error);
+    }
+  }
+
+  @Override
+  public void scheduleBatch(List<Map<String, Object>> requests, BatchCallback callback) {
+    if (requests == null) {
+      callback.onError(new NotificationError("ERR_INVALID_ARGUMENT", "Batch requests must not be null."));
+      return;
+    }
+
+    long now = clock.getAsLong();
+    List<BatchItemResult> results = new ArrayList<>(requests.size());
+    for (Map<String, Object> request : requests) {
+      try {
+        results.add(BatchItemResult.success(store(request, now)));
+      } catch (NotificationError error) {
+        results.add(BatchItemResult.failure(null, error));
+      }
+    }
+    callback.onComplete(results);
+  }
+
+  @Override
+  public void cancelBatch(List<String> ids, BatchCallback callback) {
+    if (ids == null) {
+      callback.onError(new NotificationError("ERR_INVALID_ARGUMENT", "Batch ids must not be null."));
+      return;
+    }
+
+    List<BatchItemResult> results = new ArrayList<>(ids.size());
+    synchronized (this) {
+      for (String id : ids) {
+        try {
+          validateId(id);
+          remove(id);
+          results.add(BatchItemResult.success(id));
+        } catch (NotificationError error) {
+          results.add(BatchItemResult.failure(id, error));
+        }
+      }
+    }
+    callback.onComplete(results);
+  }
+
+  public synchronized int size() {
+    return entriesById.size();
+  }
+
+  /**
+   * Stops the wheel thread. Pending notifications are kept but no longer fire.
+   */
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  void tick() {
+    try {
+      advance(ticker.getAsLong() - tickerOriginMillis, clock.getAsLong());
+    } catch (Throwable throwable) {
+      LynxNotificationsLogger.error("Timing wheel tick failed.", throwable);
+    }
+  }
+
+  /**
+   * Fires every notification due at or before {@code nowMillis} and returns how many fired.
+   * For schedulers whose wall clock is also their ticker.
+   */
+  int advanceTo(long nowMillis) {
+    return advance(nowMillis - tickerOriginMillis, nowMillis);
+  }
+
+  /**
+   * @param elapsedMillis Ticker time since the scheduler was created.
+   * @param nowMillis Wall-clock time at the same instant.
+   */
+  private int advance(long elapsedMillis, long nowMillis) {
+    List<ScheduledNotification> due = new ArrayList<>();
+    synchronized (this) {
+      long targetTick = Math.floorDiv(elapsedMillis, tickMillis);
+      if (entriesById.isEmpty()) {
+        currentTick = Math.max(currentTick, targetTick + 1);
+        return 0;
+      }
+
+      if (targetTick - currentTick > entriesById.size() + (long) LEVELS * SLOTS) {
+        rebucket(targetTick, elapsedMillis, nowMillis, due);
+      }
+      while (currentTick <= targetTick) {
+        cascade(currentTick);
+        Bucket bucket = wheel[0][(int) (currentTick & SLOT_MASK)];
+        currentTick++;
+        for (Entry entry = bucket.head; entry != null; entry = bucket.head) {
+          entry.unlink();
+          fire(entry, elapsedMillis, nowMillis, due);
+        }
+      }
+    }
+
+    for (ScheduledNotification notification : due) {
+      try {
+        delivery.onDeliver(notification);
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Delivery callback failed for id={}", notification.getId(), throwable);
+      }
+    }
+    return due.size();
+  }
+
+  /**
+   * Catches up to {@code targetTick} in one pass: fires every entry due by then, in trigger
+   * order, and links the rest relative to the new current tick.
+   */
+  private void rebucket(long targetTick, long elapsedMillis, long nowMillis, List<ScheduledNotification> due) {
+    List<Entry> fired = new ArrayList<>();
+    List<Entry> pending = new ArrayList<>(entriesById.size());
+    for (Entry entry : entriesById.values()) {
+      entry.unlink();
+      (entry.deadlineTick <= targetTick ? fired : pending).add(entry);
+    }
+    currentTick = targetTick + 1;
+    for (Entry entry : pending) {
+      link(entry);
+    }
+    fired.sort((left, right) -> Long.compare(left.deadlineTick, right.deadlineTick));
+    for (Entry entry : fired) {
+      fire(entry, elapsedMillis, nowMillis, due);
+    }
+  }
+
+  /**
+   * Hands an unlinked due entry to {@code due} and re-links it at its next fire time, or drops
+   * it when it does not repeat.
+   */
+  private void fire(Entry entry, long elapsedMillis, long nowMillis, List<ScheduledNotification> due) {
+    due.add(new ScheduledNotification(entry.id, entry.triggerAtMillis, entry.intervalMillis, entry.request));
+    entry.triggerAtMillis = nextTriggerAt(entry, nowMillis);
+    if (entry.triggerAtMillis > 0) {
+      entry.deadlineTick = deadlineTick(entry.triggerAtMillis, elapsedMillis, nowMillis);
+      link(entry);
+    } else {
+      entriesById.remove(entry.id);
+      tagIndex.remove(entry.id);
+    }
+  }
+
+  /**
+   * Moves the higher-level slots that start at {@code tick} down the wheel. Runs before the
+   * level-0 slot for the tick is drained, coarsest level first.
+   */
+  private void cascade(long tick) {
+    int highest = 0;
+    while (highest < LEVELS && ((tick >>> (SLOT_BITS * highest)) & SLOT_MASK) == 0 && tick != 0) {
+      highest++;
+    }
+    if (highest == LEVELS) {
+      relink(overflow);
+      highest = LEVELS - 1;
+    }
+    for (int level = highest; level >= 1; level--) {
+      relink(wheel[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)]);
+    }
+  }
+
+  private void relink(Bucket bucket) {
+    Entry entry = bucket.head;
+    bucket.head = null;
+    while (entry != null) {
+      Entry next = entry.next;
+      entry.prev = null;
+      entry.next = null;
+      entry.bucket = null;
+      link(entry);
+      entry = next;
+    }
+  }
+
+  private void link(Entry entry) {
+    long deadline = Math.max(currentTick, entry.deadlineTick);
+    Bucket bucket = overflow;
+    for (int level = 0; level < LEVELS; level++) {
+      if ((deadline >>> (SLOT_BITS * (level + 1))) == (currentTick >>> (SLOT_BITS * (level + 1)))) {
+        bucket = wheel[level][(int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        break;
+      }
+    }
+    bucket.add(entry);
+  }
+
+  /**
+   * Next fire time of a delivered entry with missed repeats collapsed, or -1 when it is done.
+   */
+  private static long nextTriggerAt(Entry entry, long nowMillis) {
+    if (entry.intervalMillis > 0) {
+      long next = entry.triggerAtMillis + entry.intervalMillis;
+      if (next <= nowMillis) {
+        next += ((nowMillis - next) / entry.intervalMillis + 1) * entry.intervalMillis;
+      }
+      return next;
+    }
+    if (entry.calendar != null) {
+      return entry.calendar.nextFireAfter(Math.max(nowMillis, entry.triggerAtMillis));
+    }
+    return -1;
+  }
+
+  /**
+   * First tick at or after {@code triggerAtMillis}, so notifications never fire early, given that
+   * the ticker read {@code elapsedMillis} when the wall clock read {@code nowMillis}.
+   */
+  private long deadlineTick(long triggerAtMillis, long elapsedMillis, long nowMillis) {
+    long elapsed = elapsedMillis + (triggerAtMillis - nowMillis);
+    return elapsed <= 0 ? 0 : (elapsed + tickMillis - 1) / tickMillis;
+  }
+
+  private String store(Map<String, Object> request, long now) throws NotificationError {
+    NotificationRequest parsed = NotificationRequest.parse(request);
+    NotificationTrigger trigger = parsed.getTrigger();
+    synchronized (this) {
+      String existing = deduplicator.find(parsed, now);
+      if (existing != null) {
+        return existing;
+      }
+
+      long triggerAtMillis = trigger.firstTriggerAt(now);
+      long elapsedMillis = ticker.getAsLong() - tickerOriginMillis;
+      String id = idAllocator.nextId();
+      Entry entry = new Entry(
+          id,
+          request,
+          triggerAtMillis,
+          trigger.getRepeatIntervalMillis(),
+          trigger.getType() == NotificationTrigger.Type.CALENDAR && trigger.repeats() ? trigger : null
+      );
+      entry.deadlineTick = deadlineTick(triggerAtMillis, elapsedMillis, now);
+      if (entriesById.isEmpty()) {
+        currentTick = Math.max(currentTick, Math.floorDiv(elapsedMillis, tickMillis));
+      }
+      link(entry);
+      entriesById.put(id, entry);
+      tagIndex.add(id, parsed.getTags());
+      deduplicator.record(parsed, id, now);
+      return id;
+    }
+  }
+
+  private synchronized void remove(String id) {
+    Entry entry = entriesById.remove(id);
+    if (entry == null) {
+      return;
+    }
+    entry.unlink();
+    tagIndex.remove(id);
+    deduplicator.forget(id);
+  }
+
+  private static void validateId(String id) throws NotificationError {
+    if (id == null || id.isEmpty()) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Scheduled notification id must not be empty.");
+    }
+  }
+
+  private static void validateTag(String tag) throws NotificationError {
+    if (tag == null || tag.isEmpty()) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification tag must not be empty.");
+    }
+  }
+
+  private static final class Bucket {
+    private Entry head;
+
+    private void add(Entry entry) {
+      entry.bucket = this;
+      entry.prev = null;
+      entry.next = head;
+      if (head != null) {
+        head.prev = entry;
+      }
+      head = entry;
+    }
+  }
+
+  private static final class Entry {
+    private final String id;
+    private final Map<String, Object> request;
+    private final long intervalMillis;
+    private final NotificationTrigger calendar;
+    private long triggerAtMillis;
+    private long deadlineTick;
+    private Bucket bucket;
+    private Entry prev;
+    private Entry next;
+
+    private Entry(
+        String id,
+        Map<String, Object> request,
+        long triggerAtMillis,
+        long intervalMillis,
+        NotificationTrigger calendar
+    ) {
+      this.id = id;
+      this.request = request;
+      this.triggerAtMillis = triggerAtMillis;
+      this.intervalMillis = intervalMillis;
+      this.calendar = calendar;
+    }
+
+    private void unlink() {
+      if (bucket == null) {
+        return;
+      }
+      if (prev != null) {
+        prev.next = next;
+      } else {
+        bucket.head = next;
+      }
+      if (next != null) {
+        next.prev = prev;
+      }
+      bucket = null;
+      prev = null;
+      next = null;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package io.lynx.notifications.core;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Java 17 stand-in for the virtual-thread factory.
+ *
+ * The Java 21 build in {@code src/main/java21} replaces this class under
+ * {@code META-INF/versions/21} of the multi-release jar.
+ */
+final class VirtualThreads {
+  private VirtualThreads() {
+  }
+
+  static boolean isSupported() {
+    return false;
+  }
+
+  /**
+   * Returns an executor that starts one virtual thread per task, or null before Java 21.
+   */
+  static ExecutorService newPerTaskExecutor() {
+    return null;
+  }
+}
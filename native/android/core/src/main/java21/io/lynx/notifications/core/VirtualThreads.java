@@ -0,0 +1,22 @@
+package io.lynx.notifications.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Java 21 virtual-thread factory, packaged under {@code META-INF/versions/21}.
+ */
+final class VirtualThreads {
+  private VirtualThreads() {
+  }
+
+  static boolean isSupported() {
+    return true;
+  }
+
+  static ExecutorService newPerTaskExecutor() {
+    return Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("lynx-notifications-provider-", 0).factory()
+    );
+  }
+}
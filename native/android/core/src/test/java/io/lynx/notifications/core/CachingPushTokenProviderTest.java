@@ -0,0 +1,218 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class CachingPushTokenProviderTest {
+  @Test
+  public void coalescesConcurrentFetches() {
+    DeferredProvider delegate = new DeferredProvider();
+    CachingPushTokenProvider provider = new CachingPushTokenProvider(delegate, 60_000);
+
+    List<String> tokens = new ArrayList<>();
+    for (int index = 0; index < 5; index++) {
+      provider.getToken(collect(tokens, null));
+    }
+    assertEquals(1, delegate.pending.size());
+
+    delegate.succeed("token-1");
+    assertEquals(List.of("token-1", "token-1", "token-1", "token-1", "token-1"), tokens);
+  }
+
+  @Test
+  public void servesCachedTokenUntilTtlExpires() {
+    AtomicLong now = new AtomicLong();
+    DeferredProvider delegate = new DeferredProvider();
+    CachingPushTokenProvider provider = new CachingPushTokenProvider(delegate, 1_000, now::get);
+
+    List<String> tokens = new ArrayList<>();
+    provider.getToken(collect(tokens, null));
+    delegate.succeed("token-1");
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+    provider.getToken(collect(tokens, null));
+    assertEquals(1, delegate.fetchCount);
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    provider.getToken(collect(tokens, null));
+    assertEquals(2, delegate.fetchCount);
+    delegate.succeed("token-2");
+    assertEquals(List.of("token-1", "token-1", "token-2"), tokens);
+  }
+
+  @Test
+  public void doesNotCacheErrors() {
+    DeferredProvider delegate = new DeferredProvider();
+    CachingPushTokenProvider provider = new CachingPushTokenProvider(delegate, 60_000);
+
+    AtomicReference<NotificationError> errorRef = new AtomicReference<>();
+    provider.getToken(collect(new ArrayList<>(), errorRef));
+    delegate.fail(new NotificationError("ERR_NATIVE_FAILURE", "offline"));
+    assertEquals("ERR_NATIVE_FAILURE", errorRef.get().getCode());
+
+    List<String> tokens = new ArrayList<>();
+    provider.getToken(collect(tokens, null));
+    delegate.succeed("token-1");
+    assertEquals(2, delegate.fetchCount);
+    assertEquals(List.of("token-1"), tokens);
+  }
+
+  @Test
+  public void refreshReplacesCachedTokenAndDiscardsStaleFetch() {
+    DeferredProvider delegate = new DeferredProvider();
+    CachingPushTokenProvider provider = new CachingPushTokenProvider(delegate, 60_000);
+
+    List<String> tokens = new ArrayList<>();
+    provider.getToken(collect(tokens, null));
+    provider.onTokenRefreshed(new PushToken("fcm", "token-fresh"));
+    delegate.succeed("token-stale");
+
+    provider.getToken(collect(tokens, null));
+    assertEquals(1, delegate.fetchCount);
+    assertEquals(List.of("token-stale", "token-fresh"), tokens);
+  }
+
+  @Test
+  public void moduleTokenRefreshUpdatesRegistryCache() {
+    DeferredProvider delegate = new DeferredProvider();
+    PushTokenProviderRegistry registry = new PushTokenProviderRegistry(TimeUnit.HOURS.toMillis(1));
+    registry.register("fcm", delegate);
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        registry,
+        new InMemoryLocalNotificationScheduler()
+    );
+
+    new LynxNotificationsEventForwarder(module).onTokenRefreshed("token-pushed");
+
+    AtomicReference<Map<String, Object>> result = new AtomicReference<>();
+    module.getPushToken("fcm", result::set);
+    assertEquals(0, delegate.fetchCount);
+    assertEquals(true, result.get().get("ok"));
+    assertEquals(Map.of("type", "fcm", "data", "token-pushed"), result.get().get("data"));
+  }
+
+  @Test
+  public void unansweredFetchTimesOutAndFreesTheSlot() throws InterruptedException {
+    DeferredProvider delegate = new DeferredProvider();
+    CachingPushTokenProvider provider = new CachingPushTokenProvider(delegate, 60_000, 50);
+
+    CountDownLatch failed = new CountDownLatch(2);
+    AtomicReference<NotificationError> errorRef = new AtomicReference<>();
+    for (int index = 0; index < 2; index++) {
+      provider.getToken(new PushTokenProvider.TokenCallback() {
+        @Override
+        public void onSuccess(PushToken token) {}
+
+        @Override
+        public void onError(NotificationError error) {
+          errorRef.set(error);
+          failed.countDown();
+        }
+      });
+    }
+    assertTrue(failed.await(5, TimeUnit.SECONDS));
+    assertEquals("ERR_NATIVE_FAILURE", errorRef.get().getCode());
+
+    List<String> tokens = new ArrayList<>();
+    provider.getToken(collect(tokens, null));
+    assertEquals(2, delegate.fetchCount);
+    delegate.succeed("token-late");
+    assertEquals(List.of("token-late"), tokens);
+  }
+
+  @Test
+  public void registryDoesNotCacheTokensByDefault() {
+    DeferredProvider delegate = new DeferredProvider();
+    PushTokenProviderRegistry registry = new PushTokenProviderRegistry();
+    registry.register("fcm", delegate);
+
+    List<String> tokens = new ArrayList<>();
+    registry.get("fcm").getToken(collect(tokens, null));
+    delegate.succeed("token-1");
+    registry.get("fcm").getToken(collect(tokens, null));
+    assertEquals(2, delegate.fetchCount);
+  }
+
+  @Test
+  public void defaultModuleServesRefreshedTokenWithoutTtl() {
+    DeferredProvider delegate = new DeferredProvider();
+    LynxNotificationsModule module = LynxNotificationsModule.createDefault(delegate);
+
+    new LynxNotificationsEventForwarder(module).onTokenRefreshed("token-pushed");
+
+    AtomicReference<Map<String, Object>> result = new AtomicReference<>();
+    module.getPushToken("fcm", result::set);
+    module.getPushToken("fcm", result::set);
+    assertEquals(0, delegate.fetchCount);
+    assertEquals(Map.of("type", "fcm", "data", "token-pushed"), result.get().get("data"));
+  }
+
+  @Test
+  public void createDefaultPassesTheTokenTtl() {
+    DeferredProvider delegate = new DeferredProvider();
+    LynxNotificationsModule module = LynxNotificationsModule.createDefault(delegate, TimeUnit.HOURS.toMillis(1));
+
+    AtomicReference<Map<String, Object>> result = new AtomicReference<>();
+    module.getPushToken("fcm", result::set);
+    delegate.succeed("token-1");
+    module.getPushToken("fcm", result::set);
+    assertEquals(1, delegate.fetchCount);
+    assertEquals(Map.of("type", "fcm", "data", "token-1"), result.get().get("data"));
+  }
+
+  private static PushTokenProvider.TokenCallback collect(
+      List<String> tokens,
+      AtomicReference<NotificationError> errorRef
+  ) {
+    return new PushTokenProvider.TokenCallback() {
+      @Override
+      public void onSuccess(PushToken token) {
+        tokens.add(token.getData());
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        if (errorRef != null) {
+          errorRef.set(error);
+        }
+      }
+    };
+  }
+
+  private static final class DeferredProvider implements PushTokenProvider {
+    private final List<TokenCallback> pending = new ArrayList<>();
+    private int fetchCount;
+
+    @Override
+    public void getToken(TokenCallback callback) {
+      fetchCount++;
+      pending.add(callback);
+    }
+
+    private void succeed(String token) {
+      List<TokenCallback> callbacks = new ArrayList<>(pending);
+      pending.clear();
+      for (TokenCallback callback : callbacks) {
+        callback.onSuccess(new PushToken("fcm", token));
+      }
+    }
+
+    private void fail(NotificationError error) {
+      List<TokenCallback> callbacks = new ArrayList<>(pending);
+      pending.clear();
+      for (TokenCallback callback : callbacks) {
+        callback.onError(error);
+      }
+    }
+  }
+}
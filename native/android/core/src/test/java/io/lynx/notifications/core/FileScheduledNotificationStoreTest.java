@@ -0,0 +1,222 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileScheduledNotificationStoreTest {
+  private File directory;
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("lynx-store").toFile();
+    file = new File(directory, "scheduled.log");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<java.nio.file.Path> paths = Files.walk(directory.toPath())) {
+      paths.sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void reloadsPutsAndRemovesFromDisk() {
+    FileScheduledNotificationStore store = new FileScheduledNotificationStore(file);
+    store.put(new ScheduledNotification("a", 1_000, request("Alpha")));
+    store.put(new ScheduledNotification("b", 2_000, 60_000, request("Beta")));
+    store.put(new ScheduledNotification("c", 3_000, request("Gamma")));
+    store.remove("c");
+    store.close();
+
+    FileScheduledNotificationStore reloaded = new FileScheduledNotificationStore(file);
+    assertEquals(2, reloaded.size());
+    assertNull(reloaded.get("c"));
+
+    ScheduledNotification beta = reloaded.get("b");
+    assertNotNull(beta);
+    assertEquals(2_000, beta.getTriggerAtMillis());
+    assertEquals(60_000, beta.getRepeatIntervalMillis());
+    assertEquals("Beta", contentTitle(beta));
+    assertEquals(List.of("news", "daily"), beta.getRequest().get("tags"));
+    reloaded.close();
+  }
+
+  @Test
+  public void clearIsPersisted() {
+    FileScheduledNotificationStore store = new FileScheduledNotificationStore(file);
+    store.put(new ScheduledNotification("a", 1_000, request("Alpha")));
+    store.clear();
+    store.put(new ScheduledNotification("b", 2_000, request("Beta")));
+    store.close();
+
+    FileScheduledNotificationStore reloaded = new FileScheduledNotificationStore(file);
+    assertEquals(1, reloaded.size());
+    assertNotNull(reloaded.get("b"));
+    reloaded.close();
+  }
+
+  @Test
+  public void truncatesTornTailAndKeepsAppending() throws IOException {
+    FileScheduledNotificationStore store = new FileScheduledNotificationStore(file);
+    store.put(new ScheduledNotification("a", 1_000, request("Alpha")));
+    store.close();
+    long intactLength = file.length();
+
+    try (FileOutputStream out = new FileOutputStream(file, true)) {
+      out.write(new byte[] {0, 0, 0, 40, 1, 0, 0});
+    }
+
+    FileScheduledNotificationStore reloaded = new FileScheduledNotificationStore(file);
+    assertEquals(1, reloaded.size());
+    assertEquals(intactLength, file.length());
+    reloaded.put(new ScheduledNotification("b", 2_000, request("Beta")));
+    reloaded.close();
+
+    FileScheduledNotificationStore again = new FileScheduledNotificationStore(file);
+    assertEquals(2, again.size());
+    again.close();
+  }
+
+  @Test
+  public void keepsUnreadableLogAsideInsteadOfDeletingIt() throws IOException {
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    }
+
+    FileScheduledNotificationStore store = new FileScheduledNotificationStore(file);
+    assertEquals(0, store.size());
+    store.put(new ScheduledNotification("a", 1_000, request("Alpha")));
+    store.close();
+
+    File corrupt = new File(directory, "scheduled.log.corrupt");
+    assertEquals(8, corrupt.length());
+    FileScheduledNotificationStore reloaded = new FileScheduledNotificationStore(file);
+    assertEquals(1, reloaded.size());
+    reloaded.close();
+  }
+
+  @Test
+  public void storesACopyOfTheCallersRequest() {
+    Map<String, Object> request = request("Alpha");
+    FileScheduledNotificationStore store = new FileScheduledNotificationStore(file);
+    store.put(new ScheduledNotification("a", 1_000, request));
+    request.put("tags", List.of("changed"));
+    store.close();
+
+    assertEquals(List.of("news", "daily"), store.get("a").getRequest().get("tags"));
+    FileScheduledNotificationStore reloaded = new FileScheduledNotificationStore(file);
+    assertEquals(List.of("news", "daily"), reloaded.get("a").getRequest().get("tags"));
+    reloaded.close();
+  }
+
+  @Test
+  public void compactsLogOfChurnedEntries() {
+    FileScheduledNotificationStore store = new FileScheduledNotificationStore(file);
+    for (int index = 0; index < 5_000; index++) {
+      store.put(new ScheduledNotification("churn-" + index, index, request("Churn")));
+      store.remove("churn-" + index);
+    }
+    store.put(new ScheduledNotification("kept", 42, request("Kept")));
+    store.flush();
+    long compactedLength = file.length();
+    store.close();
+
+    assertTrue("log was not compacted: " + compactedLength, compactedLength < 64 * 1024);
+    FileScheduledNotificationStore reloaded = new FileScheduledNotificationStore(file);
+    assertEquals(1, reloaded.size());
+    assertEquals("Kept", contentTitle(reloaded.get("kept")));
+    reloaded.close();
+  }
+
+  @Test
+  public void restoresTensOfThousandsOfEntriesQuickly() {
+    FileScheduledNotificationStore store = new FileScheduledNotificationStore(file);
+    for (int index = 0; index < 20_000; index++) {
+      store.put(new ScheduledNotification("bulk-" + index, index, request("Bulk " + index)));
+    }
+    store.close();
+
+    long startedAt = System.nanoTime();
+    FileScheduledNotificationStore reloaded = new FileScheduledNotificationStore(file);
+    List<ScheduledNotification> restored = reloaded.loadAll();
+    long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+    assertEquals(20_000, restored.size());
+    assertEquals("Bulk 19999", contentTitle(reloaded.get("bulk-19999")));
+    assertTrue("restore took " + elapsedMillis + "ms", elapsedMillis < 1_000);
+    reloaded.close();
+  }
+
+  @Test
+  public void racingPutAndRemoveReloadAsTheyEndedInMemory() throws InterruptedException {
+    FileScheduledNotificationStore store = new FileScheduledNotificationStore(file);
+    Map<String, Object> request = request("Alpha");
+    for (int round = 0; round < 200; round++) {
+      String id = "id-" + round;
+      CountDownLatch start = new CountDownLatch(1);
+      Thread putter = new Thread(() -> {
+        awaitQuietly(start);
+        store.put(new ScheduledNotification(id, 1_000, request));
+      });
+      Thread remover = new Thread(() -> {
+        awaitQuietly(start);
+        store.remove(id);
+      });
+      putter.start();
+      remover.start();
+      start.countDown();
+      putter.join();
+      remover.join();
+    }
+    int expected = store.size();
+    store.close();
+
+    FileScheduledNotificationStore reloaded = new FileScheduledNotificationStore(file);
+    assertEquals(expected, reloaded.size());
+    for (int round = 0; round < 200; round++) {
+      assertEquals(store.get("id-" + round) == null, reloaded.get("id-" + round) == null);
+    }
+    reloaded.close();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Map<String, Object> request(String title) {
+    Map<String, Object> content = new HashMap<>();
+    content.put("title", title);
+    content.put("badge", 3);
+
+    Map<String, Object> request = new HashMap<>();
+    request.put("content", content);
+    request.put("tags", List.of("news", "daily"));
+    return request;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static String contentTitle(ScheduledNotification notification) {
+    return (String) ((Map<String, Object>) notification.getRequest().get("content")).get("title");
+  }
+}
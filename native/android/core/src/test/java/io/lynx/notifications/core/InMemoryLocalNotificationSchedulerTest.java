@@ -0,0 +1,152 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class InMemoryLocalNotificationSchedulerTest {
+  @Test
+  public void ordersScheduledNotificationsByTriggerTime() {
+    InMemoryLocalNotificationScheduler scheduler = new InMemoryLocalNotificationScheduler();
+    String late = schedule(scheduler, intervalRequest(300));
+    String early = schedule(scheduler, intervalRequest(60));
+    String middle = schedule(scheduler, intervalRequest(120));
+
+    assertEquals(List.of(early, middle, late), ids(scheduler.getAllScheduled()));
+    assertEquals(List.of(early, middle), ids(scheduler.getNextDue(2)));
+
+    long cutoff = System.currentTimeMillis() + 150_000;
+    assertEquals(List.of(early, middle), ids(scheduler.getDueBefore(cutoff)));
+  }
+
+  @Test
+  public void cancelRemovesFromTimeIndex() {
+    InMemoryLocalNotificationScheduler scheduler = new InMemoryLocalNotificationScheduler();
+    String first = schedule(scheduler, intervalRequest(60));
+    String second = schedule(scheduler, intervalRequest(120));
+
+    AtomicReference<NotificationError> errorRef = new AtomicReference<>();
+    scheduler.cancel(first, voidCallback(errorRef));
+
+    assertNull(errorRef.get());
+    assertEquals(List.of(second), ids(scheduler.getNextDue(5)));
+    assertEquals(1, scheduler.size());
+  }
+
+  @Test
+  public void staysConsistentUnderConcurrentScheduleAndCancel() throws InterruptedException {
+    // Threads schedule identical requests; each must get its own entry.
+    InMemoryLocalNotificationScheduler scheduler = new InMemoryLocalNotificationScheduler(
+        new MonotonicNotificationIdAllocator(),
+        NotificationDeduplicator.keysOnly()
+    );
+    int threads = 8;
+    int perThread = 500;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(threads);
+    AtomicReference<NotificationError> errorRef = new AtomicReference<>();
+
+    for (int thread = 0; thread < threads; thread++) {
+      executor.execute(() -> {
+        try {
+          start.await();
+          for (int index = 0; index < perThread; index++) {
+            String id = schedule(scheduler, intervalRequest(60 + index));
+            if (index % 2 == 0) {
+              scheduler.cancel(id, voidCallback(errorRef));
+            }
+            scheduler.getNextDue(3);
+          }
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+
+    start.countDown();
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    executor.shutdown();
+
+    assertNull(errorRef.get());
+    int expected = threads * perThread / 2;
+    assertEquals(expected, scheduler.size());
+    List<ScheduledNotification> all = scheduler.getAllScheduled();
+    assertEquals(expected, all.size());
+    for (int index = 1; index < all.size(); index++) {
+      assertTrue(all.get(index - 1).getTriggerAtMillis() <= all.get(index).getTriggerAtMillis());
+    }
+
+    scheduler.cancelAll(voidCallback(errorRef));
+    assertEquals(0, scheduler.size());
+    assertTrue(scheduler.getAllScheduled().isEmpty());
+  }
+
+  @Test
+  public void identicalRequestWithoutKeyResolvesToTheFirstIdByDefault() {
+    InMemoryLocalNotificationScheduler scheduler = new InMemoryLocalNotificationScheduler();
+    String first = schedule(scheduler, intervalRequest(60));
+
+    assertEquals(first, schedule(scheduler, intervalRequest(60)));
+    assertEquals(1, scheduler.size());
+  }
+
+  private static String schedule(InMemoryLocalNotificationScheduler scheduler, Map<String, Object> request) {
+    AtomicReference<String> idRef = new AtomicReference<>();
+    scheduler.schedule(request, new LocalNotificationScheduler.ScheduleCallback() {
+      @Override
+      public void onSuccess(String id) {
+        idRef.set(id);
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        throw new AssertionError(error.getMessage());
+      }
+    });
+    return idRef.get();
+  }
+
+  private static LocalNotificationScheduler.VoidCallback voidCallback(AtomicReference<NotificationError> errorRef) {
+    return new LocalNotificationScheduler.VoidCallback() {
+      @Override
+      public void onSuccess() {}
+
+      @Override
+      public void onError(NotificationError error) {
+        errorRef.set(error);
+      }
+    };
+  }
+
+  private static Map<String, Object> intervalRequest(int seconds) {
+    Map<String, Object> trigger = new HashMap<>();
+    trigger.put("type", "timeInterval");
+    trigger.put("seconds", seconds);
+
+    Map<String, Object> request = new HashMap<>();
+    request.put("trigger", trigger);
+    return request;
+  }
+
+  private static List<String> ids(List<ScheduledNotification> notifications) {
+    List<String> ids = new ArrayList<>(notifications.size());
+    for (ScheduledNotification notification : notifications) {
+      ids.add(notification.getId());
+    }
+    return ids;
+  }
+}
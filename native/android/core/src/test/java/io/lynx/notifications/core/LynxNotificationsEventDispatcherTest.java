@@ -0,0 +1,162 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class LynxNotificationsEventDispatcherTest {
+  @Test
+  public void deliversModuleEventsInOrderOffTheCallerThread() throws InterruptedException {
+    LynxNotificationsEventDispatcher dispatcher = new LynxNotificationsEventDispatcher();
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler(),
+        dispatcher
+    );
+
+    List<Object> ids = Collections.synchronizedList(new ArrayList<>());
+    List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch delivered = new CountDownLatch(4);
+    module.startObservingEvents(payload -> {
+      if (payload.containsKey("type")) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> notification = (Map<String, Object>) payload.get("notification");
+        ids.add(notification.get("id"));
+        threads.add(Thread.currentThread());
+        delivered.countDown();
+      }
+    });
+
+    for (int index = 0; index < 4; index++) {
+      module.emitNotificationReceived(notification("n-" + index));
+    }
+
+    assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of("n-0", "n-1", "n-2", "n-3"), ids);
+    assertNotSame(Thread.currentThread(), threads.get(0));
+    dispatcher.shutdown();
+  }
+
+  @Test
+  public void dropNewestRejectsEventsWhenFull() throws InterruptedException {
+    BlockingSink sink = new BlockingSink();
+    LynxNotificationsEventDispatcher dispatcher =
+        new LynxNotificationsEventDispatcher(2, LynxNotificationsEventDispatcher.OverflowPolicy.DROP_NEWEST);
+    dispatcher.attach(sink);
+
+    dispatcher.dispatch("notification_received", "blocker", event("blocker"));
+    assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+    assertTrue(dispatcher.dispatch("notification_received", "a", event("a")));
+    assertTrue(dispatcher.dispatch("notification_received", "b", event("b")));
+    assertFalse(dispatcher.dispatch("notification_received", "c", event("c")));
+
+    assertEquals(1, dispatcher.getDroppedCount());
+    assertEquals(2, dispatcher.getQueueDepth());
+    sink.release(List.of("blocker", "a", "b"));
+    dispatcher.shutdown();
+  }
+
+  @Test
+  public void dropOldestEvictsHeadWhenFull() throws InterruptedException {
+    BlockingSink sink = new BlockingSink();
+    LynxNotificationsEventDispatcher dispatcher =
+        new LynxNotificationsEventDispatcher(2, LynxNotificationsEventDispatcher.OverflowPolicy.DROP_OLDEST);
+    dispatcher.attach(sink);
+
+    dispatcher.dispatch("notification_received", "blocker", event("blocker"));
+    assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+    dispatcher.dispatch("notification_received", "a", event("a"));
+    dispatcher.dispatch("notification_received", "b", event("b"));
+    assertTrue(dispatcher.dispatch("notification_received", "c", event("c")));
+
+    assertEquals(1, dispatcher.getDroppedCount());
+    sink.release(List.of("blocker", "b", "c"));
+    dispatcher.shutdown();
+  }
+
+  @Test
+  public void coalescesQueuedEventsWithSameNotificationId() throws InterruptedException {
+    BlockingSink sink = new BlockingSink();
+    LynxNotificationsEventDispatcher dispatcher =
+        new LynxNotificationsEventDispatcher(4, LynxNotificationsEventDispatcher.OverflowPolicy.COALESCE_BY_ID);
+    dispatcher.attach(sink);
+
+    dispatcher.dispatch("notification_received", "blocker", event("blocker"));
+    assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+    dispatcher.dispatch("notification_received", "a", event("a-1"));
+    dispatcher.dispatch("notification_received", "b", event("b"));
+    dispatcher.dispatch("notification_received", "a", event("a-2"));
+
+    assertEquals(1, dispatcher.getCoalescedCount());
+    assertEquals(2, dispatcher.getQueueDepth());
+    sink.release(List.of("blocker", "a-2", "b"));
+    dispatcher.shutdown();
+  }
+
+  @Test
+  public void neverCoalescesEventsWithoutNotificationId() throws InterruptedException {
+    BlockingSink sink = new BlockingSink();
+    LynxNotificationsEventDispatcher dispatcher =
+        new LynxNotificationsEventDispatcher(4, LynxNotificationsEventDispatcher.OverflowPolicy.COALESCE_BY_ID);
+    dispatcher.attach(sink);
+
+    dispatcher.dispatch("notification_received", "blocker", event("blocker"));
+    assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+    dispatcher.dispatch("notification_received", null, event("x"));
+    dispatcher.dispatch("notification_received", null, event("y"));
+
+    assertEquals(0, dispatcher.getCoalescedCount());
+    assertEquals(2, dispatcher.getQueueDepth());
+    sink.release(List.of("blocker", "x", "y"));
+    dispatcher.shutdown();
+  }
+
+  private static Map<String, Object> notification(String id) {
+    Map<String, Object> notification = new HashMap<>();
+    notification.put("id", id);
+    return notification;
+  }
+
+  private static Map<String, Object> event(String label) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("label", label);
+    return event;
+  }
+
+  private static final class BlockingSink implements LynxNotificationsEventDispatcher.Sink {
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch unblocked = new CountDownLatch(1);
+    private final List<Object> labels = Collections.synchronizedList(new ArrayList<>());
+    private volatile CountDownLatch delivered = new CountDownLatch(0);
+
+    @Override
+    public void deliver(Map<String, Object> event) {
+      labels.add(event.get("label"));
+      delivered.countDown();
+      entered.countDown();
+      try {
+        unblocked.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void release(List<Object> expected) throws InterruptedException {
+      delivered = new CountDownLatch(expected.size() - labels.size());
+      unblocked.countDown();
+      assertTrue(delivered.await(5, TimeUnit.SECONDS));
+      assertEquals(expected, labels);
+    }
+  }
+}
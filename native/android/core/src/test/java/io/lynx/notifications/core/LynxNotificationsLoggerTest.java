@@ -0,0 +1,71 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class LynxNotificationsLoggerTest {
+  @After
+  public void tearDown() {
+    LynxNotificationsLogger.setDebugEnabled(false);
+  }
+
+  @Test
+  public void formatsPlaceholdersInOrder() {
+    assertEquals("a=1 b=two c={}", LynxNotificationsLogger.format("a={} b={} c={}", 1, "two", null, 2));
+    assertEquals("no placeholders", LynxNotificationsLogger.format("no placeholders", "x", null, null, 1));
+    assertEquals("x=null", LynxNotificationsLogger.format("x={}", null, null, null, 1));
+  }
+
+  @Test
+  public void writesFormattedRecordsInBackground() throws InterruptedException {
+    PrintStream original = System.out;
+    ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+    try {
+      LynxNotificationsLogger.setDebugEnabled(true);
+      LynxNotificationsLogger.debug("scheduled id={} count={}", "n-1", 3L);
+      LynxNotificationsLogger.debug(() -> "lazy message");
+      assertTrue(LynxNotificationsLogger.flush(5, TimeUnit.SECONDS));
+    } finally {
+      System.setOut(original);
+    }
+
+    String output = captured.toString(StandardCharsets.UTF_8);
+    assertTrue(output, output.contains("[LynxNotifications][DEBUG] scheduled id=n-1 count=3"));
+    assertTrue(output, output.contains("[LynxNotifications][DEBUG] lazy message"));
+  }
+
+  @Test
+  public void disabledParameterizedCallsDoNotAllocate() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    String id = "notification-1";
+
+    for (int index = 0; index < 20_000; index++) {
+      logDisabled(id, index);
+    }
+
+    long before = threads.getThreadAllocatedBytes(threadId);
+    for (int index = 0; index < 20_000; index++) {
+      logDisabled(id, index);
+    }
+    long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+    assertTrue("allocated " + allocated + " bytes", allocated < 1024);
+  }
+
+  private static void logDisabled(String id, int count) {
+    LynxNotificationsLogger.debug("Scheduled local notification id={}", id);
+    LynxNotificationsLogger.debug("Canceled local notifications tag={} count={}", id, count);
+    LynxNotificationsLogger.error("schedule failed with code={} message={}", id, id);
+  }
+}
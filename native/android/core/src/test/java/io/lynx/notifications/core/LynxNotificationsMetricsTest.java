@@ -0,0 +1,112 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class LynxNotificationsMetricsTest {
+  @Test
+  public void histogramBucketsAndPercentiles() {
+    LynxNotificationsMetrics metrics = new LynxNotificationsMetrics();
+    for (int index = 0; index < 90; index++) {
+      metrics.recordLatency("scheduleNotification", LynxNotificationsMetrics.OUTCOME_OK, TimeUnit.MICROSECONDS.toNanos(40));
+    }
+    for (int index = 0; index < 10; index++) {
+      metrics.recordLatency("scheduleNotification", LynxNotificationsMetrics.OUTCOME_OK, TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    LynxNotificationsMetrics.LatencySnapshot latency =
+        metrics.snapshot().getLatency("scheduleNotification", LynxNotificationsMetrics.OUTCOME_OK);
+    assertNotNull(latency);
+    assertEquals(100, latency.getCount());
+    assertEquals(20_000, latency.getMaxMicros());
+    assertEquals(50, latency.getPercentileMicros(0.5));
+    assertEquals(20_000, latency.getPercentileMicros(0.99));
+    assertEquals(90, latency.getBucketCounts()[0]);
+  }
+
+  @Test
+  public void concurrentRecordingKeepsEveryCall() throws InterruptedException {
+    LynxNotificationsMetrics metrics = new LynxNotificationsMetrics();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int thread = 0; thread < 4; thread++) {
+      executor.execute(() -> {
+        for (int index = 0; index < 10_000; index++) {
+          metrics.recordLatency("getPushToken", LynxNotificationsMetrics.OUTCOME_OK, index * 1_000L);
+          metrics.increment(LynxNotificationsMetrics.EVENTS_EMITTED);
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    LynxNotificationsMetrics.Snapshot snapshot = metrics.snapshot();
+    assertEquals(40_000, snapshot.getLatency("getPushToken", LynxNotificationsMetrics.OUTCOME_OK).getCount());
+    assertEquals(Long.valueOf(40_000), snapshot.getCounters().get(LynxNotificationsMetrics.EVENTS_EMITTED));
+  }
+
+  @Test
+  public void moduleRecordsMethodOutcomesAndDroppedEvents() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler(),
+        null,
+        null
+    );
+    module.getMetrics().setLatencyEnabled(true);
+
+    Map<String, Object> trigger = new HashMap<>();
+    trigger.put("type", "timeInterval");
+    trigger.put("seconds", 60);
+    Map<String, Object> request = new HashMap<>();
+    request.put("trigger", trigger);
+
+    module.scheduleNotification(request, payload -> {});
+    module.getPushToken("fcm", payload -> {});
+    module.emitNotificationReceived(new HashMap<>());
+
+    LynxNotificationsMetrics.Snapshot snapshot = module.getMetrics().snapshot();
+    assertEquals(1, snapshot.getLatency("scheduleNotification", LynxNotificationsMetrics.OUTCOME_OK).getCount());
+    assertEquals(1, snapshot.getLatency("getPushToken", "ERR_PROVIDER_UNCONFIGURED").getCount());
+    assertEquals(Long.valueOf(1), snapshot.getCounters().get(LynxNotificationsMetrics.EVENTS_DROPPED_NO_OBSERVER));
+
+    AtomicReference<Map<String, Object>> diagnostics = new AtomicReference<>();
+    module.getDiagnostics(diagnostics::set);
+    assertEquals(true, diagnostics.get().get("ok"));
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> data = (Map<String, Object>) diagnostics.get().get("data");
+    @SuppressWarnings("unchecked")
+    Map<String, Object> metrics = (Map<String, Object>) data.get("metrics");
+    assertEquals(2, ((List<?>) metrics.get("latencies")).size());
+    assertNotNull(data.get("events"));
+  }
+
+  @Test
+  public void moduleSkipsLatenciesUnlessEnabled() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler(),
+        null,
+        null
+    );
+
+    module.getPushToken("fcm", payload -> {});
+    module.emitNotificationReceived(new HashMap<>());
+
+    LynxNotificationsMetrics.Snapshot snapshot = module.getMetrics().snapshot();
+    assertTrue(snapshot.getLatencies().isEmpty());
+    assertEquals(Long.valueOf(1), snapshot.getCounters().get(LynxNotificationsMetrics.EVENTS_DROPPED_NO_OBSERVER));
+  }
+}
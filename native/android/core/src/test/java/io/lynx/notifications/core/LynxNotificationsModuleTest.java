@@ -5,7 +5,11 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Test;
@@ -152,4 +156,249 @@ public class LynxNotificationsModuleTest {
     assertEquals("ERR_NATIVE_FAILURE", error.get("code"));
     assertEquals("boom", error.get("message"));
   }
+
+  @Test
+  public void schedulesBatchWithPerItemStatus() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler()
+    );
+
+    Map<String, Object> validTrigger = new HashMap<>();
+    validTrigger.put("type", "timeInterval");
+    validTrigger.put("seconds", 60);
+    Map<String, Object> validRequest = new HashMap<>();
+    validRequest.put("trigger", validTrigger);
+
+    Map<String, Object> pastTrigger = new HashMap<>();
+    pastTrigger.put("type", "date");
+    pastTrigger.put("date", System.currentTimeMillis() - 10_000);
+    Map<String, Object> pastRequest = new HashMap<>();
+    pastRequest.put("trigger", pastTrigger);
+
+    AtomicReference<Map<String, Object>> payload = new AtomicReference<>();
+    module.scheduleNotificationBatch(Arrays.asList(validRequest, pastRequest), payload::set);
+
+    assertNotNull(payload.get());
+    assertTrue((Boolean) payload.get().get("ok"));
+
+    @SuppressWarnings("unchecked")
+    List<Map<String, Object>> items = (List<Map<String, Object>>) payload.get().get("data");
+    assertEquals(2, items.size());
+    assertEquals(true, items.get(0).get("ok"));
+    assertTrue(((String) items.get(0).get("id")).startsWith("notification-"));
+    assertEquals(false, items.get(1).get("ok"));
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> error = (Map<String, Object>) items.get(1).get("error");
+    assertEquals("ERR_INVALID_ARGUMENT", error.get("code"));
+  }
+
+  @Test
+  public void cancelsBatchWithPerItemStatus() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler()
+    );
+
+    AtomicReference<Map<String, Object>> payload = new AtomicReference<>();
+    module.cancelScheduledNotificationBatch(Arrays.asList("notification-1", ""), payload::set);
+
+    assertNotNull(payload.get());
+    assertTrue((Boolean) payload.get().get("ok"));
+
+    @SuppressWarnings("unchecked")
+    List<Map<String, Object>> items = (List<Map<String, Object>>) payload.get().get("data");
+    assertEquals(2, items.size());
+    assertEquals(true, items.get(0).get("ok"));
+    assertEquals("notification-1", items.get(0).get("id"));
+    assertEquals(false, items.get(1).get("ok"));
+  }
+
+  @Test
+  public void cancelsOnlyNotificationsWithMatchingTag() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler()
+    );
+
+    AtomicReference<Map<String, Object>> payload = new AtomicReference<>();
+    module.scheduleNotification(taggedRequest("cart-reminders", "user:123"), payload::set);
+    String cartId = (String) payload.get().get("data");
+    module.scheduleNotification(taggedRequest("user:123"), payload::set);
+    String userId = (String) payload.get().get("data");
+
+    module.getScheduledNotificationsByTag("user:123", payload::set);
+    assertEquals(Arrays.asList(cartId, userId), payload.get().get("data"));
+
+    module.cancelScheduledNotificationsByTag("cart-reminders", payload::set);
+    assertTrue((Boolean) payload.get().get("ok"));
+
+    module.getScheduledNotificationsByTag("cart-reminders", payload::set);
+    assertEquals(Collections.emptyList(), payload.get().get("data"));
+    module.getScheduledNotificationsByTag("user:123", payload::set);
+    assertEquals(Collections.singletonList(userId), payload.get().get("data"));
+  }
+
+  @Test
+  public void rejectsNonStringTags() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler()
+    );
+
+    Map<String, Object> request = new HashMap<>();
+    request.put("tags", Arrays.asList("valid", 42));
+
+    AtomicReference<Map<String, Object>> payload = new AtomicReference<>();
+    module.scheduleNotification(request, payload::set);
+
+    assertFalse((Boolean) payload.get().get("ok"));
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> error = (Map<String, Object>) payload.get().get("error");
+    assertEquals("ERR_INVALID_ARGUMENT", error.get("code"));
+  }
+
+  @Test
+  public void replaysEventsEmittedBeforeObserverRegisters() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler(),
+        null,
+        new EventReplayBuffer(2, 60_000)
+    );
+
+    module.emitNotificationReceived(Collections.singletonMap("id", "n-1"));
+    module.emitNotificationReceived(Collections.singletonMap("id", "n-2"));
+    module.emitTokenRefreshed(new PushToken("fcm", "token-123"));
+
+    List<Map<String, Object>> events = new ArrayList<>();
+    module.startObservingEvents(events::add);
+
+    assertEquals(3, events.size());
+    assertTrue((Boolean) events.get(0).get("ok"));
+    assertEquals("notification_received", events.get(1).get("type"));
+    assertEquals(Collections.singletonMap("id", "n-2"), events.get(1).get("notification"));
+    assertEquals("token_refreshed", events.get(2).get("type"));
+
+    module.emitNotificationReceived(Collections.singletonMap("id", "n-3"));
+    assertEquals(4, events.size());
+  }
+
+  @Test
+  public void replayedEventsArriveBeforeEventsEmittedDuringRegistration() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler(),
+        null,
+        new EventReplayBuffer(8, 60_000)
+    );
+    module.emitNotificationReceived(Collections.singletonMap("id", "buffered"));
+
+    List<Object> ids = new ArrayList<>();
+    module.startObservingEvents(payload -> {
+      if (Boolean.TRUE.equals(payload.get("ok"))) {
+        // Emitted while registration is still in progress.
+        module.emitNotificationReceived(Collections.singletonMap("id", "live"));
+        return;
+      }
+      ids.add(((Map<?, ?>) payload.get("notification")).get("id"));
+    });
+
+    assertEquals(Arrays.asList("buffered", "live"), ids);
+    assertEquals(1, module.getObserverCount());
+  }
+
+  @Test
+  public void discardsReplayEventsOlderThanMaxAge() throws InterruptedException {
+    EventReplayBuffer replayBuffer = new EventReplayBuffer(8, 1);
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler(),
+        null,
+        replayBuffer
+    );
+
+    module.emitNotificationReceived(Collections.singletonMap("id", "stale"));
+    Thread.sleep(20);
+
+    List<Map<String, Object>> events = new ArrayList<>();
+    module.startObservingEvents(events::add);
+
+    assertEquals(1, events.size());
+    assertEquals(1, replayBuffer.getEvictedCount());
+  }
+
+  @Test
+  public void fansOutEventsToEveryObserverAndIsolatesFailures() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler()
+    );
+
+    List<Map<String, Object>> first = new ArrayList<>();
+    List<Map<String, Object>> second = new ArrayList<>();
+    module.startObservingEvents(first::add);
+    LynxNotificationsModule.Subscription failing = module.startObservingEvents(payload -> {
+      if (payload.containsKey("type")) {
+        throw new IllegalStateException("observer failure");
+      }
+    });
+    LynxNotificationsModule.Subscription secondSubscription = module.startObservingEvents(second::add);
+
+    module.emitNotificationReceived(Collections.singletonMap("id", "n-1"));
+    assertEquals(2, first.size());
+    assertEquals(2, second.size());
+
+    failing.remove();
+    secondSubscription.remove();
+    assertEquals(1, module.getObserverCount());
+
+    module.emitNotificationReceived(Collections.singletonMap("id", "n-2"));
+    assertEquals(3, first.size());
+    assertEquals(2, second.size());
+  }
+
+  @Test
+  public void runsObserverOnItsOwnExecutor() {
+    LynxNotificationsModule module = new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        new PushTokenProviderRegistry(),
+        new InMemoryLocalNotificationScheduler()
+    );
+
+    List<Runnable> queued = new ArrayList<>();
+    List<Map<String, Object>> slow = new ArrayList<>();
+    List<Map<String, Object>> fast = new ArrayList<>();
+    module.startObservingEvents(slow::add, queued::add);
+    module.startObservingEvents(fast::add);
+
+    module.emitTokenRefreshed(new PushToken("fcm", "token-123"));
+
+    assertEquals(2, fast.size());
+    assertEquals(1, slow.size());
+    assertEquals(1, queued.size());
+    queued.get(0).run();
+    assertEquals(2, slow.size());
+  }
+
+  private static Map<String, Object> taggedRequest(String... tags) {
+    Map<String, Object> trigger = new HashMap<>();
+    trigger.put("type", "timeInterval");
+    trigger.put("seconds", 60);
+
+    Map<String, Object> request = new HashMap<>();
+    request.put("trigger", trigger);
+    request.put("tags", Arrays.asList(tags));
+    return request;
+  }
 }
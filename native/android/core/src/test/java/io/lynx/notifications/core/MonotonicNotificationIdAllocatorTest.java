@@ -0,0 +1,84 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MonotonicNotificationIdAllocatorTest {
+  private File directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("lynx-ids").toFile();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<java.nio.file.Path> paths = Files.walk(directory.toPath())) {
+      paths.sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void concurrentIdsMapToDistinctRequestCodes() throws InterruptedException {
+    MonotonicNotificationIdAllocator allocator =
+        new MonotonicNotificationIdAllocator(new File(directory, "ids.state"));
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    Set<Integer> codes = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int thread = 0; thread < 4; thread++) {
+      executor.execute(() -> {
+        for (int index = 0; index < 25_000; index++) {
+          String id = allocator.nextId();
+          ids.add(id);
+          codes.add(allocator.requestCodeFor(id));
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(100_000, ids.size());
+    assertEquals(100_000, codes.size());
+  }
+
+  @Test
+  public void resumesAfterReservedBlockAcrossRestarts() {
+    File state = new File(directory, "nested/ids.state");
+    MonotonicNotificationIdAllocator first = new MonotonicNotificationIdAllocator(state);
+    Set<Integer> codes = new HashSet<>();
+    for (int index = 0; index < 10; index++) {
+      codes.add(first.requestCodeFor(first.nextId()));
+    }
+
+    MonotonicNotificationIdAllocator second = new MonotonicNotificationIdAllocator(state);
+    String next = second.nextId();
+    assertEquals("notification-" + (MonotonicNotificationIdAllocator.BLOCK_SIZE + 1), next);
+    assertTrue(codes.add(second.requestCodeFor(next)));
+  }
+
+  @Test
+  public void foreignIdsFallBackToHashCode() {
+    MonotonicNotificationIdAllocator allocator = new MonotonicNotificationIdAllocator();
+    String legacy = "notification-0b7c4f1e-3c2a-4d8e-9f10-2a6b1c3d4e5f";
+
+    assertEquals("notification-1", allocator.nextId());
+    assertEquals(1, allocator.requestCodeFor("notification-1"));
+    assertEquals(legacy.hashCode(), allocator.requestCodeFor(legacy));
+    assertEquals("custom".hashCode(), allocator.requestCodeFor("custom"));
+  }
+}
@@ -0,0 +1,50 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class NativeResultTest {
+  @Test
+  public void okEnvelopeMatchesLegacyHashMapShape() {
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("ok", true);
+    expected.put("data", "notification-1");
+
+    Map<String, Object> envelope = NativeResult.ok("notification-1");
+
+    assertEquals(expected, envelope);
+    assertEquals(expected.hashCode(), envelope.hashCode());
+    assertEquals(expected.entrySet(), envelope.entrySet());
+  }
+
+  @Test
+  public void okNullEnvelopeIsSharedAndKeepsDataKey() {
+    Map<String, Object> envelope = NativeResult.ok(null);
+
+    assertSame(envelope, NativeResult.ok(null));
+    assertTrue(envelope.containsKey("data"));
+    assertEquals(2, envelope.size());
+  }
+
+  @Test
+  public void errorEnvelopeMatchesLegacyHashMapShape() {
+    Map<String, Object> error = new HashMap<>();
+    error.put("code", "ERR_INVALID_ARGUMENT");
+    error.put("message", "bad input");
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("ok", false);
+    expected.put("error", error);
+
+    assertEquals(expected, NativeResult.error("ERR_INVALID_ARGUMENT", "bad input"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void envelopesAreImmutable() {
+    NativeResult.ok("value").put("ok", false);
+  }
+}
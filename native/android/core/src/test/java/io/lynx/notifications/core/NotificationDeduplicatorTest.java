@@ -0,0 +1,110 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class NotificationDeduplicatorTest {
+  @Test
+  public void idempotencyKeyReturnsExistingIdUntilCancelled() {
+    InMemoryLocalNotificationScheduler scheduler = new InMemoryLocalNotificationScheduler();
+
+    String first = schedule(scheduler, request("Hello", "reminder-1"));
+    assertEquals(first, schedule(scheduler, request("Hello again", "reminder-1")));
+    assertNotEquals(first, schedule(scheduler, request("Hello", "reminder-2")));
+    assertEquals(2, scheduler.size());
+
+    scheduler.cancel(first, voidCallback());
+    assertNotEquals(first, schedule(scheduler, request("Hello", "reminder-1")));
+  }
+
+  @Test
+  public void identicalContentMatchesOnlyWithinWindow() throws NotificationError {
+    NotificationDeduplicator deduplicator = new NotificationDeduplicator(16, 1_000);
+    NotificationRequest original = NotificationRequest.parse(request("Hello", null));
+
+    assertEquals("notification-1", deduplicator.record(original, "notification-1", 10_000));
+    assertEquals("notification-1", deduplicator.find(NotificationRequest.parse(request("Hello", null)), 10_500));
+    assertNull(deduplicator.find(NotificationRequest.parse(request("Other", null)), 10_500));
+    assertNull(deduplicator.find(NotificationRequest.parse(request("Hello", null)), 11_001));
+
+    assertEquals(
+        "notification-2",
+        deduplicator.record(NotificationRequest.parse(request("Hello", null)), "notification-2", 11_001)
+    );
+    assertEquals(
+        "notification-2",
+        deduplicator.record(NotificationRequest.parse(request("Hello", null)), "notification-3", 11_002)
+    );
+  }
+
+  @Test
+  public void contentKeyIgnoresLaterChangesToTheCallersMap() throws NotificationError {
+    NotificationDeduplicator deduplicator = new NotificationDeduplicator(16, 1_000);
+    Map<String, Object> request = request("Hello", null);
+    deduplicator.record(NotificationRequest.parse(request), "notification-1", 0);
+
+    request.put("groupKey", "changed");
+
+    assertEquals("notification-1", deduplicator.find(NotificationRequest.parse(request("Hello", null)), 10));
+  }
+
+  @Test
+  public void evictsOldestKeyBeyondCapacity() throws NotificationError {
+    NotificationDeduplicator deduplicator = new NotificationDeduplicator(2, 0);
+    for (int index = 1; index <= 3; index++) {
+      deduplicator.record(NotificationRequest.parse(request("Hello", "key-" + index)), "id-" + index, 0);
+    }
+
+    assertEquals(2, deduplicator.size());
+    assertNull(deduplicator.find(NotificationRequest.parse(request("Hello", "key-1")), 0));
+    assertEquals("id-3", deduplicator.find(NotificationRequest.parse(request("Hello", "key-3")), 0));
+    assertNull(deduplicator.find(NotificationRequest.parse(request("Hello", null)), 0));
+  }
+
+  private static Map<String, Object> request(String title, String idempotencyKey) {
+    Map<String, Object> content = new HashMap<>();
+    content.put("title", title);
+    Map<String, Object> request = new HashMap<>();
+    request.put("content", content);
+    request.put("trigger", null);
+    if (idempotencyKey != null) {
+      request.put("idempotencyKey", idempotencyKey);
+    }
+    return request;
+  }
+
+  private static String schedule(LocalNotificationScheduler scheduler, Map<String, Object> request) {
+    AtomicReference<String> idRef = new AtomicReference<>();
+    scheduler.schedule(request, new LocalNotificationScheduler.ScheduleCallback() {
+      @Override
+      public void onSuccess(String id) {
+        idRef.set(id);
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        throw new AssertionError(error.getMessage());
+      }
+    });
+    return idRef.get();
+  }
+
+  private static LocalNotificationScheduler.VoidCallback voidCallback() {
+    return new LocalNotificationScheduler.VoidCallback() {
+      @Override
+      public void onSuccess() {
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        throw new AssertionError(error.getMessage());
+      }
+    };
+  }
+}
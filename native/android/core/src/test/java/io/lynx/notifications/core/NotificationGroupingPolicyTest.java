@@ -0,0 +1,55 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class NotificationGroupingPolicyTest {
+  @Test
+  public void summarizesOnlyGroupsAboveTheThreshold() throws NotificationError {
+    List<NotificationRequest> burst = new ArrayList<>();
+    for (String key : Arrays.asList("chat", null, "chat", "chat", null, "chat")) {
+      burst.add(request(key));
+    }
+
+    List<NotificationGroupingPolicy.Group<NotificationRequest>> groups =
+        new NotificationGroupingPolicy(3).group(burst, request -> request);
+
+    assertEquals(2, groups.size());
+    assertEquals("chat", groups.get(0).getKey());
+    assertEquals(4, groups.get(0).getMembers().size());
+    assertTrue(groups.get(0).isSummarized());
+    assertEquals(NotificationGroupingPolicy.DEFAULT_GROUP_KEY, groups.get(1).getKey());
+    assertEquals(Arrays.asList(burst.get(1), burst.get(4)), groups.get(1).getMembers());
+    assertFalse(groups.get(1).isSummarized());
+  }
+
+  @Test
+  public void disabledPolicyNeverSummarizes() throws NotificationError {
+    List<NotificationRequest> burst = new ArrayList<>();
+    for (int index = 0; index < 100; index++) {
+      burst.add(request(null));
+    }
+
+    List<NotificationGroupingPolicy.Group<NotificationRequest>> groups =
+        NotificationGroupingPolicy.disabled().group(burst, request -> request);
+
+    assertEquals(1, groups.size());
+    assertFalse(groups.get(0).isSummarized());
+  }
+
+  private static NotificationRequest request(String groupKey) throws NotificationError {
+    Map<String, Object> request = new HashMap<>();
+    if (groupKey != null) {
+      request.put("groupKey", groupKey);
+    }
+    return NotificationRequest.parse(request);
+  }
+}
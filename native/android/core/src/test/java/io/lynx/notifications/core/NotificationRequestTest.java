@@ -0,0 +1,145 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class NotificationRequestTest {
+  @Test
+  public void parsesContentTagsAndTrigger() throws NotificationError {
+    Map<String, Object> data = new HashMap<>();
+    data.put("screen", "inbox");
+    Map<String, Object> content = new HashMap<>();
+    content.put("title", "Hello");
+    content.put("body", "World");
+    content.put("subtitle", 42);
+    content.put("badge", 3);
+    content.put("sound", "default");
+    content.put("data", data);
+    Map<String, Object> trigger = new HashMap<>();
+    trigger.put("type", "timeInterval");
+    trigger.put("seconds", 1.5);
+    trigger.put("repeats", true);
+    Map<String, Object> request = new HashMap<>();
+    request.put("content", content);
+    request.put("trigger", trigger);
+    request.put("tags", Arrays.asList("promo", "daily"));
+    request.put("precision", "inexact");
+    request.put("groupKey", "chat");
+
+    NotificationRequest parsed = NotificationRequest.parse(request);
+
+    assertSame(request, parsed.getSource());
+    assertEquals("Hello", parsed.getTitle());
+    assertEquals("World", parsed.getBody());
+    assertNull(parsed.getSubtitle());
+    assertEquals(3, parsed.getBadge());
+    assertTrue(parsed.usesDefaultSound());
+    assertEquals("inbox", parsed.getData().get("screen"));
+    assertEquals(Arrays.asList("promo", "daily"), parsed.getTags());
+    assertEquals(NotificationRequest.Precision.INEXACT, parsed.getPrecision());
+    assertEquals("chat", parsed.getGroupKey());
+    assertEquals(NotificationTrigger.Type.TIME_INTERVAL, parsed.getTrigger().getType());
+    assertEquals(1_500, parsed.getTrigger().getRepeatIntervalMillis());
+    assertEquals(11_500, parsed.getTrigger().firstTriggerAt(10_000));
+  }
+
+  @Test
+  public void missingTriggerAndContentAreImmediateAndEmpty() throws NotificationError {
+    NotificationRequest parsed = NotificationRequest.parse(new HashMap<>());
+
+    assertEquals(NotificationTrigger.Type.IMMEDIATE, parsed.getTrigger().getType());
+    assertEquals(5_000, parsed.getTrigger().firstTriggerAt(5_000));
+    assertEquals(-1, parsed.getBadge());
+    assertFalse(parsed.usesDefaultSound());
+    assertNull(parsed.getData());
+    assertTrue(parsed.getTags().isEmpty());
+    assertEquals(NotificationRequest.Precision.EXACT, parsed.getPrecision());
+    assertNull(parsed.getGroupKey());
+  }
+
+  @Test
+  public void rejectsInvalidTriggers() throws NotificationError {
+    Map<String, Object> repeatingDate = new HashMap<>();
+    repeatingDate.put("type", "date");
+    repeatingDate.put("date", 10_000);
+    repeatingDate.put("repeats", true);
+    assertInvalid(repeatingDate, "Date trigger does not support repeats=true.");
+
+    Map<String, Object> zeroInterval = new HashMap<>();
+    zeroInterval.put("type", "timeInterval");
+    zeroInterval.put("seconds", 0);
+    assertInvalid(zeroInterval, "Time interval trigger requires seconds > 0.");
+
+    Map<String, Object> unknown = new HashMap<>();
+    unknown.put("type", "location");
+    assertInvalid(unknown, "Unknown notification trigger type.");
+
+    Map<String, Object> pastDate = new HashMap<>();
+    pastDate.put("type", "date");
+    pastDate.put("date", 10_000);
+    Map<String, Object> request = new HashMap<>();
+    request.put("trigger", pastDate);
+    NotificationTrigger trigger = NotificationRequest.parse(request).getTrigger();
+    try {
+      trigger.firstTriggerAt(10_000);
+      fail("Expected a past date to be rejected.");
+    } catch (NotificationError error) {
+      assertEquals("ERR_INVALID_ARGUMENT", error.getCode());
+    }
+  }
+
+  @Test
+  public void rejectsDataThatIsNotJson() throws NotificationError {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("ids", Arrays.asList(1, 2.5, null, "three"));
+    Map<String, Object> data = new HashMap<>();
+    data.put("nested", nested);
+    data.put("flag", true);
+    assertEquals(nested, NotificationRequest.parse(requestWithData(data)).getData().get("nested"));
+
+    data.put("ratio", Double.NaN);
+    try {
+      NotificationRequest.parse(requestWithData(data));
+      fail("Expected non-finite data to be rejected.");
+    } catch (NotificationError error) {
+      assertEquals("ERR_INVALID_ARGUMENT", error.getCode());
+    }
+
+    data.put("ratio", new Object());
+    try {
+      NotificationRequest.parse(requestWithData(data));
+      fail("Expected an arbitrary object in data to be rejected.");
+    } catch (NotificationError error) {
+      assertEquals("ERR_INVALID_ARGUMENT", error.getCode());
+    }
+  }
+
+  private static Map<String, Object> requestWithData(Map<String, Object> data) {
+    Map<String, Object> content = new HashMap<>();
+    content.put("data", data);
+    Map<String, Object> request = new HashMap<>();
+    request.put("content", content);
+    return request;
+  }
+
+  private static void assertInvalid(Map<String, Object> trigger, String message) {
+    Map<String, Object> request = new HashMap<>();
+    request.put("trigger", trigger);
+    try {
+      NotificationRequest.parse(request);
+      fail("Expected " + message);
+    } catch (NotificationError error) {
+      assertEquals("ERR_INVALID_ARGUMENT", error.getCode());
+      assertEquals(message, error.getMessage());
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import org.junit.Test;
+
+public class NotificationTriggerTest {
+  private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+  @Test
+  public void dailyKeepsWallClockTimeAcrossDstChanges() throws NotificationError {
+    Map<String, Object> daily = new HashMap<>();
+    daily.put("type", "daily");
+    daily.put("hour", 9);
+    daily.put("minute", 30);
+    daily.put("timeZone", "America/New_York");
+    NotificationTrigger trigger = NotificationTrigger.parse(daily);
+
+    assertTrue(trigger.repeats());
+    assertEquals(0, trigger.getRepeatIntervalMillis());
+
+    // 2026-03-07 09:30 EST, the day before clocks spring forward.
+    long beforeSpring = at(NEW_YORK, 2026, Calendar.MARCH, 7, 9, 30);
+    long afterSpring = trigger.nextFireAfter(beforeSpring);
+    assertEquals(at(NEW_YORK, 2026, Calendar.MARCH, 8, 9, 30), afterSpring);
+    assertEquals(23L * 60 * 60 * 1000, afterSpring - beforeSpring);
+
+    long beforeFall = at(NEW_YORK, 2026, Calendar.OCTOBER, 31, 9, 30);
+    assertEquals(25L * 60 * 60 * 1000, trigger.nextFireAfter(beforeFall) - beforeFall);
+  }
+
+  @Test
+  public void skippedLocalTimeFiresAfterTheGap() throws NotificationError {
+    Map<String, Object> calendar = new HashMap<>();
+    calendar.put("type", "calendar");
+    calendar.put("hour", 2);
+    calendar.put("minute", 30);
+    calendar.put("timeZone", "America/New_York");
+    NotificationTrigger trigger = NotificationTrigger.parse(calendar);
+
+    long next = trigger.nextFireAfter(at(NEW_YORK, 2026, Calendar.MARCH, 8, 0, 0));
+
+    assertEquals(at(NEW_YORK, 2026, Calendar.MARCH, 8, 3, 30), next);
+  }
+
+  @Test
+  public void weeklyMatchesEachWeekdayInTheSet() throws NotificationError {
+    Map<String, Object> weekly = new HashMap<>();
+    weekly.put("type", "weekly");
+    weekly.put("weekday", Arrays.asList(2, 6));
+    weekly.put("hour", 8);
+    weekly.put("minute", 0);
+    weekly.put("timeZone", "UTC");
+    NotificationTrigger trigger = NotificationTrigger.parse(weekly);
+    TimeZone utc = TimeZone.getTimeZone("UTC");
+
+    // 2026-10-17 is a Saturday.
+    long monday = trigger.nextFireAfter(at(utc, 2026, Calendar.OCTOBER, 17, 12, 0));
+    assertEquals(at(utc, 2026, Calendar.OCTOBER, 19, 8, 0), monday);
+    assertEquals(at(utc, 2026, Calendar.OCTOBER, 23, 8, 0), trigger.nextFireAfter(monday));
+  }
+
+  @Test
+  public void fixedYearDecadesAheadStillMatches() throws NotificationError {
+    Map<String, Object> calendar = new HashMap<>();
+    calendar.put("type", "calendar");
+    calendar.put("year", 2060);
+    calendar.put("month", 7);
+    calendar.put("day", 4);
+    calendar.put("hour", 9);
+    calendar.put("minute", 0);
+    calendar.put("timeZone", "UTC");
+    NotificationTrigger trigger = NotificationTrigger.parse(calendar);
+    TimeZone utc = TimeZone.getTimeZone("UTC");
+
+    assertEquals(
+        at(utc, 2060, Calendar.JULY, 4, 9, 0),
+        trigger.nextFireAfter(at(utc, 2026, Calendar.OCTOBER, 17, 12, 0))
+    );
+    assertEquals(-1, trigger.nextFireAfter(at(utc, 2061, Calendar.JANUARY, 1, 0, 0)));
+  }
+
+  @Test
+  public void rejectsImpossibleCalendars() throws NotificationError {
+    Map<String, Object> unknownZone = new HashMap<>();
+    unknownZone.put("type", "daily");
+    unknownZone.put("hour", 8);
+    unknownZone.put("minute", 0);
+    unknownZone.put("timeZone", "Mars/Olympus");
+    assertInvalid(unknownZone);
+
+    Map<String, Object> badWeekday = new HashMap<>();
+    badWeekday.put("type", "weekly");
+    badWeekday.put("weekday", 8);
+    badWeekday.put("hour", 8);
+    badWeekday.put("minute", 0);
+    assertInvalid(badWeekday);
+
+    Map<String, Object> february30 = new HashMap<>();
+    february30.put("type", "calendar");
+    february30.put("month", 2);
+    february30.put("day", 30);
+    NotificationTrigger never = NotificationTrigger.parse(february30);
+    try {
+      never.firstTriggerAt(0);
+      fail("Expected February 30 to be rejected.");
+    } catch (NotificationError error) {
+      assertEquals("ERR_INVALID_ARGUMENT", error.getCode());
+    }
+  }
+
+  private static long at(TimeZone zone, int year, int month, int day, int hour, int minute) {
+    Calendar calendar = Calendar.getInstance(zone);
+    calendar.clear();
+    calendar.set(year, month, day, hour, minute, 0);
+    return calendar.getTimeInMillis();
+  }
+
+  private static void assertInvalid(Map<String, Object> trigger) {
+    try {
+      NotificationTrigger.parse(trigger);
+      fail("Expected trigger to be rejected: " + trigger);
+    } catch (NotificationError error) {
+      assertEquals("ERR_INVALID_ARGUMENT", error.getCode());
+    }
+  }
+}
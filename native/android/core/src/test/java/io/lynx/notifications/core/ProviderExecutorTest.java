@@ -0,0 +1,115 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class ProviderExecutorTest {
+  @Test
+  public void blockingProviderDoesNotHoldCallerThread() throws InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    CountDownLatch release = new CountDownLatch(1);
+    PushTokenProviderRegistry registry = new PushTokenProviderRegistry();
+    registry.register("fcm", callback -> {
+      try {
+        release.await();
+        callback.onSuccess(new PushToken("fcm", "token-1"));
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    LynxNotificationsModule module = module(registry, ProviderExecutor.using(pool));
+
+    CountDownLatch resolved = new CountDownLatch(1);
+    AtomicReference<Map<String, Object>> payload = new AtomicReference<>();
+    module.getPushToken("fcm", result -> {
+      payload.set(result);
+      resolved.countDown();
+    });
+
+    assertNull(payload.get());
+    release.countDown();
+    assertTrue(resolved.await(5, TimeUnit.SECONDS));
+    assertEquals(true, payload.get().get("ok"));
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void closeCancelsInFlightCallsExactlyOnce() throws InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    AtomicReference<PushTokenProvider.TokenCallback> lateCallback = new AtomicReference<>();
+    PushTokenProviderRegistry registry = new PushTokenProviderRegistry();
+    registry.register("fcm", callback -> {
+      lateCallback.set(callback);
+      started.countDown();
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException exception) {
+        interrupted.countDown();
+      }
+    });
+    ProviderExecutor executor = ProviderExecutor.using(pool);
+    LynxNotificationsModule module = module(registry, executor);
+
+    AtomicInteger resolutions = new AtomicInteger();
+    AtomicReference<Map<String, Object>> payload = new AtomicReference<>();
+    module.getPushToken("fcm", result -> {
+      resolutions.incrementAndGet();
+      payload.set(result);
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertEquals(1, executor.getInFlightCount());
+
+    module.close();
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    lateCallback.get().onSuccess(new PushToken("fcm", "late"));
+
+    assertEquals(1, resolutions.get());
+    assertEquals(false, payload.get().get("ok"));
+    assertEquals("ERR_NOTIFICATIONS_UNAVAILABLE", ((Map<?, ?>) payload.get().get("error")).get("code"));
+    assertEquals(0, executor.getInFlightCount());
+
+    AtomicReference<Map<String, Object>> afterClose = new AtomicReference<>();
+    module.getPushToken("fcm", afterClose::set);
+    assertEquals(false, afterClose.get().get("ok"));
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void virtualThreadModeMatchesRuntime() {
+    if (ProviderExecutor.isVirtualThreadsSupported()) {
+      ProviderExecutor.virtualThreads().close();
+      return;
+    }
+
+    try {
+      ProviderExecutor.virtualThreads();
+      fail("Expected virtual threads to be unavailable before Java 21.");
+    } catch (UnsupportedOperationException expected) {
+      // Java 17 build.
+    }
+  }
+
+  private static LynxNotificationsModule module(PushTokenProviderRegistry registry, ProviderExecutor executor) {
+    return new LynxNotificationsModule(
+        new NoopPermissionProvider(),
+        registry,
+        new InMemoryLocalNotificationScheduler(),
+        null,
+        null,
+        executor
+    );
+  }
+}
@@ -0,0 +1,89 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+public class RollingNotificationWindowTest {
+  @Test
+  public void armsOnlyTheEarliestAndPromotesOnRemoval() {
+    RollingNotificationWindow window = new RollingNotificationWindow(2);
+
+    assertEquals("a", window.put("a", 300).getArmedId());
+    assertEquals("b", window.put("b", 100).getArmedId());
+    RollingNotificationWindow.Change waiting = window.put("c", 400);
+    assertNull(waiting.getArmedId());
+    assertNull(waiting.getDisarmedId());
+
+    RollingNotificationWindow.Change earlier = window.put("d", 200);
+    assertEquals("d", earlier.getArmedId());
+    assertEquals("a", earlier.getDisarmedId());
+
+    RollingNotificationWindow.Change fired = window.remove("b");
+    assertEquals("a", fired.getArmedId());
+    assertEquals("b", fired.getDisarmedId());
+    assertTrue(window.isArmed("a"));
+    assertFalse(window.isArmed("c"));
+  }
+
+  @Test
+  public void movingAnArmedEntryLaterHandsItsSlotOver() {
+    RollingNotificationWindow window = new RollingNotificationWindow(1);
+    window.put("daily", 100);
+    window.put("once", 200);
+
+    RollingNotificationWindow.Change change = window.put("daily", 300);
+    assertEquals("once", change.getArmedId());
+    assertEquals("daily", change.getDisarmedId());
+
+    RollingNotificationWindow.Change rearm = window.put("once", 250);
+    assertEquals("once", rearm.getArmedId());
+    assertNull(rearm.getDisarmedId());
+  }
+
+  @Test
+  public void appliedChangesAlwaysMatchTheEarliestEntries() {
+    int capacity = 16;
+    RollingNotificationWindow window = new RollingNotificationWindow(capacity);
+    Set<String> alarms = new HashSet<>();
+    List<String> ids = new ArrayList<>();
+    Random random = new Random(21);
+    for (int step = 0; step < 5_000; step++) {
+      RollingNotificationWindow.Change change;
+      if (ids.isEmpty() || random.nextInt(3) > 0) {
+        String id = "n" + step;
+        ids.add(id);
+        change = window.put(id, random.nextInt(1_000));
+      } else {
+        change = window.remove(ids.remove(random.nextInt(ids.size())));
+      }
+      if (change.getDisarmedId() != null) {
+        alarms.remove(change.getDisarmedId());
+      }
+      if (change.getArmedId() != null) {
+        alarms.add(change.getArmedId());
+      }
+      assertEquals(Math.min(capacity, ids.size()), alarms.size());
+    }
+
+    List<String> armed = new ArrayList<>();
+    for (String id : ids) {
+      if (window.isArmed(id)) {
+        armed.add(id);
+      }
+    }
+    Collections.sort(armed);
+    List<String> expected = new ArrayList<>(alarms);
+    Collections.sort(expected);
+    assertEquals(expected, armed);
+  }
+}
@@ -0,0 +1,78 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class RuntimeNotificationPermissionProviderTest {
+  @Test
+  public void servesCachedStateUntilInvalidated() {
+    FakeStateReader reader = new FakeStateReader();
+    RuntimeNotificationPermissionProvider provider = new RuntimeNotificationPermissionProvider(reader, null);
+
+    assertEquals("undetermined", status(provider));
+    reader.granted = true;
+    assertEquals("undetermined", status(provider));
+    assertEquals(1, reader.reads.get());
+
+    provider.invalidate();
+    assertEquals("granted", status(provider));
+    assertEquals(2, reader.reads.get());
+  }
+
+  @Test
+  public void requestResultReplacesCachedState() {
+    FakeStateReader reader = new FakeStateReader();
+    AtomicReference<RuntimeNotificationPermissionProvider.PermissionRequestLauncher.RequestCallback> pending =
+        new AtomicReference<>();
+    RuntimeNotificationPermissionProvider provider = new RuntimeNotificationPermissionProvider(reader, pending::set);
+
+    assertEquals("undetermined", status(provider));
+
+    AtomicReference<NotificationPermissions> requested = new AtomicReference<>();
+    provider.requestPermissions(callback(requested));
+    pending.get().onResult(true);
+
+    assertEquals("granted", requested.get().toMap().get("status"));
+    assertEquals("granted", status(provider));
+    assertEquals(1, reader.reads.get());
+  }
+
+  private static String status(RuntimeNotificationPermissionProvider provider) {
+    AtomicReference<NotificationPermissions> permissions = new AtomicReference<>();
+    provider.getPermissions(callback(permissions));
+    return (String) permissions.get().toMap().get("status");
+  }
+
+  private static NotificationPermissionProvider.PermissionsCallback callback(
+      AtomicReference<NotificationPermissions> permissionsRef
+  ) {
+    return new NotificationPermissionProvider.PermissionsCallback() {
+      @Override
+      public void onSuccess(NotificationPermissions permissions) {
+        permissionsRef.set(permissions);
+      }
+
+      @Override
+      public void onError(NotificationError error) {}
+    };
+  }
+
+  private static final class FakeStateReader implements RuntimeNotificationPermissionProvider.PermissionStateReader {
+    private final AtomicInteger reads = new AtomicInteger();
+    private volatile boolean granted;
+
+    @Override
+    public boolean isGranted() {
+      reads.incrementAndGet();
+      return granted;
+    }
+
+    @Override
+    public boolean canAskAgain() {
+      return true;
+    }
+  }
+}
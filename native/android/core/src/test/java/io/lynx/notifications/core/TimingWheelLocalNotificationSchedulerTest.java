@@ -0,0 +1,238 @@
+package io.lynx.notifications.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class TimingWheelLocalNotificationSchedulerTest {
+  private static final long TICK = 10;
+
+  @Test
+  public void firesAtTriggerTimeAndSkipsCancelled() {
+    AtomicLong clock = new AtomicLong(1_000_000);
+    List<ScheduledNotification> delivered = new ArrayList<>();
+    TimingWheelLocalNotificationScheduler scheduler =
+        new TimingWheelLocalNotificationScheduler(delivered::add, TICK, clock::get, false);
+
+    String kept = schedule(scheduler, dateRequest(clock.get() + 5_000));
+    String cancelled = schedule(scheduler, dateRequest(clock.get() + 5_000));
+    scheduler.cancel(cancelled, voidCallback(new AtomicReference<>()));
+
+    assertEquals(0, scheduler.advanceTo(clock.get() + 4_999));
+    assertEquals(1, scheduler.advanceTo(clock.get() + 5_000));
+    assertEquals(kept, delivered.get(0).getId());
+    assertEquals(0, scheduler.size());
+  }
+
+  @Test
+  public void repeatsTimeIntervalUntilCancelled() {
+    AtomicLong clock = new AtomicLong(0);
+    List<ScheduledNotification> delivered = new ArrayList<>();
+    TimingWheelLocalNotificationScheduler scheduler =
+        new TimingWheelLocalNotificationScheduler(delivered::add, TICK, clock::get, false);
+
+    Map<String, Object> trigger = new HashMap<>();
+    trigger.put("type", "timeInterval");
+    trigger.put("seconds", 2);
+    trigger.put("repeats", true);
+    Map<String, Object> request = new HashMap<>();
+    request.put("trigger", trigger);
+    String id = schedule(scheduler, request);
+
+    for (long now = 0; now <= 10_000; now += TICK) {
+      scheduler.advanceTo(now);
+    }
+    assertEquals(5, delivered.size());
+    assertEquals(10_000, delivered.get(4).getTriggerAtMillis());
+
+    scheduler.cancel(id, voidCallback(new AtomicReference<>()));
+    scheduler.advanceTo(20_000);
+    assertEquals(5, delivered.size());
+  }
+
+  @Test
+  public void cancelBatchRemovesEveryIdAndReportsInvalidOnes() {
+    AtomicLong clock = new AtomicLong(0);
+    List<ScheduledNotification> delivered = new ArrayList<>();
+    TimingWheelLocalNotificationScheduler scheduler =
+        new TimingWheelLocalNotificationScheduler(delivered::add, TICK, clock::get, false);
+
+    String first = schedule(scheduler, dateRequest(1_000));
+    String second = schedule(scheduler, dateRequest(2_000));
+    String kept = schedule(scheduler, dateRequest(3_000));
+    AtomicReference<List<BatchItemResult>> resultsRef = new AtomicReference<>();
+    scheduler.cancelBatch(Arrays.asList(first, "", second), new LocalNotificationScheduler.BatchCallback() {
+      @Override
+      public void onComplete(List<BatchItemResult> results) {
+        resultsRef.set(results);
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        throw new AssertionError(error.getMessage());
+      }
+    });
+
+    List<BatchItemResult> results = resultsRef.get();
+    assertEquals(3, results.size());
+    assertTrue(results.get(0).isSuccess());
+    assertFalse(results.get(1).isSuccess());
+    assertTrue(results.get(2).isSuccess());
+    assertEquals(1, scheduler.size());
+
+    scheduler.advanceTo(3_000);
+    assertEquals(1, delivered.size());
+    assertEquals(kept, delivered.get(0).getId());
+  }
+
+  @Test
+  public void catchesUpAfterLongGapWithoutWalkingEveryTick() {
+    AtomicLong clock = new AtomicLong(0);
+    List<ScheduledNotification> delivered = new ArrayList<>();
+    TimingWheelLocalNotificationScheduler scheduler =
+        new TimingWheelLocalNotificationScheduler(delivered::add, TICK, clock::get, false);
+
+    long year = 365L * 24 * 60 * 60 * 1000;
+    String later = schedule(scheduler, dateRequest(2_000));
+    String sooner = schedule(scheduler, dateRequest(1_000));
+    String nextYear = schedule(scheduler, dateRequest(year));
+
+    assertEquals(2, scheduler.advanceTo(8L * 60 * 60 * 1000));
+    assertEquals(sooner, delivered.get(0).getId());
+    assertEquals(later, delivered.get(1).getId());
+    assertEquals(0, scheduler.advanceTo(year - 1));
+    assertEquals(1, scheduler.advanceTo(year + 100L * year));
+    assertEquals(nextYear, delivered.get(2).getId());
+  }
+
+  @Test
+  public void wallClockJumpDoesNotAdvanceTicks() {
+    AtomicLong wallClock = new AtomicLong(1_000_000);
+    AtomicLong ticker = new AtomicLong(0);
+    List<ScheduledNotification> delivered = new ArrayList<>();
+    TimingWheelLocalNotificationScheduler scheduler = new TimingWheelLocalNotificationScheduler(
+        delivered::add,
+        TICK,
+        new MonotonicNotificationIdAllocator(),
+        NotificationDeduplicator.keysOnly(),
+        wallClock::get,
+        ticker::get,
+        false
+    );
+
+    schedule(scheduler, dateRequest(wallClock.get() + 5_000));
+    wallClock.addAndGet(365L * 24 * 60 * 60 * 1000);
+    ticker.addAndGet(TICK);
+    scheduler.tick();
+    assertEquals(0, delivered.size());
+
+    ticker.addAndGet(5_000);
+    scheduler.tick();
+    assertEquals(1, delivered.size());
+  }
+
+  @Test
+  public void cascadesDistantTriggersToTheirExactTick() {
+    AtomicLong clock = new AtomicLong(0);
+    Map<String, Long> firedAt = new HashMap<>();
+    long tick = 60_000;
+    TimingWheelLocalNotificationScheduler scheduler = new TimingWheelLocalNotificationScheduler(
+        notification -> firedAt.put(notification.getId(), clock.get()),
+        tick,
+        clock::get,
+        false
+    );
+
+    Random random = new Random(7);
+    Map<String, Long> expected = new HashMap<>();
+    for (int index = 0; index < 2_000; index++) {
+      long triggerAt = 1 + (long) (random.nextDouble() * 400L * 24 * 60 * 60 * 1000);
+      expected.put(schedule(scheduler, dateRequest(triggerAt)), triggerAt);
+    }
+
+    while (firedAt.size() < expected.size()) {
+      clock.addAndGet(tick);
+      scheduler.advanceTo(clock.get());
+    }
+
+    assertEquals(expected.size(), firedAt.size());
+    for (Map.Entry<String, Long> entry : expected.entrySet()) {
+      long fired = firedAt.get(entry.getKey());
+      assertTrue(fired >= entry.getValue());
+      assertTrue(fired < entry.getValue() + tick);
+    }
+  }
+
+  @Test
+  public void holdsManyPendingNotifications() {
+    AtomicLong clock = new AtomicLong(0);
+    AtomicLong delivered = new AtomicLong();
+    TimingWheelLocalNotificationScheduler scheduler = new TimingWheelLocalNotificationScheduler(
+        notification -> delivered.incrementAndGet(),
+        TICK,
+        clock::get,
+        false
+    );
+
+    List<String> ids = new ArrayList<>();
+    for (int index = 0; index < 200_000; index++) {
+      ids.add(schedule(scheduler, dateRequest(1 + index % 60_000)));
+    }
+    for (int index = 0; index < ids.size(); index += 2) {
+      scheduler.cancel(ids.get(index), voidCallback(new AtomicReference<>()));
+    }
+    assertEquals(100_000, scheduler.size());
+
+    scheduler.advanceTo(60_000);
+    assertEquals(100_000, delivered.get());
+    assertEquals(0, scheduler.size());
+  }
+
+  private static Map<String, Object> dateRequest(long millis) {
+    Map<String, Object> trigger = new HashMap<>();
+    trigger.put("type", "date");
+    trigger.put("date", millis);
+    Map<String, Object> request = new HashMap<>();
+    request.put("trigger", trigger);
+    return request;
+  }
+
+  private static String schedule(LocalNotificationScheduler scheduler, Map<String, Object> request) {
+    AtomicReference<String> idRef = new AtomicReference<>();
+    scheduler.schedule(request, new LocalNotificationScheduler.ScheduleCallback() {
+      @Override
+      public void onSuccess(String id) {
+        idRef.set(id);
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        throw new AssertionError(error.getMessage());
+      }
+    });
+    return idRef.get();
+  }
+
+  private static LocalNotificationScheduler.VoidCallback voidCallback(AtomicReference<NotificationError> errorRef) {
+    return new LocalNotificationScheduler.VoidCallback() {
+      @Override
+      public void onSuccess() {
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        errorRef.set(error);
+      }
+    };
+  }
+}
@@ -6,36 +6,99 @@ import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Build;
+import io.lynx.notifications.core.BatchItemResult;
 import io.lynx.notifications.core.LynxNotificationsLogger;
 import io.lynx.notifications.core.LocalNotificationScheduler;
+import io.lynx.notifications.core.NotificationDeduplicator;
 import io.lynx.notifications.core.NotificationError;
+import io.lynx.notifications.core.NotificationIdAllocator;
+import io.lynx.notifications.core.NotificationRequest;
+import io.lynx.notifications.core.NotificationTagIndex;
+import io.lynx.notifications.core.NotificationTrigger;
+import io.lynx.notifications.core.RollingNotificationWindow;
+import io.lynx.notifications.core.ScheduledNotification;
+import io.lynx.notifications.core.ScheduledNotificationStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import org.json.JSONObject;
 
 /**
  * Local notification scheduler backed by AlarmManager.
  *
- * Pair this scheduler with AndroidNotificationPublisherReceiver.
+ * Pair this scheduler with AndroidNotificationPublisherReceiver. Scheduled notifications are
+ * recorded in a ScheduledNotificationStore so they can be canceled after process death and
+ * re-armed after reboot (see AndroidNotificationRestoreReceiver).
+ *
+ * With a coalescing window, one-shot notifications share one wake-up alarm per window: each
+ * fires at the end of the window containing its trigger time (at most one window late), and
+ * the publisher receiver posts every stored notification due by then. Repeating notifications
+ * keep their own alarms.
+ *
+ * Calendar triggers ("calendar", "daily", "weekly") are armed as one-shot exact alarms at their
+ * next computed fire time. After posting one, the publisher receiver calls
+ * {@link #onPublished(String)}, which arms the following occurrence natively without waking
+ * the JS runtime. Device time zone and clock changes re-run {@link #restoreScheduled()} so
+ * floating calendar triggers keep their wall-clock time.
+ *
+ * Retried requests return the id they were first scheduled as instead of arming a second alarm:
+ * requests with an "idempotencyKey" match by key (including keys of stored notifications from
+ * earlier processes), and requests without one match identical payloads scheduled within the
+ * deduplicator's content window.
+ *
+ * With an alarm window of N, only the N earliest one-shot and calendar notifications hold
+ * AlarmManager alarms, which keeps large schedules under the platform's per-app alarm limit.
+ * The rest wait in the store, ordered by a {@link RollingNotificationWindow} shared by every
+ * scheduler on the same store; cancelling or publishing an armed notification promotes the next
+ * one. Publish intents carry the window size so the publisher receiver can top up the window in
+ * a fresh process. Repeating interval notifications always hold their own alarm.
+ *
+ * Alarm intents carry only the notification id, request code and channel; the title, body and
+ * data stay in the store and the publisher receiver loads them when the alarm fires.
  */
 public final class AndroidAlarmLocalNotificationScheduler implements LocalNotificationScheduler {
   public static final String ACTION_PUBLISH_NOTIFICATION =
       "io.lynx.notifications.ACTION_PUBLISH_NOTIFICATION";
+  public static final String ACTION_PUBLISH_SLOT = "io.lynx.notifications.ACTION_PUBLISH_SLOT";
   public static final String EXTRA_NOTIFICATION_ID = "lynx_notification_id";
+  public static final String EXTRA_CHANNEL_ID = "lynx_notification_channel_id";
+  /** Title, subtitle and body are set on the launch intent of a posted notification only. */
   public static final String EXTRA_TITLE = "lynx_notification_title";
   public static final String EXTRA_SUBTITLE = "lynx_notification_subtitle";
   public static final String EXTRA_BODY = "lynx_notification_body";
-  public static final String EXTRA_DATA_JSON = "lynx_notification_data_json";
-  public static final String EXTRA_BADGE = "lynx_notification_badge";
-  public static final String EXTRA_USE_DEFAULT_SOUND = "lynx_notification_use_default_sound";
-  public static final String EXTRA_CHANNEL_ID = "lynx_notification_channel_id";
+  public static final String EXTRA_REPEATS = "lynx_notification_repeats";
+  public static final String EXTRA_REQUEST_CODE = "lynx_notification_request_code";
+  public static final String EXTRA_SLOT_AT = "lynx_notification_slot_at";
+  public static final String EXTRA_SLOT_IDS = "lynx_notification_slot_ids";
+  public static final String EXTRA_ALARM_WINDOW = "lynx_notification_alarm_window";
   public static final String DEFAULT_CHANNEL_ID = "lynx_notifications_default";
 
+  /** Requests without a trigger are posted this long after scheduling. */
+  private static final long IMMEDIATE_DELAY_MILLIS = 1000;
+
+  private static final Map<ScheduledNotificationStore, RollingNotificationWindow> WINDOWS =
+      new WeakHashMap<>();
+
   private final Context appContext;
   private final Class<? extends BroadcastReceiver> receiverClass;
   private final String channelId;
   private final Map<String, PendingIntent> pendingIntents = new ConcurrentHashMap<>();
+  private final NotificationTagIndex tagIndex = new NotificationTagIndex();
+  private final ScheduledNotificationStore store;
+  private final NotificationIdAllocator idAllocator;
+  private final NotificationDeduplicator deduplicator;
+  private final long coalescingWindowMillis;
+  private final RollingNotificationWindow window;
+  private final AndroidSchedulerSettings settings;
+  private final Map<Long, Slot> slots = new HashMap<>();
+  private final Map<String, Long> slotById = new ConcurrentHashMap<>();
+  private volatile boolean indexesRestored;
 
   public AndroidAlarmLocalNotificationScheduler(
       Context appContext,
@@ -49,36 +112,87 @@ public final class AndroidAlarmLocalNotificationScheduler implements LocalNotifi
       Class<? extends BroadcastReceiver> receiverClass,
       String channelId
   ) {
-    this.appContext = appContext.getApplicationContext();
-    this.receiverClass = receiverClass;
-    this.channelId = channelId;
+    this(builder(appContext, receiverClass).setChannelId(channelId));
   }
 
-  @Override
-  public void schedule(Map<String, Object> request, ScheduleCallback callback) {
-    try {
-      ScheduledTrigger trigger = resolveTrigger(request);
-      String id = "notification-" + UUID.randomUUID();
-      PendingIntent pendingIntent = buildPendingIntent(id, request);
-      AlarmManager alarmManager = getAlarmManager();
+  private AndroidAlarmLocalNotificationScheduler(Builder builder) {
+    this.appContext = builder.appContext;
+    this.receiverClass = builder.receiverClass;
+    this.channelId = builder.channelId;
+    this.store = builder.store != null
+        ? builder.store
+        : AndroidScheduledNotificationStore.get(appContext);
+    this.idAllocator = builder.idAllocator != null
+        ? builder.idAllocator
+        : AndroidNotificationIdAllocator.get(appContext);
+    this.deduplicator = builder.deduplicator != null
+        ? builder.deduplicator
+        : NotificationDeduplicator.defaults();
+    this.coalescingWindowMillis = builder.coalescingWindowMillis;
+    this.window = builder.alarmWindow > 0 ? windowFor(store, builder.alarmWindow) : null;
+    this.settings = new AndroidSchedulerSettings(
+        receiverClass.getName(),
+        channelId,
+        coalescingWindowMillis,
+        builder.alarmWindow
+    );
+    AndroidNotificationRenderCache.get(appContext).registerChannelsAsync(Collections.singleton(channelId));
+  }
 
-      if (trigger.repeats) {
-        alarmManager.setRepeating(
-            AlarmManager.RTC_WAKEUP,
-            trigger.triggerAtMillis,
-            trigger.intervalMillis,
-            pendingIntent
-        );
-      } else {
-        scheduleExact(alarmManager, trigger.triggerAtMillis, pendingIntent);
+  /**
+   * Starts a scheduler that needs more than a receiver and channel: its own store, id allocator
+   * or deduplicator, alarm coalescing, or an alarm window.
+   */
+  public static Builder builder(Context appContext, Class<? extends BroadcastReceiver> receiverClass) {
+    return new Builder(appContext, receiverClass);
+  }
+
+  /**
+   * Scheduler configured like the one the app last scheduled into the shared store with, for
+   * receivers that restore or publish in a process where the app has not built its scheduler.
+   */
+  public static AndroidAlarmLocalNotificationScheduler fromSavedSettings(Context context) {
+    AndroidSchedulerSettings settings = AndroidSchedulerSettings.load(context.getApplicationContext());
+    return builder(context, settings.receiverClass())
+        .setChannelId(settings.channelId)
+        .setCoalescingWindowMillis(settings.coalescingWindowMillis)
+        .setAlarmWindow(settings.alarmWindow)
+        .build();
+  }
+
+  /**
+   * Window shared by schedulers on {@code store}, loaded from the store on first use. Stored
+   * notifications are assumed to be armed exactly as the window orders them.
+   */
+  private static RollingNotificationWindow windowFor(ScheduledNotificationStore store, int capacity) {
+    synchronized (WINDOWS) {
+      RollingNotificationWindow window = WINDOWS.get(store);
+      if (window != null && window.getCapacity() == capacity) {
+        return window;
       }
 
-      pendingIntents.put(id, pendingIntent);
-      LynxNotificationsLogger.debug("Scheduled local notification id=" + id);
+      window = new RollingNotificationWindow(capacity);
+      for (ScheduledNotification notification : store.loadAll()) {
+        if (!notification.repeats()) {
+          window.put(notification.getId(), notification.getTriggerAtMillis());
+        }
+      }
+      WINDOWS.put(store, window);
+      return window;
+    }
+  }
+
+  @Override
+  public void schedule(Map<String, Object> request, ScheduleCallback callback) {
+    try {
+      String id = register(getAlarmManager(), request, System.currentTimeMillis());
+      LynxNotificationsLogger.debug("Scheduled local notification id={}", id);
       callback.onSuccess(id);
     } catch (NotificationError error) {
       LynxNotificationsLogger.error(
-          "schedule failed with code=" + error.getCode() + " message=" + error.getMessage()
+          "schedule failed with code={} message={}",
+          error.getCode(),
+          error.getMessage()
       );
       callback.onError(error);
     } catch (Throwable throwable) {
@@ -90,26 +204,14 @@ public final class AndroidAlarmLocalNotificationScheduler implements LocalNotifi
   @Override
   public void cancel(String id, VoidCallback callback) {
     try {
-      if (id == null || id.isEmpty()) {
-        throw new NotificationError("ERR_INVALID_ARGUMENT", "Scheduled notification id must not be empty.");
-      }
-
-      AlarmManager alarmManager = getAlarmManager();
-      PendingIntent pendingIntent = pendingIntents.remove(id);
-      if (pendingIntent == null) {
-        pendingIntent = findExistingPendingIntent(id);
-      }
-
-      if (pendingIntent != null) {
-        alarmManager.cancel(pendingIntent);
-        pendingIntent.cancel();
-      }
-
-      LynxNotificationsLogger.debug("Canceled local notification id=" + id);
+      unregister(getAlarmManager(), id);
+      LynxNotificationsLogger.debug("Canceled local notification id={}", id);
       callback.onSuccess();
     } catch (NotificationError error) {
       LynxNotificationsLogger.error(
-          "cancel failed with code=" + error.getCode() + " message=" + error.getMessage()
+          "cancel failed with code={} message={}",
+          error.getCode(),
+          error.getMessage()
       );
       callback.onError(error);
     } catch (Throwable throwable) {
@@ -126,7 +228,35 @@ public final class AndroidAlarmLocalNotificationScheduler implements LocalNotifi
         alarmManager.cancel(pendingIntent);
         pendingIntent.cancel();
       }
+      for (ScheduledNotification notification : store.loadAll()) {
+        if (pendingIntents.containsKey(notification.getId())) {
+          continue;
+        }
+        PendingIntent pendingIntent = findExistingPendingIntent(notification.getId());
+        if (pendingIntent != null) {
+          alarmManager.cancel(pendingIntent);
+          pendingIntent.cancel();
+        }
+      }
       pendingIntents.clear();
+      synchronized (slots) {
+        for (Map.Entry<Long, Slot> entry : slots.entrySet()) {
+          Slot slot = entry.getValue();
+          PendingIntent pendingIntent = slot.pendingIntent != null
+              ? slot.pendingIntent
+              : buildSlotPendingIntent(entry.getKey(), slot.ids);
+          alarmManager.cancel(pendingIntent);
+          pendingIntent.cancel();
+        }
+        slots.clear();
+      }
+      slotById.clear();
+      tagIndex.clear();
+      deduplicator.clear();
+      if (window != null) {
+        window.clear();
+      }
+      store.clear();
       LynxNotificationsLogger.debug("Canceled all local notifications.");
       callback.onSuccess();
     } catch (Throwable throwable) {
@@ -135,127 +265,576 @@ public final class AndroidAlarmLocalNotificationScheduler implements LocalNotifi
     }
   }
 
-  private AlarmManager getAlarmManager() throws NotificationError {
-    AlarmManager alarmManager = (AlarmManager) appContext.getSystemService(Context.ALARM_SERVICE);
-    if (alarmManager == null) {
-      throw new NotificationError("ERR_NATIVE_FAILURE", "AlarmManager service is unavailable.");
+  @Override
+  public void cancelByTag(String tag, VoidCallback callback) {
+    try {
+      validateTag(tag);
+      restoreIndexes();
+      AlarmManager alarmManager = getAlarmManager();
+      List<String> ids = tagIndex.idsForTag(tag);
+      for (String id : ids) {
+        unregister(alarmManager, id);
+      }
+      LynxNotificationsLogger.debug("Canceled local notifications tag={} count={}", tag, ids.size());
+      callback.onSuccess();
+    } catch (NotificationError error) {
+      LynxNotificationsLogger.error(
+          "cancelByTag failed with code={} message={}",
+          error.getCode(),
+          error.getMessage()
+      );
+      callback.onError(error);
+    } catch (Throwable throwable) {
+      LynxNotificationsLogger.error("cancelByTag failed with unexpected native error.", throwable);
+      callback.onError(NotificationError.fromThrowable(throwable));
     }
-    return alarmManager;
   }
 
-  private void scheduleExact(AlarmManager alarmManager, long triggerAtMillis, PendingIntent pendingIntent) {
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
-        alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, triggerAtMillis, pendingIntent);
-      } else {
-        alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, triggerAtMillis, pendingIntent);
+  @Override
+  public void getScheduledByTag(String tag, IdsCallback callback) {
+    try {
+      validateTag(tag);
+      restoreIndexes();
+      callback.onSuccess(tagIndex.idsForTag(tag));
+    } catch (NotificationError error) {
+      callback.onError(error);
+    }
+  }
+
+  @Override
+  public void scheduleBatch(List<Map<String, Object>> requests, BatchCallback callback) {
+    if (requests == null) {
+      callback.onError(new NotificationError("ERR_INVALID_ARGUMENT", "Batch requests must not be null."));
+      return;
+    }
+
+    try {
+      AlarmManager alarmManager = getAlarmManager();
+      long now = System.currentTimeMillis();
+      List<BatchItemResult> results = new ArrayList<>(requests.size());
+      for (Map<String, Object> request : requests) {
+        try {
+          results.add(BatchItemResult.success(register(alarmManager, request, now)));
+        } catch (NotificationError error) {
+          results.add(BatchItemResult.failure(null, error));
+        } catch (Throwable throwable) {
+          results.add(BatchItemResult.failure(null, NotificationError.fromThrowable(throwable)));
+        }
       }
+      LynxNotificationsLogger.debug("Scheduled local notification batch size={}", results.size());
+      callback.onComplete(results);
+    } catch (NotificationError error) {
+      LynxNotificationsLogger.error(
+          "scheduleBatch failed with code={} message={}",
+          error.getCode(),
+          error.getMessage()
+      );
+      callback.onError(error);
+    }
+  }
+
+  @Override
+  public void cancelBatch(List<String> ids, BatchCallback callback) {
+    if (ids == null) {
+      callback.onError(new NotificationError("ERR_INVALID_ARGUMENT", "Batch ids must not be null."));
       return;
     }
 
-    alarmManager.setExact(AlarmManager.RTC_WAKEUP, triggerAtMillis, pendingIntent);
+    try {
+      AlarmManager alarmManager = getAlarmManager();
+      List<BatchItemResult> results = new ArrayList<>(ids.size());
+      for (String id : ids) {
+        try {
+          unregister(alarmManager, id);
+          results.add(BatchItemResult.success(id));
+        } catch (NotificationError error) {
+          results.add(BatchItemResult.failure(id, error));
+        } catch (Throwable throwable) {
+          results.add(BatchItemResult.failure(id, NotificationError.fromThrowable(throwable)));
+        }
+      }
+      LynxNotificationsLogger.debug("Canceled local notification batch size={}", results.size());
+      callback.onComplete(results);
+    } catch (NotificationError error) {
+      LynxNotificationsLogger.error(
+          "cancelBatch failed with code={} message={}",
+          error.getCode(),
+          error.getMessage()
+      );
+      callback.onError(error);
+    }
   }
 
-  private ScheduledTrigger resolveTrigger(Map<String, Object> request) throws NotificationError {
-    Object triggerValue = request.get("trigger");
-    if (triggerValue == null) {
-      return new ScheduledTrigger(System.currentTimeMillis() + 1000, false, 0);
+  private String register(AlarmManager alarmManager, Map<String, Object> request, long now)
+      throws NotificationError {
+    NotificationRequest parsed = NotificationRequest.parse(request);
+    if (store == AndroidScheduledNotificationStore.get(appContext)) {
+      AndroidSchedulerSettings.save(appContext, settings);
+    }
+    if (parsed.getIdempotencyKey() != null) {
+      restoreIndexes();
+    }
+    String existing = deduplicator.find(parsed, now);
+    if (existing != null) {
+      LynxNotificationsLogger.debug("Deduplicated local notification request id={}", existing);
+      return existing;
     }
 
-    if (!(triggerValue instanceof Map)) {
-      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification trigger must be null or object.");
+    NotificationTrigger trigger = parsed.getTrigger();
+    long triggerAtMillis = trigger.getType() == NotificationTrigger.Type.IMMEDIATE
+        ? now + IMMEDIATE_DELAY_MILLIS
+        : trigger.firstTriggerAt(now);
+    String id = idAllocator.nextId();
+    long intervalMillis = trigger.getRepeatIntervalMillis();
+    if (window == null || intervalMillis > 0) {
+      arm(alarmManager, id, parsed, triggerAtMillis, intervalMillis);
+      store.put(new ScheduledNotification(id, triggerAtMillis, intervalMillis, request));
+    } else {
+      store.put(new ScheduledNotification(id, triggerAtMillis, 0, request));
+      RollingNotificationWindow.Change change = window.put(id, triggerAtMillis);
+      if (id.equals(change.getArmedId())) {
+        try {
+          arm(alarmManager, id, parsed, triggerAtMillis, 0);
+        } catch (NotificationError | RuntimeException exception) {
+          store.remove(id);
+          armPromoted(alarmManager, window.remove(id).getArmedId());
+          throw exception;
+        }
+      } else {
+        tagIndex.add(id, parsed.getTags());
+      }
+      disarm(alarmManager, change.getDisarmedId());
     }
 
-    @SuppressWarnings("unchecked")
-    Map<String, Object> trigger = (Map<String, Object>) triggerValue;
-    Object type = trigger.get("type");
+    String recorded = deduplicator.record(parsed, id, now);
+    if (!recorded.equals(id)) {
+      // A concurrent retry of the same request armed first; drop this alarm.
+      unregister(alarmManager, id);
+    }
+    return recorded;
+  }
 
-    if ("date".equals(type)) {
-      Object dateValue = trigger.get("date");
-      if (!(dateValue instanceof Number)) {
-        throw new NotificationError("ERR_INVALID_ARGUMENT", "Date trigger requires numeric date.");
+  private void arm(
+      AlarmManager alarmManager,
+      String id,
+      NotificationRequest request,
+      long triggerAtMillis,
+      long intervalMillis
+  ) throws NotificationError {
+    if (intervalMillis == 0 && coalescingWindowMillis > 0 && !request.getTrigger().repeats()) {
+      armSlot(alarmManager, id, triggerAtMillis);
+      tagIndex.add(id, request.getTags());
+      return;
+    }
+
+    PendingIntent pendingIntent = buildPendingIntent(id, intervalMillis > 0);
+
+    if (intervalMillis > 0) {
+      alarmManager.setRepeating(
+          AlarmManager.RTC_WAKEUP,
+          triggerAtMillis,
+          intervalMillis,
+          pendingIntent
+      );
+    } else {
+      scheduleExact(alarmManager, triggerAtMillis, pendingIntent);
+    }
+
+    pendingIntents.put(id, pendingIntent);
+    tagIndex.add(id, request.getTags());
+  }
+
+  /**
+   * Adds {@code id} to the slot alarm of its window. The slot's PendingIntent carries the ids
+   * of its members, so the receiver posts exactly those; joining an armed slot only updates
+   * the intent's extras and leaves the alarm alone.
+   */
+  private void armSlot(AlarmManager alarmManager, String id, long triggerAtMillis) {
+    // Slots armed by another process are known only from the store.
+    restoreIndexes();
+    long slotAt = slotFor(triggerAtMillis, coalescingWindowMillis);
+    synchronized (slots) {
+      Slot slot = slots.get(slotAt);
+      if (slot == null) {
+        pruneFiredSlots(System.currentTimeMillis());
+        slot = new Slot();
+        slots.put(slotAt, slot);
       }
+      slot.ids.add(id);
+      slot.pendingIntent = buildSlotPendingIntent(slotAt, slot.ids);
+      if (!slot.armed) {
+        scheduleExact(alarmManager, slotAt, slot.pendingIntent);
+        slot.armed = true;
+      }
+    }
+    slotById.put(id, slotAt);
+  }
 
-      Object repeatsValue = trigger.get("repeats");
-      if (Boolean.TRUE.equals(repeatsValue)) {
-        throw new NotificationError("ERR_INVALID_ARGUMENT", "Date trigger does not support repeats=true.");
+  private void leaveSlot(AlarmManager alarmManager, String id) {
+    Long slotAt = slotById.remove(id);
+    if (slotAt == null) {
+      return;
+    }
+
+    synchronized (slots) {
+      Slot slot = slots.get(slotAt);
+      if (slot == null) {
+        return;
       }
+      // A non-empty slot keeps the id in its extras; the receiver skips ids no longer stored.
+      slot.ids.remove(id);
+      if (slot.ids.isEmpty()) {
+        slots.remove(slotAt);
+        PendingIntent pendingIntent = slot.pendingIntent != null
+            ? slot.pendingIntent
+            : buildSlotPendingIntent(slotAt, slot.ids);
+        alarmManager.cancel(pendingIntent);
+        pendingIntent.cancel();
+      }
+    }
+  }
 
-      long triggerAtMillis = ((Number) dateValue).longValue();
-      if (triggerAtMillis <= System.currentTimeMillis()) {
-        throw new NotificationError("ERR_INVALID_ARGUMENT", "Date trigger must be in the future.");
+  private void pruneFiredSlots(long now) {
+    Iterator<Map.Entry<Long, Slot>> iterator = slots.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Long, Slot> entry = iterator.next();
+      if (entry.getKey() < now - coalescingWindowMillis) {
+        for (String id : entry.getValue().ids) {
+          slotById.remove(id);
+        }
+        iterator.remove();
       }
+    }
+  }
+
+  /**
+   * End of the coalescing window containing {@code triggerAtMillis}.
+   */
+  static long slotFor(long triggerAtMillis, long windowMillis) {
+    long remainder = Math.floorMod(triggerAtMillis, windowMillis);
+    return remainder == 0 ? triggerAtMillis : triggerAtMillis - remainder + windowMillis;
+  }
+
+  public String getChannelId() {
+    return channelId;
+  }
+
+  /**
+   * Stored notification with this id, or null once it has been cancelled or posted for the
+   * last time. The publisher receiver reads notification content from here.
+   */
+  public ScheduledNotification getScheduled(String id) {
+    return store.get(id);
+  }
 
-      return new ScheduledTrigger(triggerAtMillis, false, 0);
+  /**
+   * Called by the publisher receiver after posting a notification. Arms the next occurrence of
+   * a repeating calendar trigger and records it in the store; forgets any other one-shot
+   * notification.
+   *
+   * @return Next fire time, or -1 when the notification will not fire again.
+   */
+  public long onPublished(String id) throws NotificationError {
+    ScheduledNotification notification = store.get(id);
+    if (notification == null) {
+      return -1;
     }
 
-    if ("timeInterval".equals(type)) {
-      Object secondsValue = trigger.get("seconds");
-      if (!(secondsValue instanceof Number) || ((Number) secondsValue).doubleValue() <= 0) {
-        throw new NotificationError("ERR_INVALID_ARGUMENT", "Time interval trigger requires seconds > 0.");
+    NotificationRequest request = NotificationRequest.parse(notification.getRequest());
+    NotificationTrigger trigger = request.getTrigger();
+    long next = trigger.getType() == NotificationTrigger.Type.CALENDAR && trigger.repeats()
+        ? trigger.nextFireAfter(Math.max(System.currentTimeMillis(), notification.getTriggerAtMillis()))
+        : -1;
+    AlarmManager alarmManager = getAlarmManager();
+    if (next < 0) {
+      store.remove(id);
+      if (window != null) {
+        apply(alarmManager, window.remove(id));
       }
+      return -1;
+    }
 
-      boolean repeats = Boolean.TRUE.equals(trigger.get("repeats"));
-      long intervalMillis = Math.round(((Number) secondsValue).doubleValue() * 1000d);
-      return new ScheduledTrigger(System.currentTimeMillis() + intervalMillis, repeats, intervalMillis);
+    store.put(new ScheduledNotification(id, next, 0, notification.getRequest()));
+    if (window == null) {
+      arm(alarmManager, id, request, next, 0);
+    } else {
+      apply(alarmManager, window.put(id, next));
     }
+    LynxNotificationsLogger.debug("Re-armed calendar notification id={} at={}", id, next);
+    return next;
+  }
 
-    throw new NotificationError("ERR_INVALID_ARGUMENT", "Unknown notification trigger type.");
+  /**
+   * Arms the notification promoted into the window and cancels the one pushed out of it.
+   */
+  private void apply(AlarmManager alarmManager, RollingNotificationWindow.Change change) {
+    disarm(alarmManager, change.getDisarmedId());
+    armPromoted(alarmManager, change.getArmedId());
   }
 
-  private PendingIntent buildPendingIntent(String id, Map<String, Object> request) throws NotificationError {
-    Intent intent = new Intent(appContext, receiverClass);
-    intent.setAction(ACTION_PUBLISH_NOTIFICATION);
-    intent.putExtra(EXTRA_NOTIFICATION_ID, id);
-    intent.putExtra(EXTRA_CHANNEL_ID, channelId);
+  private void armPromoted(AlarmManager alarmManager, String id) {
+    while (id != null) {
+      ScheduledNotification promoted = store.get(id);
+      try {
+        if (promoted != null) {
+          arm(
+              alarmManager,
+              id,
+              NotificationRequest.parse(promoted.getRequest()),
+              Math.max(promoted.getTriggerAtMillis(), System.currentTimeMillis()),
+              0
+          );
+          return;
+        }
+      } catch (Throwable throwable) {
+        // Kept in the store: the next restore (reboot, app update, clock change) retries it.
+        LynxNotificationsLogger.error("Failed to arm promoted notification id={}", id, throwable);
+      }
+      id = window.remove(id).getArmedId();
+    }
+  }
 
-    @SuppressWarnings("unchecked")
-    Map<String, Object> content = request.get("content") instanceof Map
-        ? (Map<String, Object>) request.get("content")
-        : null;
-    if (content != null) {
-      putStringExtra(intent, EXTRA_TITLE, content.get("title"));
-      putStringExtra(intent, EXTRA_SUBTITLE, content.get("subtitle"));
-      putStringExtra(intent, EXTRA_BODY, content.get("body"));
-
-      Object badgeValue = content.get("badge");
-      if (badgeValue instanceof Number) {
-        intent.putExtra(EXTRA_BADGE, ((Number) badgeValue).intValue());
+  /**
+   * Re-arms every notification in the store, e.g. after reboot or an app update cleared the
+   * alarms. One-shot notifications whose time passed while the device was off fire right away;
+   * repeating ones resume at their next interval or calendar match. Calendar fire times are
+   * recomputed, which also keeps them on wall-clock time after a time zone or clock change.
+   *
+   * @return Number of notifications re-armed.
+   */
+  public int restoreScheduled() throws NotificationError {
+    AlarmManager alarmManager = getAlarmManager();
+    long now = System.currentTimeMillis();
+    int restored = 0;
+    List<Restored> pending = new ArrayList<>();
+    if (window != null) {
+      window.clear();
+    }
+    for (ScheduledNotification notification : store.loadAll()) {
+      String id = notification.getId();
+      try {
+        NotificationRequest request = NotificationRequest.parse(notification.getRequest());
+        NotificationTrigger trigger = request.getTrigger();
+        long triggerAtMillis;
+        if (trigger.getType() == NotificationTrigger.Type.CALENDAR
+            && (trigger.repeats() || notification.getTriggerAtMillis() > now)) {
+          triggerAtMillis = trigger.nextFireAfter(now);
+          if (triggerAtMillis < 0) {
+            store.remove(id);
+            continue;
+          }
+          if (triggerAtMillis != notification.getTriggerAtMillis()) {
+            store.put(new ScheduledNotification(id, triggerAtMillis, 0, notification.getRequest()));
+          }
+        } else if (notification.repeats()) {
+          triggerAtMillis = notification.nextTriggerAfter(now);
+        } else {
+          triggerAtMillis = Math.max(notification.getTriggerAtMillis(), now);
+        }
+        if (request.getIdempotencyKey() != null) {
+          deduplicator.record(request, id, now);
+        }
+        if (window != null && !notification.repeats()) {
+          window.put(id, triggerAtMillis);
+        }
+        pending.add(new Restored(id, request, triggerAtMillis, notification.getRepeatIntervalMillis()));
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Dropping scheduled notification that failed to restore id={}", id, throwable);
+        store.remove(id);
       }
+    }
 
-      Object soundValue = content.get("sound");
-      if ("default".equals(soundValue)) {
-        intent.putExtra(EXTRA_USE_DEFAULT_SOUND, true);
+    for (Restored entry : pending) {
+      try {
+        if (window == null || entry.repeatIntervalMillis > 0 || window.isArmed(entry.id)) {
+          arm(alarmManager, entry.id, entry.request, entry.triggerAtMillis, entry.repeatIntervalMillis);
+          restored++;
+        } else {
+          tagIndex.add(entry.id, entry.request.getTags());
+        }
+      } catch (Throwable throwable) {
+        // Never drop a stored notification because its alarm could not be set (for example at
+        // the platform's per-app alarm limit); the next restore retries it.
+        LynxNotificationsLogger.error("Failed to re-arm scheduled notification id={}", entry.id, throwable);
+        tagIndex.add(entry.id, entry.request.getTags());
       }
+    }
+    indexesRestored = true;
+    LynxNotificationsLogger.debug("Restored scheduled local notifications count={}", restored);
+    return restored;
+  }
+
+  /**
+   * Rebuilds the tag and idempotency-key indexes, and the membership of coalesced slots, from
+   * the store once per process.
+   */
+  private void restoreIndexes() {
+    if (indexesRestored) {
+      return;
+    }
 
-      Object dataValue = content.get("data");
-      if (dataValue instanceof Map) {
+    synchronized (tagIndex) {
+      if (indexesRestored) {
+        return;
+      }
+      long now = System.currentTimeMillis();
+      for (ScheduledNotification notification : store.loadAll()) {
         try {
-          @SuppressWarnings("unchecked")
-          Map<String, Object> data = (Map<String, Object>) dataValue;
-          intent.putExtra(EXTRA_DATA_JSON, new JSONObject(data).toString());
-        } catch (Throwable throwable) {
-          throw new NotificationError(
-              "ERR_INVALID_ARGUMENT",
-              "Notification content.data must be JSON-serializable."
-          );
+          NotificationRequest request = NotificationRequest.parse(notification.getRequest());
+          tagIndex.add(notification.getId(), request.getTags());
+          if (request.getIdempotencyKey() != null) {
+            deduplicator.record(request, notification.getId(), now);
+          }
+          if (coalescingWindowMillis > 0
+              && !notification.repeats()
+              && !request.getTrigger().repeats()
+              && (window == null || window.isArmed(notification.getId()))) {
+            restoreSlotMember(notification.getId(), notification.getTriggerAtMillis());
+          }
+        } catch (NotificationError error) {
+          LynxNotificationsLogger.error("Ignoring invalid stored notification id={}", notification.getId());
         }
       }
+      indexesRestored = true;
+    }
+  }
+
+  private void restoreSlotMember(String id, long triggerAtMillis) {
+    long slotAt = slotFor(triggerAtMillis, coalescingWindowMillis);
+    synchronized (slots) {
+      slots.computeIfAbsent(slotAt, key -> new Slot()).ids.add(id);
     }
+    slotById.putIfAbsent(id, slotAt);
+  }
 
-    int flags = PendingIntent.FLAG_UPDATE_CURRENT;
+  private void unregister(AlarmManager alarmManager, String id) throws NotificationError {
+    if (id == null || id.isEmpty()) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Scheduled notification id must not be empty.");
+    }
+
+    tagIndex.remove(id);
+    deduplicator.forget(id);
+    store.remove(id);
+    disarm(alarmManager, id);
+    if (window != null) {
+      armPromoted(alarmManager, window.remove(id).getArmedId());
+    }
+  }
+
+  /**
+   * Cancels the alarm of {@code id}, if any, without forgetting the notification.
+   */
+  private void disarm(AlarmManager alarmManager, String id) {
+    if (id == null) {
+      return;
+    }
+    if (slotById.containsKey(id)) {
+      leaveSlot(alarmManager, id);
+      return;
+    }
+
+    PendingIntent pendingIntent = pendingIntents.remove(id);
+    if (pendingIntent == null) {
+      pendingIntent = findExistingPendingIntent(id);
+    }
+
+    if (pendingIntent != null) {
+      alarmManager.cancel(pendingIntent);
+      pendingIntent.cancel();
+    }
+  }
+
+  private static void validateTag(String tag) throws NotificationError {
+    if (tag == null || tag.isEmpty()) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Notification tag must not be empty.");
+    }
+  }
+
+  private AlarmManager getAlarmManager() throws NotificationError {
+    AlarmManager alarmManager = (AlarmManager) appContext.getSystemService(Context.ALARM_SERVICE);
+    if (alarmManager == null) {
+      throw new NotificationError("ERR_NATIVE_FAILURE", "AlarmManager service is unavailable.");
+    }
+    return alarmManager;
+  }
+
+  private void scheduleExact(AlarmManager alarmManager, long triggerAtMillis, PendingIntent pendingIntent) {
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-      flags |= PendingIntent.FLAG_IMMUTABLE;
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
+        alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, triggerAtMillis, pendingIntent);
+      } else {
+        alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, triggerAtMillis, pendingIntent);
+      }
+      return;
     }
 
+    alarmManager.setExact(AlarmManager.RTC_WAKEUP, triggerAtMillis, pendingIntent);
+  }
+
+  private PendingIntent buildPendingIntent(String id, boolean repeats) {
+    int requestCode = idAllocator.requestCodeFor(id);
+    Intent intent = buildPublishIntent(appContext, receiverClass, id, requestCode, channelId, repeats);
+    if (window != null) {
+      intent.putExtra(EXTRA_ALARM_WINDOW, window.getCapacity());
+    }
     return PendingIntent.getBroadcast(
         appContext,
-        requestCodeForId(id),
+        requestCode,
         intent,
-        flags
+        pendingIntentFlags()
     );
   }
 
+  private PendingIntent buildSlotPendingIntent(long slotAt, Set<String> ids) {
+    Intent intent = new Intent(appContext, receiverClass);
+    intent.setAction(ACTION_PUBLISH_SLOT);
+    intent.putExtra(EXTRA_SLOT_AT, slotAt);
+    intent.putExtra(EXTRA_SLOT_IDS, ids.toArray(new String[0]));
+    intent.putExtra(EXTRA_CHANNEL_ID, channelId);
+    if (window != null) {
+      intent.putExtra(EXTRA_ALARM_WINDOW, window.getCapacity());
+    }
+
+    long slotIndex = slotAt / coalescingWindowMillis;
+    return PendingIntent.getBroadcast(
+        appContext,
+        (int) (slotIndex ^ (slotIndex >>> 32)),
+        intent,
+        pendingIntentFlags()
+    );
+  }
+
+  /**
+   * Publish intent as delivered to the publisher receiver. It only names the notification; the
+   * receiver loads the content from the store when the alarm fires.
+   */
+  static Intent buildPublishIntent(
+      Context context,
+      Class<? extends BroadcastReceiver> receiverClass,
+      String id,
+      int requestCode,
+      String channelId,
+      boolean repeats
+  ) {
+    Intent intent = new Intent(context, receiverClass);
+    intent.setAction(ACTION_PUBLISH_NOTIFICATION);
+    intent.putExtra(EXTRA_NOTIFICATION_ID, id);
+    intent.putExtra(EXTRA_REQUEST_CODE, requestCode);
+    intent.putExtra(EXTRA_CHANNEL_ID, channelId);
+    if (repeats) {
+      intent.putExtra(EXTRA_REPEATS, true);
+    }
+    return intent;
+  }
+
+  private static int pendingIntentFlags() {
+    int flags = PendingIntent.FLAG_UPDATE_CURRENT;
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+      flags |= PendingIntent.FLAG_IMMUTABLE;
+    }
+    return flags;
+  }
+
   private PendingIntent findExistingPendingIntent(String id) {
     Intent intent = new Intent(appContext, receiverClass);
     intent.setAction(ACTION_PUBLISH_NOTIFICATION);
@@ -268,31 +847,112 @@ public final class AndroidAlarmLocalNotificationScheduler implements LocalNotifi
 
     return PendingIntent.getBroadcast(
         appContext,
-        requestCodeForId(id),
+        idAllocator.requestCodeFor(id),
         intent,
         flags
     );
   }
 
-  private void putStringExtra(Intent intent, String key, Object value) {
-    if (value instanceof String) {
-      intent.putExtra(key, (String) value);
+  public static final class Builder {
+    private final Context appContext;
+    private final Class<? extends BroadcastReceiver> receiverClass;
+    private String channelId = DEFAULT_CHANNEL_ID;
+    private ScheduledNotificationStore store;
+    private NotificationIdAllocator idAllocator;
+    private NotificationDeduplicator deduplicator;
+    private long coalescingWindowMillis;
+    private int alarmWindow;
+
+    private Builder(Context appContext, Class<? extends BroadcastReceiver> receiverClass) {
+      this.appContext = appContext.getApplicationContext();
+      this.receiverClass = receiverClass;
+    }
+
+    public Builder setChannelId(String channelId) {
+      this.channelId = channelId;
+      return this;
     }
-  }
 
-  private int requestCodeForId(String id) {
-    return id.hashCode();
+    /**
+     * Defaults to {@link AndroidScheduledNotificationStore#get(Context)}, the store the
+     * receivers read from.
+     */
+    public Builder setStore(ScheduledNotificationStore store) {
+      this.store = store;
+      return this;
+    }
+
+    /**
+     * Width of the shared alarm window for one-shot notifications, or 0 (the default) to give
+     * every notification its own exact alarm.
+     */
+    public Builder setCoalescingWindowMillis(long coalescingWindowMillis) {
+      if (coalescingWindowMillis < 0) {
+        throw new IllegalArgumentException("Coalescing window must be >= 0.");
+      }
+      this.coalescingWindowMillis = coalescingWindowMillis;
+      return this;
+    }
+
+    /**
+     * Issues notification ids and their PendingIntent request codes. Coalesced slots are
+     * published with {@link AndroidNotificationIdAllocator}'s codes, so a custom allocator
+     * should map ids the same way when coalescing is on.
+     */
+    public Builder setIdAllocator(NotificationIdAllocator idAllocator) {
+      this.idAllocator = idAllocator;
+      return this;
+    }
+
+    /**
+     * Index of recently scheduled requests; pass {@link NotificationDeduplicator#keysOnly()} to
+     * schedule identical payloads separately.
+     */
+    public Builder setDeduplicator(NotificationDeduplicator deduplicator) {
+      this.deduplicator = deduplicator;
+      return this;
+    }
+
+    /**
+     * Maximum number of one-shot and calendar notifications registered with AlarmManager at
+     * once, or 0 (the default) to register every notification. Schedulers sharing a store
+     * should use the same value.
+     */
+    public Builder setAlarmWindow(int alarmWindow) {
+      if (alarmWindow < 0) {
+        throw new IllegalArgumentException("Alarm window must be >= 0.");
+      }
+      this.alarmWindow = alarmWindow;
+      return this;
+    }
+
+    public AndroidAlarmLocalNotificationScheduler build() {
+      return new AndroidAlarmLocalNotificationScheduler(this);
+    }
   }
 
-  private static final class ScheduledTrigger {
+  /**
+   * Stored notification parsed once by {@link #restoreScheduled()} and waiting to be re-armed.
+   */
+  private static final class Restored {
+    private final String id;
+    private final NotificationRequest request;
     private final long triggerAtMillis;
-    private final boolean repeats;
-    private final long intervalMillis;
+    private final long repeatIntervalMillis;
 
-    private ScheduledTrigger(long triggerAtMillis, boolean repeats, long intervalMillis) {
+    private Restored(String id, NotificationRequest request, long triggerAtMillis, long repeatIntervalMillis) {
+      this.id = id;
+      this.request = request;
       this.triggerAtMillis = triggerAtMillis;
-      this.repeats = repeats;
-      this.intervalMillis = intervalMillis;
+      this.repeatIntervalMillis = repeatIntervalMillis;
     }
   }
+
+  private static final class Slot {
+    private final Set<String> ids = new LinkedHashSet<>();
+    /** Null for a slot rebuilt from the store until a member joins or leaves it. */
+    private PendingIntent pendingIntent;
+    /** Whether this process has set the slot's alarm; a rebuilt slot re-sets it on first join. */
+    private boolean armed;
+  }
 }
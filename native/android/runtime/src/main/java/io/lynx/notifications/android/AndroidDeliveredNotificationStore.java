@@ -0,0 +1,136 @@
+package io.lynx.notifications.android;
+
+import android.app.NotificationManager;
+import android.content.Context;
+import android.content.Intent;
+import android.service.notification.StatusBarNotification;
+import io.lynx.notifications.core.FileScheduledNotificationStore;
+import io.lynx.notifications.core.LynxNotificationsLogger;
+import io.lynx.notifications.core.NotificationIdAllocator;
+import io.lynx.notifications.core.ScheduledNotification;
+import io.lynx.notifications.core.ScheduledNotificationStore;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Requests of posted local notifications, kept so a notification's launch intent does not carry
+ * its data.
+ *
+ * The publisher receiver records every notification it posts, and each request stays available
+ * for as long as its notification is showing. Dismissing a notification removes its request
+ * through the notification's delete intent. Notifications that leave the shade any other way
+ * (opened, cancelled, or cleared by a reboot) are pruned once more than {@link #PRUNE_THRESHOLD}
+ * requests are recorded, by comparing against the notifications still active. When the user
+ * opens one, resolve its content and data with {@link #requestFor(Context, Intent)}.
+ */
+public final class AndroidDeliveredNotificationStore {
+  public static final int PRUNE_THRESHOLD = 64;
+
+  private static final String DIRECTORY = "lynx_notifications";
+  private static final String FILE_NAME = "delivered.log";
+
+  private static volatile ScheduledNotificationStore instance;
+  private static int size = -1;
+  private static int pruneAt = PRUNE_THRESHOLD;
+
+  private AndroidDeliveredNotificationStore() {}
+
+  public static ScheduledNotificationStore get(Context context) {
+    ScheduledNotificationStore store = instance;
+    if (store != null) {
+      return store;
+    }
+
+    synchronized (AndroidDeliveredNotificationStore.class) {
+      if (instance == null) {
+        File directory = new File(context.getApplicationContext().getNoBackupFilesDir(), DIRECTORY);
+        instance = new FileScheduledNotificationStore(new File(directory, FILE_NAME));
+      }
+      return instance;
+    }
+  }
+
+  /**
+   * Request of the notification whose launch intent this is, or null when the intent was not
+   * built by the publisher receiver or the notification is no longer recorded.
+   */
+  public static Map<String, Object> requestFor(Context context, Intent launchIntent) {
+    if (launchIntent == null
+        || !AndroidNotificationPublisherReceiver.ACTION_OPEN_NOTIFICATION.equals(launchIntent.getAction())) {
+      return null;
+    }
+    String id = launchIntent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_NOTIFICATION_ID);
+    ScheduledNotification notification = id == null ? null : get(context).get(id);
+    return notification == null ? null : notification.getRequest();
+  }
+
+  static synchronized void record(Context context, String id, Map<String, Object> request, long postedAtMillis) {
+    ScheduledNotificationStore store = get(context);
+    if (size < 0) {
+      size = store.loadAll().size();
+    }
+    if (store.get(id) == null) {
+      size++;
+    }
+    store.put(new ScheduledNotification(id, postedAtMillis, 0, request));
+
+    if (size > pruneAt) {
+      prune(context, store);
+      // Every recorded notification may still be showing; wait for as many new ones before
+      // reading the active notifications again.
+      pruneAt = Math.max(PRUNE_THRESHOLD, size * 2);
+    }
+  }
+
+  /**
+   * Removes the request of a notification the user dismissed.
+   */
+  static synchronized void forget(Context context, String id) {
+    ScheduledNotificationStore store = get(context);
+    if (store.get(id) == null) {
+      return;
+    }
+    store.remove(id);
+    if (size > 0) {
+      size--;
+    }
+  }
+
+  /**
+   * Removes every request whose notification is no longer showing. Notifications are posted
+   * without a tag under their request code.
+   */
+  private static void prune(Context context, ScheduledNotificationStore store) {
+    NotificationManager notificationManager =
+        context.getApplicationContext().getSystemService(NotificationManager.class);
+    StatusBarNotification[] active;
+    try {
+      active = notificationManager == null ? null : notificationManager.getActiveNotifications();
+    } catch (RuntimeException error) {
+      LynxNotificationsLogger.error("Failed to read active notifications.", error);
+      return;
+    }
+    if (active == null) {
+      return;
+    }
+
+    Set<Integer> showing = new HashSet<>();
+    for (StatusBarNotification notification : active) {
+      if (notification.getTag() == null) {
+        showing.add(Integer.valueOf(notification.getId()));
+      }
+    }
+    NotificationIdAllocator idAllocator = AndroidNotificationIdAllocator.get(context);
+    int remaining = 0;
+    for (ScheduledNotification notification : store.loadAll()) {
+      if (showing.contains(Integer.valueOf(idAllocator.requestCodeFor(notification.getId())))) {
+        remaining++;
+      } else {
+        store.remove(notification.getId());
+      }
+    }
+    size = remaining;
+  }
+}
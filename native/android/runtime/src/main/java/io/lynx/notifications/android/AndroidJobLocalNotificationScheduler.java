@@ -0,0 +1,394 @@
+package io.lynx.notifications.android;
+
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.BroadcastReceiver;
+import android.content.ComponentName;
+import android.content.Context;
+import android.os.PersistableBundle;
+import io.lynx.notifications.core.LocalNotificationScheduler;
+import io.lynx.notifications.core.LynxNotificationsLogger;
+import io.lynx.notifications.core.NotificationDeduplicator;
+import io.lynx.notifications.core.NotificationError;
+import io.lynx.notifications.core.NotificationIdAllocator;
+import io.lynx.notifications.core.NotificationRequest;
+import io.lynx.notifications.core.NotificationTagIndex;
+import io.lynx.notifications.core.NotificationTrigger;
+import io.lynx.notifications.core.ScheduledNotification;
+import io.lynx.notifications.core.ScheduledNotificationStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local notification scheduler that lets the OS batch notifications marked
+ * {@code precision: "inexact"}.
+ *
+ * Inexact notifications become JobScheduler jobs that may run anywhere in a flex window after
+ * their trigger time, so the device wakes for them together with other deferred work instead
+ * of on its own. Jobs are persisted across reboots by JobScheduler and recorded in
+ * {@link AndroidScheduledNotificationStore#getInexact(Context)}; AndroidNotificationJobService
+ * posts them through the publisher receiver. Exact requests, and repeating intervals shorter
+ * than {@link JobInfo#getMinPeriodMillis()}, go to the exact scheduler.
+ *
+ * Declare AndroidNotificationJobService in the manifest (the runtime manifest does). Job ids
+ * come from a reserved range ({@link #DEFAULT_JOB_ID_BASE} plus up to
+ * {@link #DEFAULT_JOB_ID_COUNT} ids by default, configurable through the full constructor) far
+ * above the ids WorkManager and typical app code use. A notification whose job id is still held
+ * by another pending job fails to schedule instead of replacing it.
+ */
+public final class AndroidJobLocalNotificationScheduler implements LocalNotificationScheduler {
+  public static final long DEFAULT_FLEX_MILLIS = 10 * 60 * 1000;
+  public static final int DEFAULT_JOB_ID_BASE = 0x4C4E0000;
+  public static final int DEFAULT_JOB_ID_COUNT = 1 << 16;
+
+  static final String EXTRA_NOTIFICATION_ID = "lynx_notification_id";
+  static final String EXTRA_RECEIVER_CLASS = "lynx_notification_receiver_class";
+  static final String EXTRA_CHANNEL_ID = "lynx_notification_channel_id";
+  static final String EXTRA_FLEX_MILLIS = "lynx_notification_flex_millis";
+  /** Marks publish intents whose notification lives in the inexact store. */
+  static final String EXTRA_INEXACT = "lynx_notification_inexact";
+
+  private final Context appContext;
+  private final Class<? extends BroadcastReceiver> receiverClass;
+  private final String channelId;
+  private final LocalNotificationScheduler exactScheduler;
+  private final ScheduledNotificationStore store;
+  private final NotificationIdAllocator idAllocator;
+  private final NotificationDeduplicator deduplicator;
+  private final NotificationTagIndex tagIndex = new NotificationTagIndex();
+  private final long flexMillis;
+  private final int jobIdBase;
+  private final int jobIdCount;
+  private volatile boolean tagIndexRestored;
+
+  public AndroidJobLocalNotificationScheduler(
+      Context appContext,
+      Class<? extends BroadcastReceiver> receiverClass
+  ) {
+    this(appContext, receiverClass, AndroidAlarmLocalNotificationScheduler.DEFAULT_CHANNEL_ID);
+  }
+
+  public AndroidJobLocalNotificationScheduler(
+      Context appContext,
+      Class<? extends BroadcastReceiver> receiverClass,
+      String channelId
+  ) {
+    this(
+        appContext,
+        receiverClass,
+        channelId,
+        new AndroidAlarmLocalNotificationScheduler(appContext, receiverClass, channelId),
+        DEFAULT_FLEX_MILLIS
+    );
+  }
+
+  /**
+   * @param exactScheduler Handles requests that need exact delivery.
+   * @param flexMillis How long after its trigger time the OS may defer an inexact notification.
+   */
+  public AndroidJobLocalNotificationScheduler(
+      Context appContext,
+      Class<? extends BroadcastReceiver> receiverClass,
+      String channelId,
+      LocalNotificationScheduler exactScheduler,
+      long flexMillis
+  ) {
+    this(
+        appContext,
+        receiverClass,
+        channelId,
+        exactScheduler,
+        flexMillis,
+        AndroidScheduledNotificationStore.getInexact(appContext),
+        AndroidNotificationIdAllocator.get(appContext)
+    );
+  }
+
+  public AndroidJobLocalNotificationScheduler(
+      Context appContext,
+      Class<? extends BroadcastReceiver> receiverClass,
+      String channelId,
+      LocalNotificationScheduler exactScheduler,
+      long flexMillis,
+      ScheduledNotificationStore store,
+      NotificationIdAllocator idAllocator
+  ) {
+    this(
+        appContext,
+        receiverClass,
+        channelId,
+        exactScheduler,
+        flexMillis,
+        store,
+        idAllocator,
+        NotificationDeduplicator.defaults(),
+        DEFAULT_JOB_ID_BASE,
+        DEFAULT_JOB_ID_COUNT
+    );
+  }
+
+  /**
+   * @param deduplicator Index of recently scheduled inexact requests. Pass the same policy as
+   *     the exact scheduler (the shorter constructors use the alarm scheduler's default), so
+   *     identical requests dedupe the same way at either precision.
+   * @param jobIdBase First JobScheduler job id reserved for notifications.
+   * @param jobIdCount Number of reserved job ids; notifications map onto them by request code.
+   */
+  public AndroidJobLocalNotificationScheduler(
+      Context appContext,
+      Class<? extends BroadcastReceiver> receiverClass,
+      String channelId,
+      LocalNotificationScheduler exactScheduler,
+      long flexMillis,
+      ScheduledNotificationStore store,
+      NotificationIdAllocator idAllocator,
+      NotificationDeduplicator deduplicator,
+      int jobIdBase,
+      int jobIdCount
+  ) {
+    if (flexMillis < 0) {
+      throw new IllegalArgumentException("Flex window must be >= 0.");
+    }
+    if (jobIdCount <= 0 || jobIdBase > Integer.MAX_VALUE - (jobIdCount - 1)) {
+      throw new IllegalArgumentException("Job id range must be non-empty and fit in an int.");
+    }
+
+    this.appContext = appContext.getApplicationContext();
+    this.receiverClass = receiverClass;
+    this.channelId = channelId;
+    this.exactScheduler = exactScheduler;
+    this.flexMillis = flexMillis;
+    this.jobIdBase = jobIdBase;
+    this.jobIdCount = jobIdCount;
+    this.store = store;
+    this.idAllocator = idAllocator;
+    this.deduplicator = deduplicator;
+    AndroidNotificationRenderCache.get(this.appContext).registerChannelsAsync(Collections.singleton(channelId));
+  }
+
+  @Override
+  public void schedule(Map<String, Object> request, ScheduleCallback callback) {
+    NotificationRequest parsed;
+    try {
+      parsed = NotificationRequest.parse(request);
+    } catch (NotificationError error) {
+      callback.onError(error);
+      return;
+    }
+
+    long intervalMillis = parsed.getTrigger().getRepeatIntervalMillis();
+    if (parsed.getPrecision() == NotificationRequest.Precision.EXACT
+        || (intervalMillis > 0 && intervalMillis < JobInfo.getMinPeriodMillis())) {
+      exactScheduler.schedule(request, callback);
+      return;
+    }
+
+    try {
+      String id = register(getJobScheduler(), parsed, System.currentTimeMillis());
+      LynxNotificationsLogger.debug("Scheduled inexact local notification id={}", id);
+      callback.onSuccess(id);
+    } catch (NotificationError error) {
+      LynxNotificationsLogger.error(
+          "schedule failed with code={} message={}",
+          error.getCode(),
+          error.getMessage()
+      );
+      callback.onError(error);
+    } catch (Throwable throwable) {
+      LynxNotificationsLogger.error("schedule failed with unexpected native error.", throwable);
+      callback.onError(NotificationError.fromThrowable(throwable));
+    }
+  }
+
+  @Override
+  public void cancel(String id, VoidCallback callback) {
+    if (id == null || id.isEmpty() || store.get(id) == null) {
+      exactScheduler.cancel(id, callback);
+      return;
+    }
+
+    try {
+      unregister(getJobScheduler(), id);
+      LynxNotificationsLogger.debug("Canceled inexact local notification id={}", id);
+      callback.onSuccess();
+    } catch (NotificationError error) {
+      callback.onError(error);
+    }
+  }
+
+  @Override
+  public void cancelAll(VoidCallback callback) {
+    try {
+      JobScheduler jobScheduler = getJobScheduler();
+      String serviceClassName = AndroidNotificationJobService.class.getName();
+      for (JobInfo job : jobScheduler.getAllPendingJobs()) {
+        if (serviceClassName.equals(job.getService().getClassName())) {
+          jobScheduler.cancel(job.getId());
+        }
+      }
+      store.clear();
+      tagIndex.clear();
+      deduplicator.clear();
+    } catch (NotificationError error) {
+      callback.onError(error);
+      return;
+    }
+    exactScheduler.cancelAll(callback);
+  }
+
+  @Override
+  public void cancelByTag(String tag, VoidCallback callback) {
+    if (tag != null && !tag.isEmpty()) {
+      try {
+        restoreTagIndex();
+        JobScheduler jobScheduler = getJobScheduler();
+        for (String id : tagIndex.idsForTag(tag)) {
+          unregister(jobScheduler, id);
+        }
+      } catch (NotificationError error) {
+        callback.onError(error);
+        return;
+      }
+    }
+    exactScheduler.cancelByTag(tag, callback);
+  }
+
+  @Override
+  public void getScheduledByTag(String tag, IdsCallback callback) {
+    exactScheduler.getScheduledByTag(tag, new IdsCallback() {
+      @Override
+      public void onSuccess(List<String> ids) {
+        restoreTagIndex();
+        Set<String> merged = new LinkedHashSet<>(ids);
+        merged.addAll(tagIndex.idsForTag(tag));
+        callback.onSuccess(new ArrayList<>(merged));
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        callback.onError(error);
+      }
+    });
+  }
+
+  private String register(JobScheduler jobScheduler, NotificationRequest request, long now)
+      throws NotificationError {
+    String existing = deduplicator.find(request, now);
+    if (existing != null) {
+      return existing;
+    }
+
+    NotificationTrigger trigger = request.getTrigger();
+    long triggerAtMillis = trigger.firstTriggerAt(now);
+    long intervalMillis = trigger.getRepeatIntervalMillis();
+    String id = idAllocator.nextId();
+    int jobId = jobIdFor(id);
+    JobInfo pending = jobScheduler.getPendingJob(jobId);
+    if (pending != null) {
+      throw new NotificationError(
+          "ERR_NATIVE_FAILURE",
+          "Notification job id " + jobId + " is still held by another pending job."
+      );
+    }
+    JobInfo job = buildJob(
+        appContext,
+        jobId,
+        id,
+        receiverClass.getName(),
+        channelId,
+        flexMillis,
+        triggerAtMillis - now,
+        intervalMillis
+    );
+    if (jobScheduler.schedule(job) != JobScheduler.RESULT_SUCCESS) {
+      throw new NotificationError("ERR_NATIVE_FAILURE", "JobScheduler rejected the notification job.");
+    }
+
+    store.put(new ScheduledNotification(id, triggerAtMillis, intervalMillis, request.getSource()));
+    tagIndex.add(id, request.getTags());
+    String recorded = deduplicator.record(request, id, now);
+    if (!recorded.equals(id)) {
+      unregister(jobScheduler, id);
+    }
+    return recorded;
+  }
+
+  private void unregister(JobScheduler jobScheduler, String id) {
+    jobScheduler.cancel(jobIdFor(id));
+    store.remove(id);
+    tagIndex.remove(id);
+    deduplicator.forget(id);
+  }
+
+  private void restoreTagIndex() {
+    if (tagIndexRestored) {
+      return;
+    }
+
+    synchronized (tagIndex) {
+      if (tagIndexRestored) {
+        return;
+      }
+      for (ScheduledNotification notification : store.loadAll()) {
+        try {
+          tagIndex.add(notification.getId(), NotificationTagIndex.tagsOf(notification.getRequest()));
+        } catch (NotificationError error) {
+          LynxNotificationsLogger.error("Ignoring invalid tags for stored notification id={}", notification.getId());
+        }
+      }
+      tagIndexRestored = true;
+    }
+  }
+
+  private int jobIdFor(String id) {
+    return jobIdBase + Math.floorMod(idAllocator.requestCodeFor(id), jobIdCount);
+  }
+
+  private JobScheduler getJobScheduler() throws NotificationError {
+    JobScheduler jobScheduler = (JobScheduler) appContext.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+    if (jobScheduler == null) {
+      throw new NotificationError("ERR_NATIVE_FAILURE", "JobScheduler service is unavailable.");
+    }
+    return jobScheduler;
+  }
+
+  /**
+   * Job that runs between {@code delayMillis} and {@code delayMillis + flexMillis} from now,
+   * or a periodic job for repeating intervals.
+   */
+  static JobInfo buildJob(
+      Context context,
+      int jobId,
+      String id,
+      String receiverClassName,
+      String channelId,
+      long flexMillis,
+      long delayMillis,
+      long intervalMillis
+  ) {
+    PersistableBundle extras = new PersistableBundle();
+    extras.putString(EXTRA_NOTIFICATION_ID, id);
+    extras.putString(EXTRA_RECEIVER_CLASS, receiverClassName);
+    extras.putString(EXTRA_CHANNEL_ID, channelId);
+    extras.putLong(EXTRA_FLEX_MILLIS, flexMillis);
+
+    JobInfo.Builder builder = new JobInfo.Builder(
+        jobId,
+        new ComponentName(context, AndroidNotificationJobService.class)
+    )
+        .setPersisted(true)
+        .setExtras(extras);
+    if (intervalMillis > 0) {
+      long flex = Math.min(intervalMillis, Math.max(JobInfo.getMinFlexMillis(), flexMillis));
+      builder.setPeriodic(intervalMillis, flex);
+    } else {
+      long delay = Math.max(0, delayMillis);
+      builder.setMinimumLatency(delay).setOverrideDeadline(delay + flexMillis);
+    }
+    return builder.build();
+  }
+}
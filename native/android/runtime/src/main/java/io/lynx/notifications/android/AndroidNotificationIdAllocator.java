@@ -0,0 +1,36 @@
+package io.lynx.notifications.android;
+
+import android.content.Context;
+import io.lynx.notifications.core.MonotonicNotificationIdAllocator;
+import io.lynx.notifications.core.NotificationIdAllocator;
+import java.io.File;
+
+/**
+ * Process-wide id allocator whose counter is kept next to the scheduled notification store.
+ *
+ * Shared by the alarm scheduler and the publisher receiver so PendingIntent request codes and
+ * notification ids agree across process restarts.
+ */
+public final class AndroidNotificationIdAllocator {
+  private static final String DIRECTORY = "lynx_notifications";
+  private static final String FILE_NAME = "ids.state";
+
+  private static volatile NotificationIdAllocator instance;
+
+  private AndroidNotificationIdAllocator() {}
+
+  public static NotificationIdAllocator get(Context context) {
+    NotificationIdAllocator allocator = instance;
+    if (allocator != null) {
+      return allocator;
+    }
+
+    synchronized (AndroidNotificationIdAllocator.class) {
+      if (instance == null) {
+        File directory = new File(context.getApplicationContext().getNoBackupFilesDir(), DIRECTORY);
+        instance = new MonotonicNotificationIdAllocator(new File(directory, FILE_NAME));
+      }
+      return instance;
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package io.lynx.notifications.android;
+
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.os.PersistableBundle;
+import io.lynx.notifications.core.LynxNotificationsLogger;
+import io.lynx.notifications.core.NotificationRequest;
+import io.lynx.notifications.core.NotificationTrigger;
+import io.lynx.notifications.core.ScheduledNotification;
+import io.lynx.notifications.core.ScheduledNotificationStore;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JobService that posts inexact notifications scheduled by AndroidJobLocalNotificationScheduler.
+ *
+ * The notification is handed to the publisher receiver that scheduled it, so both precisions
+ * render identically; the receiver loads the content from the inexact store and removes one-shot
+ * entries once posted. Repeating calendar triggers move to their next fire time in the store
+ * before the post, and their next job is scheduled only after this one finishes, since
+ * scheduling a running job's id stops it. A job stopped by the system before it posts is
+ * interrupted and retried; a retry that finds the store already moved on only reschedules.
+ */
+public class AndroidNotificationJobService extends JobService {
+  private final Map<Integer, Thread> workers = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean onStartJob(JobParameters params) {
+    Context appContext = getApplicationContext();
+    int jobId = params.getJobId();
+    Thread worker = new Thread(() -> {
+      JobInfo next = null;
+      try {
+        next = publish(appContext, jobId, params.getExtras());
+      } catch (InterruptedException interrupted) {
+        LynxNotificationsLogger.debug("Inexact notification job stopped before posting jobId={}", Integer.valueOf(jobId));
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Failed to publish inexact notification job.", throwable);
+      }
+
+      // A stopped job belongs to the system again: it is rescheduled, so neither finish it nor
+      // schedule over it.
+      if (!workers.remove(jobId, Thread.currentThread())) {
+        return;
+      }
+      jobFinished(params, false);
+      if (next != null) {
+        JobScheduler jobScheduler = (JobScheduler) appContext.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        jobScheduler.schedule(next);
+      }
+    }, "lynx-notifications-job");
+    workers.put(jobId, worker);
+    worker.start();
+    return true;
+  }
+
+  @Override
+  public boolean onStopJob(JobParameters params) {
+    Thread worker = workers.remove(params.getJobId());
+    if (worker != null) {
+      worker.interrupt();
+    }
+    return true;
+  }
+
+  /**
+   * Posts the notification and returns the job for its next occurrence, or null.
+   */
+  private static JobInfo publish(Context context, int jobId, PersistableBundle extras) throws Exception {
+    String id = extras.getString(AndroidJobLocalNotificationScheduler.EXTRA_NOTIFICATION_ID);
+    ScheduledNotificationStore store = AndroidScheduledNotificationStore.getInexact(context);
+    ScheduledNotification notification = id == null ? null : store.get(id);
+    if (notification == null) {
+      return null;
+    }
+
+    String channelId = extras.getString(AndroidJobLocalNotificationScheduler.EXTRA_CHANNEL_ID);
+    String receiverClassName = extras.getString(AndroidJobLocalNotificationScheduler.EXTRA_RECEIVER_CLASS);
+    long flexMillis = extras.getLong(AndroidJobLocalNotificationScheduler.EXTRA_FLEX_MILLIS, 0);
+    long now = System.currentTimeMillis();
+    if (!notification.repeats() && notification.getTriggerAtMillis() > now + flexMillis) {
+      // Retry of a stopped calendar job whose occurrence was already posted.
+      return AndroidJobLocalNotificationScheduler.buildJob(
+          context,
+          jobId,
+          id,
+          receiverClassName,
+          channelId,
+          flexMillis,
+          notification.getTriggerAtMillis() - now,
+          0
+      );
+    }
+
+    Class<? extends BroadcastReceiver> receiverClass = Class
+        .forName(receiverClassName)
+        .asSubclass(BroadcastReceiver.class);
+    NotificationTrigger trigger = NotificationRequest.parse(notification.getRequest()).getTrigger();
+    long next = !notification.repeats()
+        && trigger.getType() == NotificationTrigger.Type.CALENDAR
+        && trigger.repeats()
+        ? trigger.nextFireAfter(Math.max(now, notification.getTriggerAtMillis()))
+        : -1;
+    // The receiver loads the content from the inexact store and, for notifications that will
+    // not fire again, removes the entry once it is posted.
+    Intent intent = AndroidAlarmLocalNotificationScheduler.buildPublishIntent(
+        context,
+        receiverClass,
+        id,
+        AndroidNotificationIdAllocator.get(context).requestCodeFor(id),
+        channelId,
+        notification.repeats() || next >= 0
+    );
+    intent.putExtra(AndroidJobLocalNotificationScheduler.EXTRA_INEXACT, true);
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    context.sendBroadcast(intent);
+
+    if (next < 0) {
+      return null;
+    }
+    store.put(new ScheduledNotification(id, next, 0, notification.getRequest()));
+    return AndroidJobLocalNotificationScheduler.buildJob(
+        context,
+        jobId,
+        id,
+        receiverClassName,
+        channelId,
+        flexMillis,
+        next - now,
+        0
+    );
+  }
+}
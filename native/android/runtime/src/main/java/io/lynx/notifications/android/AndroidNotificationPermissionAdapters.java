@@ -2,10 +2,12 @@ package io.lynx.notifications.android;
 
 import android.Manifest;
 import android.app.Activity;
+import android.app.Application;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
 import android.os.Build;
+import android.os.Bundle;
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.core.app.NotificationManagerCompat;
 import androidx.core.content.ContextCompat;
@@ -15,6 +17,9 @@ import io.lynx.notifications.core.RuntimeNotificationPermissionProvider;
 
 /**
  * Production adapter for Android notification permission state + request flow.
+ *
+ * The provider caches the last permission state; it is refreshed after permission request
+ * results and whenever an Activity resumes (the user may have changed it in system settings).
  */
 public final class AndroidNotificationPermissionAdapters {
   private static final String PREFERENCES_FILE = "lynx_notifications";
@@ -70,7 +75,47 @@ public final class AndroidNotificationPermissionAdapters {
       requestBridge.request(callback);
     };
 
-    return new RuntimeNotificationPermissionProvider(stateReader, requestLauncher);
+    RuntimeNotificationPermissionProvider provider =
+        new RuntimeNotificationPermissionProvider(stateReader, requestLauncher);
+    requestBridge.permissionProvider = provider;
+    invalidateOnResume(activity, provider);
+    return provider;
+  }
+
+  private static void invalidateOnResume(Activity activity, RuntimeNotificationPermissionProvider provider) {
+    Application application = activity.getApplication();
+    if (application == null) {
+      return;
+    }
+
+    application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+      @Override
+      public void onActivityCreated(Activity created, Bundle savedInstanceState) {}
+
+      @Override
+      public void onActivityStarted(Activity started) {}
+
+      @Override
+      public void onActivityResumed(Activity resumed) {
+        provider.invalidate();
+      }
+
+      @Override
+      public void onActivityPaused(Activity paused) {}
+
+      @Override
+      public void onActivityStopped(Activity stopped) {}
+
+      @Override
+      public void onActivitySaveInstanceState(Activity saved, Bundle outState) {}
+
+      @Override
+      public void onActivityDestroyed(Activity destroyed) {
+        if (destroyed == activity) {
+          application.unregisterActivityLifecycleCallbacks(this);
+        }
+      }
+    });
   }
 
   public static final class PermissionRequestBridge
@@ -78,6 +123,7 @@ public final class AndroidNotificationPermissionAdapters {
     private final Context appContext;
     private ActivityResultLauncher<String> launcher;
     private RuntimeNotificationPermissionProvider.PermissionRequestLauncher.RequestCallback pendingCallback;
+    private volatile RuntimeNotificationPermissionProvider permissionProvider;
 
     private PermissionRequestBridge(Context appContext) {
       this.appContext = appContext;
@@ -121,12 +167,16 @@ public final class AndroidNotificationPermissionAdapters {
     public void onPermissionRequestResult(boolean granted) {
       if (pendingCallback == null) {
         LynxNotificationsLogger.debug("Permission result received without pending callback.");
+        RuntimeNotificationPermissionProvider provider = permissionProvider;
+        if (provider != null) {
+          provider.invalidate();
+        }
         return;
       }
 
       RuntimeNotificationPermissionProvider.PermissionRequestLauncher.RequestCallback callback = pendingCallback;
       pendingCallback = null;
-      LynxNotificationsLogger.debug("Permission request result received. granted=" + granted);
+      LynxNotificationsLogger.debug("Permission request result received. granted={}", granted);
       callback.onResult(granted);
     }
   }
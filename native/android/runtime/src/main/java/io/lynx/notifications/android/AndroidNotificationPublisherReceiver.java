@@ -1,8 +1,6 @@
 package io.lynx.notifications.android;
 
 import android.app.Notification;
-import android.app.NotificationChannel;
-import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.content.BroadcastReceiver;
 import android.content.Context;
@@ -10,48 +8,286 @@ import android.content.Intent;
 import android.os.Build;
 import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
+import io.lynx.notifications.core.LynxNotificationsLogger;
+import io.lynx.notifications.core.NotificationDeduplicator;
+import io.lynx.notifications.core.NotificationError;
+import io.lynx.notifications.core.NotificationGroupingPolicy;
+import io.lynx.notifications.core.NotificationRequest;
+import io.lynx.notifications.core.ScheduledNotification;
+import io.lynx.notifications.core.ScheduledNotificationStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * BroadcastReceiver that displays scheduled local notifications.
+ *
+ * Publish intents carry only the notification id; the receiver loads the request from the
+ * scheduler's store on the {@link AndroidNotificationRenderCache} executor when the alarm fires,
+ * and skips ids that are no longer stored. Channels, the small icon and the launch intent come
+ * from the same cache. A coalesced slot alarm posts the members listed in its intent that are
+ * still stored together; groups larger than the {@link #createGroupingPolicy()} threshold are
+ * posted as silent children of one summary notification, so the burst alerts once. Each
+ * notification is still its own NotificationManager call. {@link AndroidPushNotificationPublisher}
+ * posts push bursts the same way. After a notification is posted, {@link #createScheduler(Context, String, int)}
+ * re-arms repeating calendar notifications and, in alarm-window mode, arms the next waiting one.
+ *
+ * The notification's launch intent (action {@link #ACTION_OPEN_NOTIFICATION}) carries the id,
+ * title, subtitle and body; the full request, including data, is kept in
+ * {@link AndroidDeliveredNotificationStore} until the notification is dismissed or leaves the
+ * shade, so the opened activity can resolve it.
  */
 public class AndroidNotificationPublisherReceiver extends BroadcastReceiver {
+  public static final String ACTION_OPEN_NOTIFICATION = "io.lynx.notifications.ACTION_OPEN_NOTIFICATION";
+  public static final String ACTION_DISMISS_NOTIFICATION = "io.lynx.notifications.ACTION_DISMISS_NOTIFICATION";
+
+  /** Summaries are posted under this tag plus the group key, so they never collide with ids. */
+  private static final String SUMMARY_TAG_PREFIX = "lynx_notifications_summary:";
+  private static final int SUMMARY_LINES = 5;
+
   @Override
   public void onReceive(Context context, Intent intent) {
-    if (!AndroidAlarmLocalNotificationScheduler.ACTION_PUBLISH_NOTIFICATION.equals(intent.getAction())) {
-      return;
+    String action = intent.getAction();
+    if (AndroidAlarmLocalNotificationScheduler.ACTION_PUBLISH_NOTIFICATION.equals(action)) {
+      runAsync(context, appContext -> publish(appContext, intent));
+    } else if (AndroidAlarmLocalNotificationScheduler.ACTION_PUBLISH_SLOT.equals(action)) {
+      runAsync(context, appContext -> publishSlot(appContext, intent));
+    } else if (ACTION_DISMISS_NOTIFICATION.equals(action)) {
+      String id = intent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_NOTIFICATION_ID);
+      if (id != null) {
+        runAsync(context, appContext -> AndroidDeliveredNotificationStore.forget(appContext, id));
+      }
     }
+  }
 
-    String id = nonEmpty(
-        intent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_NOTIFICATION_ID),
-        "notification-" + System.currentTimeMillis()
-    );
+  private void runAsync(Context context, Task task) {
+    Context appContext = context.getApplicationContext();
+    PendingResult pendingResult = goAsync();
+    AndroidNotificationRenderCache.get(appContext).executor().execute(() -> {
+      try {
+        task.run(appContext);
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Failed to publish scheduled notification.", throwable);
+      } finally {
+        pendingResult.finish();
+      }
+    });
+  }
+
+  private void publishSlot(Context context, Intent intent) {
+    long slotAt = intent.getLongExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_SLOT_AT, 0);
     String channelId = nonEmpty(
         intent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_CHANNEL_ID),
         AndroidAlarmLocalNotificationScheduler.DEFAULT_CHANNEL_ID
     );
+    int alarmWindow = intent.getIntExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_ALARM_WINDOW, 0);
+    String[] ids = intent.getStringArrayExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_SLOT_IDS);
+    if (ids == null) {
+      return;
+    }
+    ScheduledNotificationStore store = AndroidScheduledNotificationStore.get(context);
+    List<Due> due = new ArrayList<>(ids.length);
+    for (String id : ids) {
+      // Members cancelled after joining stay in the extras but are gone from the store.
+      ScheduledNotification notification = store.get(id);
+      if (notification == null || notification.repeats() || notification.getTriggerAtMillis() > slotAt) {
+        continue;
+      }
+      try {
+        NotificationRequest request = NotificationRequest.parse(notification.getRequest());
+        if (!request.getTrigger().repeats()) {
+          due.add(new Due(id, AndroidNotificationIdAllocator.get(context).requestCodeFor(id), request));
+        }
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Failed to publish coalesced notification id={}", id, throwable);
+        store.remove(id);
+      }
+    }
+    if (due.isEmpty()) {
+      return;
+    }
 
-    ensureNotificationChannel(context, channelId);
+    List<Due> posted = postBurst(context, channelId, createGroupingPolicy(), due);
+    if (posted.size() < due.size()) {
+      for (Due item : due) {
+        if (!posted.contains(item)) {
+          store.remove(item.id);
+        }
+      }
+    }
 
-    String title = nonEmpty(
-        intent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_TITLE),
-        "Notification"
-    );
-    String subtitle = intent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_SUBTITLE);
-    String body = nonEmpty(
-        intent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_BODY),
-        ""
+    AndroidAlarmLocalNotificationScheduler scheduler = createScheduler(context, channelId, alarmWindow);
+    for (Due item : posted) {
+      try {
+        scheduler.onPublished(item.id);
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Failed to re-arm published notification id={}", item.id, throwable);
+        store.remove(item.id);
+      }
+    }
+    LynxNotificationsLogger.debug("Published coalesced notifications count={} slotAt={}", Integer.valueOf(posted.size()), slotAt);
+  }
+
+  private void publish(Context context, Intent intent) throws NotificationError {
+    String id = intent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_NOTIFICATION_ID);
+    if (id == null || id.isEmpty()) {
+      return;
+    }
+    int requestCode = intent.hasExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_REQUEST_CODE)
+        ? intent.getIntExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_REQUEST_CODE, 0)
+        : AndroidNotificationIdAllocator.get(context).requestCodeFor(id);
+    String channelId = nonEmpty(
+        intent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_CHANNEL_ID),
+        AndroidAlarmLocalNotificationScheduler.DEFAULT_CHANNEL_ID
     );
-    String dataJson = intent.getStringExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_DATA_JSON);
-    int badge = intent.getIntExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_BADGE, -1);
-    boolean useDefaultSound = intent.getBooleanExtra(
-        AndroidAlarmLocalNotificationScheduler.EXTRA_USE_DEFAULT_SOUND,
-        false
+
+    boolean repeats = intent.getBooleanExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_REPEATS, false);
+
+    // Inexact jobs keep their own store; AndroidNotificationJobService reschedules repeats.
+    if (intent.getBooleanExtra(AndroidJobLocalNotificationScheduler.EXTRA_INEXACT, false)) {
+      ScheduledNotificationStore store = AndroidScheduledNotificationStore.getInexact(context);
+      ScheduledNotification notification = store.get(id);
+      if (notification != null) {
+        post(context, id, requestCode, channelId, NotificationRequest.parse(notification.getRequest()));
+        if (!repeats) {
+          store.remove(id);
+        }
+      }
+      return;
+    }
+
+    AndroidAlarmLocalNotificationScheduler scheduler = createScheduler(
+        context,
+        channelId,
+        intent.getIntExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_ALARM_WINDOW, 0)
     );
+    ScheduledNotification notification = scheduler.getScheduled(id);
+    if (notification == null) {
+      LynxNotificationsLogger.debug("Skipping local notification id={} that is no longer scheduled", id);
+      return;
+    }
+    post(context, id, requestCode, channelId, NotificationRequest.parse(notification.getRequest()));
+
+    if (!repeats) {
+      try {
+        scheduler.onPublished(id);
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Failed to re-arm published notification id={}", id, throwable);
+        AndroidScheduledNotificationStore.get(context).remove(id);
+      }
+    }
+  }
+
+  /**
+   * Posts a burst grouped by {@code policy}: summarized groups are posted as silent children
+   * followed by their summary, everything through one {@link NotificationManagerCompat} call.
+   * The platform still posts each notification separately. Posted requests are recorded in
+   * {@link AndroidDeliveredNotificationStore}.
+   *
+   * @return The members that were built and posted, in burst order within each group.
+   */
+  static List<Due> postBurst(
+      Context context,
+      String channelId,
+      NotificationGroupingPolicy policy,
+      List<Due> due
+  ) {
+    AndroidNotificationRenderCache.get(context).registerChannels(Collections.singleton(channelId));
+    List<NotificationManagerCompat.NotificationWithIdAndTag> batch = new ArrayList<>(due.size() + 1);
+    List<Due> posted = new ArrayList<>(due.size());
+    for (NotificationGroupingPolicy.Group<Due> group : policy.group(due, item -> item.request)) {
+      String groupKey = group.isSummarized() ? group.getKey() : null;
+      for (Due item : group.getMembers()) {
+        try {
+          batch.add(new NotificationManagerCompat.NotificationWithIdAndTag(
+              item.requestCode,
+              build(context, item.id, item.requestCode, channelId, item.request, groupKey)
+          ));
+          posted.add(item);
+        } catch (Throwable throwable) {
+          LynxNotificationsLogger.error("Failed to build notification id={}", item.id, throwable);
+        }
+      }
+      if (groupKey != null) {
+        batch.add(new NotificationManagerCompat.NotificationWithIdAndTag(
+            SUMMARY_TAG_PREFIX + groupKey,
+            summaryIdFor(groupKey),
+            buildSummary(context, channelId, groupKey, group.getMembers())
+        ));
+      }
+    }
+    postBatch(context, channelId, batch);
 
+    long now = System.currentTimeMillis();
+    for (Due item : posted) {
+      AndroidDeliveredNotificationStore.record(context, item.id, item.request.getSource(), now);
+    }
+    return posted;
+  }
+
+  /**
+   * Posts {@code batch}; if the post fails, the cached channel may have been deleted since it was
+   * registered, so the channel cache is dropped, the channel registered again and the post
+   * retried once.
+   */
+  private static void postBatch(
+      Context context,
+      String channelId,
+      List<NotificationManagerCompat.NotificationWithIdAndTag> batch
+  ) {
+    NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
+    try {
+      notificationManager.notify(batch);
+    } catch (RuntimeException error) {
+      LynxNotificationsLogger.debug("Retrying notification post after re-registering channel={}", channelId);
+      AndroidNotificationRenderCache cache = AndroidNotificationRenderCache.get(context);
+      cache.invalidateChannels();
+      cache.registerChannels(Collections.singleton(channelId));
+      notificationManager.notify(batch);
+    }
+  }
+
+  /**
+   * Notification id of the summary posted for {@code groupKey}, under the tag
+   * {@code "lynx_notifications_summary:" + groupKey}. Stable per group key, and negative so it
+   * stays clear of allocator-issued ids.
+   */
+  public static int summaryIdFor(String groupKey) {
+    return (SUMMARY_TAG_PREFIX + groupKey).hashCode() | Integer.MIN_VALUE;
+  }
+
+  private static void post(
+      Context context,
+      String id,
+      int requestCode,
+      String channelId,
+      NotificationRequest request
+  ) {
+    AndroidNotificationRenderCache.get(context).registerChannels(Collections.singleton(channelId));
+    postBatch(context, channelId, Collections.singletonList(new NotificationManagerCompat.NotificationWithIdAndTag(
+        requestCode,
+        build(context, id, requestCode, channelId, request, null)
+    )));
+    AndroidDeliveredNotificationStore.record(context, id, request.getSource(), System.currentTimeMillis());
+  }
+
+  /**
+   * @param groupKey Group of a summarized burst; children stay silent so only the summary alerts.
+   */
+  private static Notification build(
+      Context context,
+      String id,
+      int requestCode,
+      String channelId,
+      NotificationRequest request,
+      String groupKey
+  ) {
+    AndroidNotificationRenderCache cache = AndroidNotificationRenderCache.get(context);
+    String subtitle = request.getSubtitle();
     NotificationCompat.Builder builder = new NotificationCompat.Builder(context, channelId)
-        .setSmallIcon(resolveSmallIcon(context))
-        .setContentTitle(title)
-        .setContentText(body)
+        .setSmallIcon(cache.smallIcon())
+        .setContentTitle(nonEmpty(request.getTitle(), "Notification"))
+        .setContentText(nonEmpty(request.getBody(), ""))
         .setPriority(NotificationCompat.PRIORITY_DEFAULT)
         .setAutoCancel(true);
 
@@ -59,78 +295,138 @@ public class AndroidNotificationPublisherReceiver extends BroadcastReceiver {
       builder.setSubText(subtitle);
     }
 
-    if (badge >= 0) {
-      builder.setNumber(badge);
+    if (request.getBadge() >= 0) {
+      builder.setNumber(request.getBadge());
     }
 
-    if (useDefaultSound) {
+    if (request.usesDefaultSound()) {
       builder.setDefaults(Notification.DEFAULT_SOUND);
     }
 
-    Intent launchIntent = context.getPackageManager().getLaunchIntentForPackage(context.getPackageName());
-    if (launchIntent != null) {
-      launchIntent.setFlags(
-          Intent.FLAG_ACTIVITY_NEW_TASK
-              | Intent.FLAG_ACTIVITY_CLEAR_TOP
-              | Intent.FLAG_ACTIVITY_SINGLE_TOP
-      );
-      launchIntent.setAction("io.lynx.notifications.ACTION_OPEN_NOTIFICATION");
-      launchIntent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_NOTIFICATION_ID, id);
-      launchIntent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_TITLE, title);
-      if (subtitle != null && !subtitle.isEmpty()) {
-        launchIntent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_SUBTITLE, subtitle);
-      }
-      launchIntent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_BODY, body);
-      if (dataJson != null && !dataJson.isEmpty()) {
-        launchIntent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_DATA_JSON, dataJson);
-      }
+    if (groupKey != null) {
+      builder.setGroup(groupKey).setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY);
+    }
 
-      int flags = PendingIntent.FLAG_UPDATE_CURRENT;
-      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-        flags |= PendingIntent.FLAG_IMMUTABLE;
-      }
-      PendingIntent contentIntent = PendingIntent.getActivity(
-          context,
-          id.hashCode(),
-          launchIntent,
-          flags
-      );
+    PendingIntent contentIntent = launchPendingIntent(context, id, requestCode, request);
+    if (contentIntent != null) {
       builder.setContentIntent(contentIntent);
     }
-
-    NotificationManagerCompat.from(context).notify(id.hashCode(), builder.build());
+    builder.setDeleteIntent(dismissPendingIntent(context, id, requestCode));
+    return builder.build();
   }
 
-  private static void ensureNotificationChannel(Context context, String channelId) {
-    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
-      return;
+  private static Notification buildSummary(
+      Context context,
+      String channelId,
+      String groupKey,
+      List<Due> members
+  ) {
+    NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle();
+    int lines = Math.min(members.size(), SUMMARY_LINES);
+    for (int index = 0; index < lines; index++) {
+      style.addLine(nonEmpty(members.get(index).request.getTitle(), "Notification"));
     }
-
-    NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
-    if (notificationManager == null) {
-      return;
+    if (members.size() > lines) {
+      style.setSummaryText("+" + (members.size() - lines) + " more");
     }
 
-    NotificationChannel existing = notificationManager.getNotificationChannel(channelId);
-    if (existing != null) {
-      return;
+    String title = members.size() + " notifications";
+    NotificationCompat.Builder builder = new NotificationCompat.Builder(context, channelId)
+        .setSmallIcon(AndroidNotificationRenderCache.get(context).smallIcon())
+        .setContentTitle(title)
+        .setStyle(style.setBigContentTitle(title))
+        .setNumber(members.size())
+        .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+        .setGroup(groupKey)
+        .setGroupSummary(true)
+        .setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY)
+        .setAutoCancel(true);
+    // Negative request codes stay clear of allocator-issued ones, which would share the intent.
+    PendingIntent contentIntent = launchPendingIntent(context, null, summaryIdFor(groupKey), null);
+    if (contentIntent != null) {
+      builder.setContentIntent(contentIntent);
     }
+    return builder.build();
+  }
 
-    NotificationChannel channel = new NotificationChannel(
-        channelId,
-        "Lynx Notifications",
-        NotificationManager.IMPORTANCE_DEFAULT
+  /**
+   * Launch intent for a posted notification; it carries the id and the short text fields, or
+   * nothing for a summary. Data is resolved through {@link AndroidDeliveredNotificationStore}.
+   */
+  private static PendingIntent launchPendingIntent(
+      Context context,
+      String id,
+      int requestCode,
+      NotificationRequest request
+  ) {
+    Intent launchIntent = AndroidNotificationRenderCache.get(context).newLaunchIntent();
+    if (launchIntent == null) {
+      return null;
+    }
+    launchIntent.setFlags(
+        Intent.FLAG_ACTIVITY_NEW_TASK
+            | Intent.FLAG_ACTIVITY_CLEAR_TOP
+            | Intent.FLAG_ACTIVITY_SINGLE_TOP
     );
-    channel.setDescription("Notifications scheduled by LynxNotificationsModule");
-    notificationManager.createNotificationChannel(channel);
+    launchIntent.setAction(ACTION_OPEN_NOTIFICATION);
+    if (id != null) {
+      launchIntent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_NOTIFICATION_ID, id);
+    }
+    if (request != null) {
+      launchIntent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_TITLE, request.getTitle());
+      if (request.getSubtitle() != null) {
+        launchIntent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_SUBTITLE, request.getSubtitle());
+      }
+      launchIntent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_BODY, request.getBody());
+    }
+    return PendingIntent.getActivity(context, requestCode, launchIntent, pendingIntentFlags());
+  }
+
+  /**
+   * Sent when the user dismisses the notification, so its delivered request is dropped.
+   */
+  private static PendingIntent dismissPendingIntent(Context context, String id, int requestCode) {
+    Intent intent = new Intent(context, AndroidNotificationPublisherReceiver.class);
+    intent.setAction(ACTION_DISMISS_NOTIFICATION);
+    intent.putExtra(AndroidAlarmLocalNotificationScheduler.EXTRA_NOTIFICATION_ID, id);
+    return PendingIntent.getBroadcast(context, requestCode, intent, pendingIntentFlags());
   }
 
-  private static int resolveSmallIcon(Context context) {
-    int icon = context.getApplicationInfo().icon;
-    if (icon != 0) {
-      return icon;
+  private static int pendingIntentFlags() {
+    int flags = PendingIntent.FLAG_UPDATE_CURRENT;
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+      flags |= PendingIntent.FLAG_IMMUTABLE;
     }
-    return android.R.drawable.ic_dialog_info;
+    return flags;
+  }
+
+  /**
+   * Scheduler used to re-arm repeating calendar notifications and top up the alarm window once
+   * a notification is posted. Override when the app schedules with a custom store or id
+   * allocator.
+   *
+   * @param alarmWindow Alarm window of the scheduler that armed the notification, or 0.
+   */
+  protected AndroidAlarmLocalNotificationScheduler createScheduler(
+      Context context,
+      String channelId,
+      int alarmWindow
+  ) {
+    return AndroidAlarmLocalNotificationScheduler
+        .builder(context, getClass())
+        .setChannelId(channelId)
+        .setCoalescingWindowMillis(AndroidSchedulerSettings.load(context).coalescingWindowMillis)
+        .setDeduplicator(NotificationDeduplicator.keysOnly())
+        .setAlarmWindow(alarmWindow)
+        .build();
+  }
+
+  /**
+   * Grouping applied to notifications posted together by a coalesced slot alarm. Override to
+   * change the threshold, or return {@link NotificationGroupingPolicy#disabled()}.
+   */
+  protected NotificationGroupingPolicy createGroupingPolicy() {
+    return new NotificationGroupingPolicy(NotificationGroupingPolicy.DEFAULT_THRESHOLD);
   }
 
   private static String nonEmpty(String value, String fallback) {
@@ -139,4 +435,20 @@ public class AndroidNotificationPublisherReceiver extends BroadcastReceiver {
     }
     return value;
   }
+
+  private interface Task {
+    void run(Context appContext) throws Exception;
+  }
+
+  static final class Due {
+    final String id;
+    final int requestCode;
+    final NotificationRequest request;
+
+    Due(String id, int requestCode, NotificationRequest request) {
+      this.id = id;
+      this.requestCode = requestCode;
+      this.request = request;
+    }
+  }
 }
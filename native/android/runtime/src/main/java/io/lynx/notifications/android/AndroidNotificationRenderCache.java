@@ -0,0 +1,191 @@
+package io.lynx.notifications.android;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide state the publisher receiver needs for every notification it posts.
+ *
+ * Channel registration, the small icon and the launch intent are each resolved once per process
+ * instead of once per alarm: the first channel lookup reads every existing channel in one call
+ * and missing channels are created together, and posts copy a memoized launch intent template.
+ * Channels deleted behind the cache's back are not seen until {@link #invalidateChannels()} or a
+ * failed post drops the cached ids; delete them with {@link #deleteChannel(String)} instead.
+ *
+ * Receivers hand their work to a small background pool, so bursts of alarms reuse a few warm
+ * threads instead of each starting a new one, and one slow restore or burst does not hold every
+ * other receiver's {@code goAsync()} result past its broadcast timeout.
+ */
+public final class AndroidNotificationRenderCache {
+  private static final String CHANNEL_NAME = "Lynx Notifications";
+  private static final String CHANNEL_DESCRIPTION = "Notifications scheduled by LynxNotificationsModule";
+  private static final int EXECUTOR_THREADS = 4;
+  private static final long EXECUTOR_KEEP_ALIVE_SECONDS = 30;
+
+  private static volatile AndroidNotificationRenderCache instance;
+
+  private final Context appContext;
+  private final Set<String> channelIds = ConcurrentHashMap.newKeySet();
+  private final ThreadPoolExecutor executor;
+  private volatile boolean channelsLoaded;
+  private volatile int smallIcon;
+  private volatile Intent launchIntent;
+  private volatile boolean launchIntentResolved;
+
+  private AndroidNotificationRenderCache(Context appContext) {
+    this.appContext = appContext;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(
+        EXECUTOR_THREADS,
+        EXECUTOR_THREADS,
+        EXECUTOR_KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "lynx-notifications-publish-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+    );
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  public static AndroidNotificationRenderCache get(Context context) {
+    AndroidNotificationRenderCache cache = instance;
+    if (cache != null) {
+      return cache;
+    }
+
+    synchronized (AndroidNotificationRenderCache.class) {
+      if (instance == null) {
+        instance = new AndroidNotificationRenderCache(context.getApplicationContext());
+      }
+      return instance;
+    }
+  }
+
+  /**
+   * Creates every channel in {@code ids} that does not exist yet with one NotificationManager
+   * call. Existing channels keep the settings the user chose. No-op below Android O.
+   */
+  public void registerChannels(Collection<String> ids) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O || channelIds.containsAll(ids)) {
+      return;
+    }
+
+    NotificationManager notificationManager = appContext.getSystemService(NotificationManager.class);
+    if (notificationManager == null) {
+      return;
+    }
+
+    synchronized (channelIds) {
+      if (!channelsLoaded) {
+        List<NotificationChannel> existing = notificationManager.getNotificationChannels();
+        if (existing != null) {
+          for (NotificationChannel channel : existing) {
+            channelIds.add(channel.getId());
+          }
+        }
+        channelsLoaded = true;
+      }
+
+      List<NotificationChannel> missing = new ArrayList<>();
+      for (String id : ids) {
+        if (!channelIds.contains(id)) {
+          NotificationChannel channel = new NotificationChannel(
+              id,
+              CHANNEL_NAME,
+              NotificationManager.IMPORTANCE_DEFAULT
+          );
+          channel.setDescription(CHANNEL_DESCRIPTION);
+          missing.add(channel);
+        }
+      }
+      if (!missing.isEmpty()) {
+        notificationManager.createNotificationChannels(missing);
+        for (NotificationChannel channel : missing) {
+          channelIds.add(channel.getId());
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs {@link #registerChannels(Collection)} on the background pool. Schedulers call this when
+   * they are built, so the channel exists before the first notification is posted and the first
+   * alarm does not pay for creating it.
+   */
+  void registerChannelsAsync(Collection<String> ids) {
+    executor.execute(() -> registerChannels(ids));
+  }
+
+  /**
+   * Deletes the channel and forgets it, so a later registration creates it again. No-op below
+   * Android O.
+   */
+  public void deleteChannel(String id) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+      return;
+    }
+
+    NotificationManager notificationManager = appContext.getSystemService(NotificationManager.class);
+    synchronized (channelIds) {
+      if (notificationManager != null) {
+        notificationManager.deleteNotificationChannel(id);
+      }
+      channelIds.remove(id);
+    }
+  }
+
+  /**
+   * Forgets every cached channel id, so the next registration reads the existing channels again
+   * and recreates deleted ones. Call after deleting channels through NotificationManager.
+   */
+  public void invalidateChannels() {
+    synchronized (channelIds) {
+      channelIds.clear();
+      channelsLoaded = false;
+    }
+  }
+
+  int smallIcon() {
+    int icon = smallIcon;
+    if (icon == 0) {
+      icon = appContext.getApplicationInfo().icon;
+      if (icon == 0) {
+        icon = android.R.drawable.ic_dialog_info;
+      }
+      smallIcon = icon;
+    }
+    return icon;
+  }
+
+  /**
+   * Fresh copy of the app's launch intent, or null when the app has no launcher activity.
+   */
+  Intent newLaunchIntent() {
+    if (!launchIntentResolved) {
+      launchIntent = appContext.getPackageManager().getLaunchIntentForPackage(appContext.getPackageName());
+      launchIntentResolved = true;
+    }
+    Intent template = launchIntent;
+    return template == null ? null : new Intent(template);
+  }
+
+  ExecutorService executor() {
+    return executor;
+  }
+}
@@ -0,0 +1,54 @@
+package io.lynx.notifications.android;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import io.lynx.notifications.core.LynxNotificationsLogger;
+import java.util.Collections;
+
+/**
+ * BroadcastReceiver that re-arms stored local notifications after reboot or an app update,
+ * both of which clear AlarmManager alarms, and after a time zone or clock change so calendar
+ * triggers keep their wall-clock time. After a reboot or update it also registers the
+ * scheduler's notification channel ahead of the first alarm. The restore runs on the same
+ * background executor the publisher receiver posts from.
+ *
+ * Override {@link #createScheduler(Context)} when the app schedules into a custom store.
+ */
+public class AndroidNotificationRestoreReceiver extends BroadcastReceiver {
+  @Override
+  public void onReceive(Context context, Intent intent) {
+    String action = intent.getAction();
+    if (!Intent.ACTION_BOOT_COMPLETED.equals(action)
+        && !Intent.ACTION_MY_PACKAGE_REPLACED.equals(action)
+        && !Intent.ACTION_TIMEZONE_CHANGED.equals(action)
+        && !Intent.ACTION_TIME_CHANGED.equals(action)) {
+      return;
+    }
+
+    Context appContext = context.getApplicationContext();
+    PendingResult pendingResult = goAsync();
+    AndroidNotificationRenderCache.get(appContext).executor().execute(() -> {
+      try {
+        AndroidAlarmLocalNotificationScheduler scheduler = createScheduler(appContext);
+        if (Intent.ACTION_BOOT_COMPLETED.equals(action) || Intent.ACTION_MY_PACKAGE_REPLACED.equals(action)) {
+          AndroidNotificationRenderCache.get(appContext)
+              .registerChannels(Collections.singleton(scheduler.getChannelId()));
+        }
+        scheduler.restoreScheduled();
+      } catch (Throwable throwable) {
+        LynxNotificationsLogger.error("Failed to restore scheduled local notifications.", throwable);
+      } finally {
+        pendingResult.finish();
+      }
+    });
+  }
+
+  /**
+   * Defaults to the configuration the app last scheduled with (receiver, channel, coalescing
+   * and alarm window), so a restore keeps the app's alarm window.
+   */
+  protected AndroidAlarmLocalNotificationScheduler createScheduler(Context context) {
+    return AndroidAlarmLocalNotificationScheduler.fromSavedSettings(context);
+  }
+}
@@ -0,0 +1,81 @@
+package io.lynx.notifications.android;
+
+import android.content.Context;
+import io.lynx.notifications.core.LynxNotificationsLogger;
+import io.lynx.notifications.core.NotificationError;
+import io.lynx.notifications.core.NotificationGroupingPolicy;
+import io.lynx.notifications.core.NotificationRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posts notifications delivered by push, for example from
+ * {@code FirebaseMessagingService.onMessageReceived}, with the same rendering and grouping as
+ * coalesced alarms.
+ *
+ * Requests use the schedule request shape (content, tags, groupKey); the trigger is ignored.
+ * {@link #publish} validates on the caller's thread and queues the post on the
+ * {@link AndroidNotificationRenderCache} executor. Every message that arrives before the queued
+ * post runs joins it, so a burst is grouped by the {@link NotificationGroupingPolicy} and large
+ * groups alert once under a summary.
+ */
+public final class AndroidPushNotificationPublisher {
+  private final Context appContext;
+  private final String channelId;
+  private final NotificationGroupingPolicy groupingPolicy;
+  private final List<AndroidNotificationPublisherReceiver.Due> pending = new ArrayList<>();
+
+  public AndroidPushNotificationPublisher(Context context) {
+    this(
+        context,
+        AndroidAlarmLocalNotificationScheduler.DEFAULT_CHANNEL_ID,
+        new NotificationGroupingPolicy(NotificationGroupingPolicy.DEFAULT_THRESHOLD)
+    );
+  }
+
+  public AndroidPushNotificationPublisher(
+      Context context,
+      String channelId,
+      NotificationGroupingPolicy groupingPolicy
+  ) {
+    this.appContext = context.getApplicationContext();
+    this.channelId = channelId;
+    this.groupingPolicy = groupingPolicy;
+  }
+
+  /**
+   * @param id Notification id used for cancel and open responses, e.g. the push message id.
+   */
+  public void publish(String id, Map<String, Object> request) throws NotificationError {
+    if (id == null || id.isEmpty()) {
+      throw new NotificationError("ERR_INVALID_ARGUMENT", "Push notification id must not be empty.");
+    }
+    NotificationRequest parsed = NotificationRequest.parse(request);
+    int requestCode = AndroidNotificationIdAllocator.get(appContext).requestCodeFor(id);
+
+    boolean drainQueued;
+    synchronized (pending) {
+      drainQueued = !pending.isEmpty();
+      pending.add(new AndroidNotificationPublisherReceiver.Due(id, requestCode, parsed));
+    }
+    if (!drainQueued) {
+      AndroidNotificationRenderCache.get(appContext).executor().execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    List<AndroidNotificationPublisherReceiver.Due> burst;
+    synchronized (pending) {
+      burst = new ArrayList<>(pending);
+      pending.clear();
+    }
+    try {
+      List<AndroidNotificationPublisherReceiver.Due> posted =
+          AndroidNotificationPublisherReceiver.postBurst(appContext, channelId, groupingPolicy, burst);
+      LynxNotificationsLogger.debug("Published push notifications count={}", Integer.valueOf(posted.size()));
+    } catch (Throwable throwable) {
+      LynxNotificationsLogger.error("Failed to publish push notifications.", throwable);
+    }
+  }
+}
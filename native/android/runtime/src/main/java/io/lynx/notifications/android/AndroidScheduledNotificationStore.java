@@ -0,0 +1,58 @@
+package io.lynx.notifications.android;
+
+import android.content.Context;
+import io.lynx.notifications.core.FileScheduledNotificationStore;
+import io.lynx.notifications.core.ScheduledNotificationStore;
+import java.io.File;
+
+/**
+ * Process-wide scheduled notification store kept in the app's no-backup files directory.
+ *
+ * Shared by the alarm scheduler, the publisher receiver and the restore receiver so they all
+ * see the same in-memory index and write through a single log. Notifications handed to
+ * JobScheduler live in a separate store so the alarm scheduler never restores or coalesces
+ * them.
+ */
+public final class AndroidScheduledNotificationStore {
+  private static final String DIRECTORY = "lynx_notifications";
+  private static final String FILE_NAME = "scheduled.log";
+  private static final String INEXACT_FILE_NAME = "scheduled-inexact.log";
+
+  private static volatile ScheduledNotificationStore instance;
+  private static volatile ScheduledNotificationStore inexactInstance;
+
+  private AndroidScheduledNotificationStore() {}
+
+  public static ScheduledNotificationStore get(Context context) {
+    ScheduledNotificationStore store = instance;
+    if (store != null) {
+      return store;
+    }
+
+    synchronized (AndroidScheduledNotificationStore.class) {
+      if (instance == null) {
+        File directory = new File(context.getApplicationContext().getNoBackupFilesDir(), DIRECTORY);
+        instance = new FileScheduledNotificationStore(new File(directory, FILE_NAME));
+      }
+      return instance;
+    }
+  }
+
+  /**
+   * Store of inexact notifications scheduled by AndroidJobLocalNotificationScheduler.
+   */
+  public static ScheduledNotificationStore getInexact(Context context) {
+    ScheduledNotificationStore store = inexactInstance;
+    if (store != null) {
+      return store;
+    }
+
+    synchronized (AndroidScheduledNotificationStore.class) {
+      if (inexactInstance == null) {
+        File directory = new File(context.getApplicationContext().getNoBackupFilesDir(), DIRECTORY);
+        inexactInstance = new FileScheduledNotificationStore(new File(directory, INEXACT_FILE_NAME));
+      }
+      return inexactInstance;
+    }
+  }
+}
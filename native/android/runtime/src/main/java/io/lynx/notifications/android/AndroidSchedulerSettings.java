@@ -0,0 +1,92 @@
+package io.lynx.notifications.android;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.SharedPreferences;
+
+/**
+ * Configuration of the alarm scheduler that last scheduled into the shared store.
+ *
+ * The restore and publisher receivers run in processes where the app never built its scheduler
+ * (after a reboot, or when an alarm wakes a dead process), so they rebuild it from these saved
+ * settings instead of from defaults that would ignore the app's alarm window or coalescing.
+ */
+final class AndroidSchedulerSettings {
+  private static final String PREFERENCES_FILE = "lynx_notifications_scheduler";
+  private static final String KEY_RECEIVER_CLASS = "receiver_class";
+  private static final String KEY_CHANNEL_ID = "channel_id";
+  private static final String KEY_COALESCING_WINDOW_MILLIS = "coalescing_window_millis";
+  private static final String KEY_ALARM_WINDOW = "alarm_window";
+
+  private static volatile AndroidSchedulerSettings saved;
+
+  final String receiverClassName;
+  final String channelId;
+  final long coalescingWindowMillis;
+  final int alarmWindow;
+
+  AndroidSchedulerSettings(
+      String receiverClassName,
+      String channelId,
+      long coalescingWindowMillis,
+      int alarmWindow
+  ) {
+    this.receiverClassName = receiverClassName;
+    this.channelId = channelId;
+    this.coalescingWindowMillis = coalescingWindowMillis;
+    this.alarmWindow = alarmWindow;
+  }
+
+  static AndroidSchedulerSettings load(Context context) {
+    AndroidSchedulerSettings settings = saved;
+    if (settings != null) {
+      return settings;
+    }
+
+    SharedPreferences preferences = preferences(context);
+    settings = new AndroidSchedulerSettings(
+        preferences.getString(KEY_RECEIVER_CLASS, AndroidNotificationPublisherReceiver.class.getName()),
+        preferences.getString(KEY_CHANNEL_ID, AndroidAlarmLocalNotificationScheduler.DEFAULT_CHANNEL_ID),
+        preferences.getLong(KEY_COALESCING_WINDOW_MILLIS, 0),
+        preferences.getInt(KEY_ALARM_WINDOW, 0)
+    );
+    saved = settings;
+    return settings;
+  }
+
+  /**
+   * Saves the settings when they differ from the saved ones; a no-op on the common path.
+   */
+  static void save(Context context, AndroidSchedulerSettings settings) {
+    if (settings.equalTo(load(context))) {
+      return;
+    }
+
+    saved = settings;
+    preferences(context).edit()
+        .putString(KEY_RECEIVER_CLASS, settings.receiverClassName)
+        .putString(KEY_CHANNEL_ID, settings.channelId)
+        .putLong(KEY_COALESCING_WINDOW_MILLIS, settings.coalescingWindowMillis)
+        .putInt(KEY_ALARM_WINDOW, settings.alarmWindow)
+        .apply();
+  }
+
+  Class<? extends BroadcastReceiver> receiverClass() {
+    try {
+      return Class.forName(receiverClassName).asSubclass(BroadcastReceiver.class);
+    } catch (ClassNotFoundException | ClassCastException error) {
+      return AndroidNotificationPublisherReceiver.class;
+    }
+  }
+
+  private boolean equalTo(AndroidSchedulerSettings other) {
+    return receiverClassName.equals(other.receiverClassName)
+        && channelId.equals(other.channelId)
+        && coalescingWindowMillis == other.coalescingWindowMillis
+        && alarmWindow == other.alarmWindow;
+  }
+
+  private static SharedPreferences preferences(Context context) {
+    return context.getApplicationContext().getSharedPreferences(PREFERENCES_FILE, Context.MODE_PRIVATE);
+  }
+}
@@ -0,0 +1,152 @@
+package io.lynx.notifications.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.AlarmManager;
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+import io.lynx.notifications.core.FileScheduledNotificationStore;
+import io.lynx.notifications.core.LocalNotificationScheduler;
+import io.lynx.notifications.core.MonotonicNotificationIdAllocator;
+import io.lynx.notifications.core.NotificationDeduplicator;
+import io.lynx.notifications.core.NotificationError;
+import io.lynx.notifications.core.NotificationIdAllocator;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public final class AndroidJobLocalNotificationSchedulerTest {
+  private static final long FLEX_MILLIS = 5 * 60 * 1000;
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private Context context;
+  private JobScheduler jobScheduler;
+  private AlarmManager alarmManager;
+  private AndroidJobLocalNotificationScheduler scheduler;
+
+  @Before
+  public void setUp() throws IOException {
+    context = ApplicationProvider.getApplicationContext();
+    jobScheduler = context.getSystemService(JobScheduler.class);
+    alarmManager = context.getSystemService(AlarmManager.class);
+    NotificationIdAllocator idAllocator = new MonotonicNotificationIdAllocator();
+    AndroidAlarmLocalNotificationScheduler exact = AndroidAlarmLocalNotificationScheduler
+        .builder(context, AndroidNotificationPublisherReceiver.class)
+        .setStore(new FileScheduledNotificationStore(folder.newFile("exact.log")))
+        .setIdAllocator(idAllocator)
+        .setDeduplicator(NotificationDeduplicator.keysOnly())
+        .build();
+    scheduler = new AndroidJobLocalNotificationScheduler(
+        context,
+        AndroidNotificationPublisherReceiver.class,
+        AndroidAlarmLocalNotificationScheduler.DEFAULT_CHANNEL_ID,
+        exact,
+        FLEX_MILLIS,
+        new FileScheduledNotificationStore(folder.newFile("inexact.log")),
+        idAllocator,
+        NotificationDeduplicator.keysOnly(),
+        AndroidJobLocalNotificationScheduler.DEFAULT_JOB_ID_BASE,
+        AndroidJobLocalNotificationScheduler.DEFAULT_JOB_ID_COUNT
+    );
+  }
+
+  @Test
+  public void inexactRequestBecomesJobWithFlexWindow() {
+    String id = schedule(request("inexact", 60, false));
+
+    List<JobInfo> jobs = jobScheduler.getAllPendingJobs();
+    assertEquals(1, jobs.size());
+    JobInfo job = jobs.get(0);
+    assertEquals(id, job.getExtras().getString(AndroidJobLocalNotificationScheduler.EXTRA_NOTIFICATION_ID));
+    assertTrue(job.getId() >= AndroidJobLocalNotificationScheduler.DEFAULT_JOB_ID_BASE);
+    assertEquals(60_000, job.getMinLatencyMillis());
+    assertEquals(60_000 + FLEX_MILLIS, job.getMaxExecutionDelayMillis());
+    assertTrue(job.isPersisted());
+    assertTrue(shadowOf(alarmManager).getScheduledAlarms().isEmpty());
+
+    cancel(id);
+    assertTrue(jobScheduler.getAllPendingJobs().isEmpty());
+  }
+
+  @Test
+  public void exactRequestsAndShortRepeatsUseAlarms() {
+    schedule(request(null, 60, false));
+    schedule(request("inexact", 60, true));
+
+    assertTrue(jobScheduler.getAllPendingJobs().isEmpty());
+    assertEquals(2, shadowOf(alarmManager).getScheduledAlarms().size());
+  }
+
+  @Test
+  public void longRepeatsBecomePeriodicJobs() {
+    schedule(request("inexact", 60 * 60, true));
+
+    JobInfo job = jobScheduler.getAllPendingJobs().get(0);
+    assertTrue(job.isPeriodic());
+    assertEquals(60 * 60 * 1000, job.getIntervalMillis());
+    assertEquals(FLEX_MILLIS, job.getFlexMillis());
+    assertTrue(shadowOf(alarmManager).getScheduledAlarms().isEmpty());
+  }
+
+  private static Map<String, Object> request(String precision, int seconds, boolean repeats) {
+    Map<String, Object> content = new HashMap<>();
+    content.put("title", "Reminder");
+    Map<String, Object> trigger = new HashMap<>();
+    trigger.put("type", "timeInterval");
+    trigger.put("seconds", seconds);
+    trigger.put("repeats", repeats);
+    Map<String, Object> request = new HashMap<>();
+    request.put("content", content);
+    request.put("trigger", trigger);
+    if (precision != null) {
+      request.put("precision", precision);
+    }
+    return request;
+  }
+
+  private String schedule(Map<String, Object> request) {
+    AtomicReference<String> idRef = new AtomicReference<>();
+    scheduler.schedule(request, new LocalNotificationScheduler.ScheduleCallback() {
+      @Override
+      public void onSuccess(String id) {
+        idRef.set(id);
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        throw new AssertionError(error.getMessage());
+      }
+    });
+    return idRef.get();
+  }
+
+  private void cancel(String id) {
+    scheduler.cancel(id, new LocalNotificationScheduler.VoidCallback() {
+      @Override
+      public void onSuccess() {
+      }
+
+      @Override
+      public void onError(NotificationError error) {
+        throw new AssertionError(error.getMessage());
+      }
+    });
+  }
+}
@@ -279,6 +279,38 @@ describe('notifications core API', () => {
     })
   })
 
+  it('rejects scheduleNotificationAsync when weekly trigger has no weekday', async () => {
+    await expect(
+      Notifications.scheduleNotificationAsync({
+        content: {
+          title: 'Reminder',
+        },
+        trigger: {
+          type: 'weekly',
+          weekday: [],
+          hour: 8,
+          minute: 0,
+        },
+      }),
+    ).rejects.toMatchObject({
+      code: 'ERR_INVALID_ARGUMENT',
+    })
+  })
+
+  it('rejects scheduleNotificationAsync when a tag is empty', async () => {
+    await expect(
+      Notifications.scheduleNotificationAsync({
+        content: {
+          title: 'Reminder',
+        },
+        trigger: null,
+        tags: ['daily', ''],
+      }),
+    ).rejects.toMatchObject({
+      code: 'ERR_INVALID_ARGUMENT',
+    })
+  })
+
   it('returns last notification response from native module', async () => {
     const response = sampleNotificationResponse()
 
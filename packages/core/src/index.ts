@@ -104,9 +104,75 @@ function assertTrigger(trigger: NotificationTriggerInput): void {
     return
   }
 
+  if (trigger.type === 'daily' || trigger.type === 'weekly' || trigger.type === 'calendar') {
+    assertCalendarTrigger(trigger)
+    return
+  }
+
   throw new NotificationsError('ERR_INVALID_ARGUMENT', 'Unknown notification trigger type.')
 }
 
+const CALENDAR_COMPONENTS: ReadonlyArray<[string, number, number]> = [
+  ['year', 1970, 9999],
+  ['month', 1, 12],
+  ['day', 1, 31],
+  ['hour', 0, 23],
+  ['minute', 0, 59],
+  ['second', 0, 59],
+]
+
+function assertCalendarTrigger(
+  trigger: Extract<NotificationTriggerInput, { type: 'daily' | 'weekly' | 'calendar' }>,
+): void {
+  const fields = trigger as unknown as Record<string, unknown>
+  for (const [key, min, max] of CALENDAR_COMPONENTS) {
+    const value = fields[key]
+    if (value === undefined) {
+      if (trigger.type !== 'calendar' && (key === 'hour' || key === 'minute')) {
+        throw new NotificationsError(
+          'ERR_INVALID_ARGUMENT',
+          `${trigger.type === 'daily' ? 'Daily' : 'Weekly'} trigger requires ${key}.`,
+        )
+      }
+      continue
+    }
+
+    if (typeof value !== 'number' || !Number.isInteger(value) || value < min || value > max) {
+      throw new NotificationsError(
+        'ERR_INVALID_ARGUMENT',
+        `Calendar trigger ${key} must be an integer between ${min} and ${max}.`,
+      )
+    }
+  }
+
+  const weekday = fields.weekday
+  const weekdays: unknown[] =
+    weekday === undefined ? [] : Array.isArray(weekday) ? weekday : [weekday]
+  if (
+    weekdays.some(
+      value => typeof value !== 'number' || !Number.isInteger(value) || value < 1 || value > 7,
+    )
+  ) {
+    throw new NotificationsError(
+      'ERR_INVALID_ARGUMENT',
+      'Trigger weekday must be an integer between 1 (Sunday) and 7.',
+    )
+  }
+  if (trigger.type === 'weekly' && weekdays.length === 0) {
+    throw new NotificationsError(
+      'ERR_INVALID_ARGUMENT',
+      'Weekly trigger requires weekday (1-7, Sunday = 1).',
+    )
+  }
+
+  if (fields.timeZone !== undefined && typeof fields.timeZone !== 'string') {
+    throw new NotificationsError(
+      'ERR_INVALID_ARGUMENT',
+      'Trigger timeZone must be a known time zone id.',
+    )
+  }
+}
+
 function assertScheduleRequest(request: NotificationRequestInput): void {
   if (!request || typeof request !== 'object') {
     throw new NotificationsError(
@@ -117,6 +183,48 @@ function assertScheduleRequest(request: NotificationRequestInput): void {
 
   assertContent(request.content)
   assertTrigger(request.trigger)
+
+  if (
+    request.idempotencyKey !== undefined &&
+    (typeof request.idempotencyKey !== 'string' || request.idempotencyKey.length === 0)
+  ) {
+    throw new NotificationsError(
+      'ERR_INVALID_ARGUMENT',
+      'Notification idempotencyKey must be a non-empty string.',
+    )
+  }
+
+  if (
+    request.tags !== undefined &&
+    (!Array.isArray(request.tags) ||
+      request.tags.some((tag) => typeof tag !== 'string' || tag.length === 0))
+  ) {
+    throw new NotificationsError(
+      'ERR_INVALID_ARGUMENT',
+      'Notification tags must be non-empty strings.',
+    )
+  }
+
+  if (
+    request.groupKey !== undefined &&
+    (typeof request.groupKey !== 'string' || request.groupKey.length === 0)
+  ) {
+    throw new NotificationsError(
+      'ERR_INVALID_ARGUMENT',
+      'Notification groupKey must be a non-empty string.',
+    )
+  }
+
+  if (
+    request.precision !== undefined &&
+    request.precision !== 'exact' &&
+    request.precision !== 'inexact'
+  ) {
+    throw new NotificationsError(
+      'ERR_INVALID_ARGUMENT',
+      'Notification precision must be "exact" or "inexact".',
+    )
+  }
 }
 
 export async function getPermissionsAsync(): Promise<NotificationPermissions> {
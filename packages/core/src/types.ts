@@ -22,14 +22,71 @@ export interface NotificationContentInput {
   badge?: number
 }
 
+/**
+ * `daily`, `weekly` and `calendar` triggers are Android only for now; the iOS scheduler rejects
+ * them.
+ */
 export type NotificationTriggerInput =
   | { type: 'date'; date: number; repeats?: false }
   | { type: 'timeInterval'; seconds: number; repeats?: boolean }
+  | {
+      /** Android only. */
+      type: 'daily'
+      hour: number
+      minute: number
+      timeZone?: string
+    }
+  | {
+      /** Android only. */
+      type: 'weekly'
+      /** 1 = Sunday ... 7 = Saturday. */
+      weekday: number | number[]
+      hour: number
+      minute: number
+      timeZone?: string
+    }
+  | {
+      /** Android only. */
+      type: 'calendar'
+      year?: number
+      /** 1 = January ... 12 = December. */
+      month?: number
+      day?: number
+      /** 1 = Sunday ... 7 = Saturday. */
+      weekday?: number | number[]
+      hour?: number
+      minute?: number
+      second?: number
+      repeats?: boolean
+      /** IANA zone id; omit to follow the device's current time zone. */
+      timeZone?: string
+    }
   | null
 
 export interface NotificationRequestInput {
   content: NotificationContentInput
   trigger: NotificationTriggerInput
+  /**
+   * Identifies retries of the same request. Scheduling again with a key that is still
+   * scheduled resolves with the original id; once the notification is delivered or the app
+   * process restarts, a retry may schedule it again. Android only for now.
+   */
+  idempotencyKey?: string
+  /**
+   * Labels for cancelling or listing scheduled notifications by tag. Each tag must be a
+   * non-empty string; duplicates are ignored.
+   */
+  tags?: string[]
+  /**
+   * `inexact` lets the OS defer delivery within a flex window to save battery. Used by
+   * Android's job-backed scheduler; other schedulers deliver exactly.
+   */
+  precision?: 'exact' | 'inexact'
+  /**
+   * Group used when several notifications are delivered together. Android folds groups larger
+   * than the receiver's threshold under one summary notification.
+   */
+  groupKey?: string
 }
 
 export interface Notification {